@@ -15,6 +15,8 @@
 \ir ddl/reg_appointment.sql
 \ir ddl/reg_appointment_consumed.sql
 \ir ddl/reg_available_slot.sql
+\ir ddl/reg_center_slot_fingerprint.sql
+\ir ddl/reg_appointment_cancellation.sql
 \ir ddl/otp_transaction.sql
 \ir ddl/applications.sql
 \ir ddl/fk.sql
@@ -0,0 +1,33 @@
+-- This table saves the booked appointments that are cancelled by the batch job and the applicants are notified of.
+
+CREATE TABLE prereg.reg_appointment_cancellation(
+	prereg_id character varying(36) NOT NULL,
+	appointment_date date NOT NULL,
+	slot_from_time time NOT NULL,
+	regcntr_id character varying(10) NOT NULL,
+	lang_code character varying(3),
+	status_code character varying(36) NOT NULL,
+	attempt_count smallint NOT NULL DEFAULT 0,
+	next_attempt_dtimes timestamp NOT NULL,
+	cr_by character varying(256) NOT NULL,
+	cr_dtimes timestamp NOT NULL,
+	upd_by character varying(256),
+	upd_dtimes timestamp,
+	CONSTRAINT pk_rappcncl_id PRIMARY KEY (prereg_id, appointment_date, slot_from_time)
+);
+
+CREATE INDEX IF NOT EXISTS idx_rappcncl_status ON prereg.reg_appointment_cancellation USING btree (status_code, next_attempt_dtimes);
+
+COMMENT ON TABLE prereg.reg_appointment_cancellation IS 'Booked appointments cancelled by the batch job because their slot was removed, processed asynchronously and at most once.';
+COMMENT ON COLUMN prereg.reg_appointment_cancellation.prereg_id IS 'Pre-registration id of the cancelled appointment.';
+COMMENT ON COLUMN prereg.reg_appointment_cancellation.appointment_date IS 'Date of the cancelled appointment.';
+COMMENT ON COLUMN prereg.reg_appointment_cancellation.slot_from_time IS 'Start time of the cancelled appointment slot.';
+COMMENT ON COLUMN prereg.reg_appointment_cancellation.regcntr_id IS 'Id of the Registration Center. Refers to master.registration_center.id';
+COMMENT ON COLUMN prereg.reg_appointment_cancellation.lang_code IS 'Language code of the appointment, used for the notification.';
+COMMENT ON COLUMN prereg.reg_appointment_cancellation.status_code IS 'PENDING, CANCELLED (notification pending), NOTIFIED, SKIPPED (application no longer booked on the slot) or FAILED.';
+COMMENT ON COLUMN prereg.reg_appointment_cancellation.attempt_count IS 'Number of failed attempts to cancel or notify.';
+COMMENT ON COLUMN prereg.reg_appointment_cancellation.next_attempt_dtimes IS 'Date and Timestamp before which the cancellation is not retried.';
+COMMENT ON COLUMN prereg.reg_appointment_cancellation.cr_by IS 'ID or name of the user who create / insert record.';
+COMMENT ON COLUMN prereg.reg_appointment_cancellation.cr_dtimes IS 'Date and Timestamp when the record is created/inserted';
+COMMENT ON COLUMN prereg.reg_appointment_cancellation.upd_by IS 'ID or name of the user who update the record with new values';
+COMMENT ON COLUMN prereg.reg_appointment_cancellation.upd_dtimes IS 'Date and Timestamp when any of the fields in the record is updated with new values.';
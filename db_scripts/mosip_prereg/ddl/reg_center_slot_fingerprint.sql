@@ -0,0 +1,25 @@
+-- This table saves the registration center configuration the availability slots were last generated from.
+
+CREATE TABLE prereg.reg_center_slot_fingerprint(
+	regcntr_id character varying(10) NOT NULL,
+	config_fingerprint character varying(256) NOT NULL,
+	holiday_dates text,
+	sync_from_date date NOT NULL,
+	sync_to_date date NOT NULL,
+	cr_by character varying(256) NOT NULL,
+	cr_dtimes timestamp NOT NULL,
+	upd_by character varying(256),
+	upd_dtimes timestamp,
+	CONSTRAINT pk_rcslotfp_id PRIMARY KEY (regcntr_id)
+);
+
+COMMENT ON TABLE prereg.reg_center_slot_fingerprint IS 'Registration center configuration used by the last slot generation run, to regenerate only the days that changed.';
+COMMENT ON COLUMN prereg.reg_center_slot_fingerprint.regcntr_id IS 'Id of the Registration Center. Refers to master.registration_center.id';
+COMMENT ON COLUMN prereg.reg_center_slot_fingerprint.config_fingerprint IS 'Center start, end and lunch times, per kiosk process time and number of kiosks the slots were generated from.';
+COMMENT ON COLUMN prereg.reg_center_slot_fingerprint.holiday_dates IS 'Comma separated holidays of the registration center within the synced window.';
+COMMENT ON COLUMN prereg.reg_center_slot_fingerprint.sync_from_date IS 'First day of the synced window.';
+COMMENT ON COLUMN prereg.reg_center_slot_fingerprint.sync_to_date IS 'Day after the last day of the synced window.';
+COMMENT ON COLUMN prereg.reg_center_slot_fingerprint.cr_by IS 'ID or name of the user who create / insert record.';
+COMMENT ON COLUMN prereg.reg_center_slot_fingerprint.cr_dtimes IS 'Date and Timestamp when the record is created/inserted';
+COMMENT ON COLUMN prereg.reg_center_slot_fingerprint.upd_by IS 'ID or name of the user who update the record with new values';
+COMMENT ON COLUMN prereg.reg_center_slot_fingerprint.upd_dtimes IS 'Date and Timestamp when any of the fields in the record is updated with new values.';
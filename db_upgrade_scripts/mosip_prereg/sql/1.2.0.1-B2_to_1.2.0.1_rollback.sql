@@ -1 +1,4 @@
-\echo 'Upgrade Queries not required for transition from $CURRENT_VERSION to $UPGRADE_VERSION'
+\c mosip_prereg
+
+DROP TABLE IF EXISTS prereg.reg_center_slot_fingerprint;
+DROP TABLE IF EXISTS prereg.reg_appointment_cancellation;
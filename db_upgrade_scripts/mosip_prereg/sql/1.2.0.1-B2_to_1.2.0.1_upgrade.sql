@@ -1 +1,36 @@
-\echo 'Upgrade Queries not required for transition from $CURRENT_VERSION to $UPGRADE_VERSION'
+\c mosip_prereg
+
+CREATE TABLE IF NOT EXISTS prereg.reg_center_slot_fingerprint(
+	regcntr_id character varying(10) NOT NULL,
+	config_fingerprint character varying(256) NOT NULL,
+	holiday_dates text,
+	sync_from_date date NOT NULL,
+	sync_to_date date NOT NULL,
+	cr_by character varying(256) NOT NULL,
+	cr_dtimes timestamp NOT NULL,
+	upd_by character varying(256),
+	upd_dtimes timestamp,
+	CONSTRAINT pk_rcslotfp_id PRIMARY KEY (regcntr_id)
+);
+
+GRANT SELECT, INSERT, TRUNCATE, REFERENCES, UPDATE, DELETE ON prereg.reg_center_slot_fingerprint TO prereguser;
+
+CREATE TABLE IF NOT EXISTS prereg.reg_appointment_cancellation(
+	prereg_id character varying(36) NOT NULL,
+	appointment_date date NOT NULL,
+	slot_from_time time NOT NULL,
+	regcntr_id character varying(10) NOT NULL,
+	lang_code character varying(3),
+	status_code character varying(36) NOT NULL,
+	attempt_count smallint NOT NULL DEFAULT 0,
+	next_attempt_dtimes timestamp NOT NULL,
+	cr_by character varying(256) NOT NULL,
+	cr_dtimes timestamp NOT NULL,
+	upd_by character varying(256),
+	upd_dtimes timestamp,
+	CONSTRAINT pk_rappcncl_id PRIMARY KEY (prereg_id, appointment_date, slot_from_time)
+);
+
+CREATE INDEX IF NOT EXISTS idx_rappcncl_status ON prereg.reg_appointment_cancellation USING btree (status_code, next_attempt_dtimes);
+
+GRANT SELECT, INSERT, TRUNCATE, REFERENCES, UPDATE, DELETE ON prereg.reg_appointment_cancellation TO prereguser;
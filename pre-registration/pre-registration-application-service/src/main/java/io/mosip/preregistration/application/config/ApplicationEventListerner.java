@@ -2,6 +2,7 @@ package io.mosip.preregistration.application.config;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.event.EventListener;
 
@@ -38,4 +39,16 @@ public class ApplicationEventListerner {
 				"In applicationStartedEvent method of ApplicationEventListerner documentService setup() method is called");
 	}
 
+	@EventListener(RefreshScopeRefreshedEvent.class)
+	public void refreshScopeRefreshedEvent() {
+		log.info("sessionId", "idType", "id", "In refreshScopeRefreshedEvent method of ApplicationEventListerner");
+		try {
+			demographicService.refreshIdentityJson();
+		} catch (RuntimeException ex) {
+			log.error("sessionId", "idType", "id",
+					"In refreshScopeRefreshedEvent method of ApplicationEventListerner, keeping the loaded identity json- "
+							+ ex.getMessage());
+		}
+	}
+
 }
@@ -5,6 +5,7 @@ import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
 import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.client.HttpClients;
@@ -13,6 +14,7 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.client.RestTemplate;
 
 /**
@@ -31,6 +33,12 @@ public class Config {
     @Value("${preregistration.appservice.httpclient.connections.max:100}")
     private int totalMaxConnection;
 
+    @Value("${mosip.preregistration.applications.details.pool-size:10}")
+    private int applicationDetailsPoolSize;
+
+    @Value("${mosip.preregistration.applications.details.queue-capacity:100}")
+    private int applicationDetailsQueueCapacity;
+
 	/** The id. */
 	private Map<String, String> id;
 	
@@ -65,4 +73,23 @@ public class Config {
         return new RestTemplate(requestFactory);
     }
 
+    /**
+     * Bounded pool used to build the per-application entries of the dashboard
+     * listing concurrently. When the queue is full the request thread runs the
+     * task itself.
+     *
+     * @return the executor
+     */
+    @Bean
+    public ThreadPoolTaskExecutor applicationDetailsExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(applicationDetailsPoolSize);
+        executor.setMaxPoolSize(applicationDetailsPoolSize);
+        executor.setQueueCapacity(applicationDetailsQueueCapacity);
+        executor.setThreadNamePrefix("application-details-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
 }
@@ -0,0 +1,29 @@
+package io.mosip.preregistration.application.dto;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.json.simple.JSONArray;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Identity fields shown on the applications dashboard, extracted in a single
+ * pass over the decrypted demographic json.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString
+public class DemographicDashboardFieldsDTO {
+
+	private Map<String, JSONArray> names = new HashMap<>();
+
+	private String dobValue = "";
+
+	private Set<String> dataCaptureLanguage;
+}
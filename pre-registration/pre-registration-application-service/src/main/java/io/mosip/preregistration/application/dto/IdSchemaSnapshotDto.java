@@ -0,0 +1,22 @@
+package io.mosip.preregistration.application.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.Value;
+
+/**
+ * Immutable, pre-parsed view of an ID schema version as held by the ID schema
+ * cache.
+ */
+@Value
+public class IdSchemaSnapshotDto {
+
+	private double idVersion;
+
+	private String schemaJson;
+
+	private List<String> identityKeys;
+
+	private LocalDateTime effectiveFrom;
+}
@@ -4,21 +4,26 @@ import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 import org.json.simple.JSONObject;
 import org.json.simple.parser.JSONParser;
 import org.json.simple.parser.ParseException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -27,7 +32,6 @@ import org.springframework.web.client.HttpServerErrorException;
 
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.databind.JsonMappingException;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -48,11 +52,12 @@ import io.mosip.preregistration.application.dto.ApplicantValidDocumentDto;
 import io.mosip.preregistration.application.dto.ApplicationInfoMetadataDTO;
 import io.mosip.preregistration.application.dto.DeletePreRegistartionDTO;
 import io.mosip.preregistration.application.dto.DemographicCreateResponseDTO;
+import io.mosip.preregistration.application.dto.DemographicDashboardFieldsDTO;
 import io.mosip.preregistration.application.dto.DemographicMetadataDTO;
 import io.mosip.preregistration.application.dto.DemographicRequestDTO;
 import io.mosip.preregistration.application.dto.DemographicUpdateResponseDTO;
 import io.mosip.preregistration.application.dto.DemographicViewDTO;
-import io.mosip.preregistration.application.dto.IdSchemaDto;
+import io.mosip.preregistration.application.dto.IdSchemaSnapshotDto;
 import io.mosip.preregistration.application.dto.SchemaResponseDto;
 import io.mosip.preregistration.application.errorcodes.ApplicationErrorCodes;
 import io.mosip.preregistration.application.errorcodes.ApplicationErrorMessages;
@@ -67,6 +72,7 @@ import io.mosip.preregistration.application.exception.RecordNotFoundForPreIdsExc
 import io.mosip.preregistration.application.exception.util.DemographicExceptionCatcher;
 import io.mosip.preregistration.application.repository.DemographicRepository;
 import io.mosip.preregistration.application.service.util.DemographicServiceUtil;
+import io.mosip.preregistration.application.service.util.IdSchemaCacheUtil;
 import io.mosip.preregistration.core.code.AuditLogVariables;
 import io.mosip.preregistration.core.code.BookingTypeCodes;
 import io.mosip.preregistration.core.code.EventId;
@@ -133,6 +139,12 @@ public class DemographicService implements DemographicServiceIntf {
 	@Autowired
 	private DemographicServiceUtil serviceUtil;
 
+	/**
+	 * Autowired reference for {@link #IdSchemaCacheUtil}
+	 */
+	@Autowired
+	private IdSchemaCacheUtil idSchemaCacheUtil;
+
 	/**
 	 * Autowired reference for {@link #JsonValidatorImpl}
 	 */
@@ -142,6 +154,14 @@ public class DemographicService implements DemographicServiceIntf {
 	@Autowired
 	private DocumentServiceIntf documentServiceImpl;
 
+	/**
+	 * Bounded pool building the dashboard entries of
+	 * {@link #getAllApplicationDetails(String, String)}
+	 */
+	@Autowired
+	@Qualifier("applicationDetailsExecutor")
+	private ThreadPoolTaskExecutor applicationDetailsExecutor;
+
 	/**
 	 * Autowired reference for {@link #AuditLogUtil}
 	 */
@@ -236,15 +256,15 @@ public class DemographicService implements DemographicServiceIntf {
 	 */
 	protected String trueStatus = "true";
 
-	private String getIdentityJsonString = "";
+	/**
+	 * Identity mapping loaded from the config server, shared read-only by all
+	 * requests and replaced as a whole on reload
+	 */
+	private volatile DemographicIdentityRequestDTO preregistrationIdentityJson;
 
 	@Autowired
 	private ObjectMapper objectMapper;
 
-	private static final String INDENTITY = "identity";
-
-	private static final String PROPERTIES = "properties";
-
 	@Autowired
 	CryptoUtil cryptoUtil;
 	
@@ -258,10 +278,27 @@ public class DemographicService implements DemographicServiceIntf {
 	 */
 
 	public void setup() {
-		getIdentityJsonString = serviceUtil.getJson(preregistrationIdJson);
-		log.info("Fetched the identity json from config server" + getIdentityJsonString);
 		objectMapper = JsonMapper.builder().addModule(new AfterburnerModule()).build();
 		objectMapper.registerModule(new JavaTimeModule());
+		refreshIdentityJson();
+	}
+
+	/**
+	 * This method loads the identity mapping json from the config server and
+	 * replaces the cached mapping with it. The previous mapping is kept if the
+	 * new one cannot be parsed.
+	 */
+	public void refreshIdentityJson() {
+		String identityJsonString = serviceUtil.getJson(preregistrationIdJson);
+		log.info("Fetched the identity json from config server" + identityJsonString);
+		try {
+			preregistrationIdentityJson = objectMapper.readValue(identityJsonString,
+					DemographicIdentityRequestDTO.class);
+		} catch (IOException ex) {
+			log.error("sessionId", "idType", "id", ExceptionUtils.getStackTrace(ex));
+			log.error("sessionId", "idType", "id",
+					"In refreshIdentityJson method of pre-registration service- " + ex.getMessage());
+		}
 	}
 
 	/*
@@ -303,10 +340,7 @@ public class DemographicService implements DemographicServiceIntf {
 		MainResponseDTO<DemographicCreateResponseDTO> mainResponseDTO = null;
 		boolean isSuccess = false;
 		try {
-			log.info("sessionId", "idType", "id", "Get Schema from syncdata called");
-			IdSchemaDto idSchema = serviceUtil.getSchema();
-
-			log.info("sessionId", "idType", "id", "Get Schema from syncdata successful");
+			IdSchemaSnapshotDto idSchema = idSchemaCacheUtil.getIdSchema();
 
 			mainResponseDTO = (MainResponseDTO<DemographicCreateResponseDTO>) serviceUtil.getMainResponseDto(request);
 			DemographicRequestDTO demographicRequest = request.getRequest();
@@ -314,7 +348,7 @@ public class DemographicService implements DemographicServiceIntf {
 			log.info("sessionId", "idType", "id",
 					"JSON validator start time : " + DateUtils.getUTCCurrentDateTimeString());
 
-			List<String> identityKeys = convertSchemaJsonToArray(idSchema.getSchemaJson());
+			List<String> identityKeys = idSchema.getIdentityKeys();
 
 			log.info("IDENTITY KEYS: {}", identityKeys);
 
@@ -406,9 +440,7 @@ public class DemographicService implements DemographicServiceIntf {
 		mainResponseDTO = (MainResponseDTO<DemographicUpdateResponseDTO>) serviceUtil.getMainResponseDto(request);
 		boolean isSuccess = false;
 		try {
-			log.info("sessionId", "idType", "id", "Get Schema from syncdata called");
-			IdSchemaDto idSchema = serviceUtil.getSchema();
-			log.info("sessionId", "idType", "id", "Get Schema from syncdata successful");
+			IdSchemaSnapshotDto idSchema = idSchemaCacheUtil.getIdSchema();
 			validationUtil.langvalidation(request.getRequest().getLangCode());
 			Map<String, String> requestParamMap = new HashMap<>();
 			requestParamMap.put(DemographicRequestCodes.PRE_REGISTRAION_ID.getCode(), preRegistrationId);
@@ -417,7 +449,7 @@ public class DemographicService implements DemographicServiceIntf {
 				log.info("sessionId", "idType", "id",
 						"JSON validator start time : " + DateUtils.getUTCCurrentDateTimeString());
 
-				List<String> identityKeys = convertSchemaJsonToArray(idSchema.getSchemaJson());
+				List<String> identityKeys = idSchema.getIdentityKeys();
 
 				log.info("IDENTITY KEYS: {}", identityKeys);
 
@@ -499,53 +531,54 @@ public class DemographicService implements DemographicServiceIntf {
 		try {
 			requestParamMap.put(DemographicRequestCodes.USER_ID.getCode(), userId);
 			if (validationUtil.requstParamValidator(requestParamMap)) {
-				log.info("sessionId", "idType", "id",
-						"get demographic details start time : " + DateUtils.getUTCCurrentDateTimeString());
-				List<DemographicEntity> demographicEntities = demographicRepository.findByCreatedBy(userId,
-						StatusCodes.CONSUMED.getCode());
-				log.info("sessionId", "idType", "id",
-						"get demographic details end time : " + DateUtils.getUTCCurrentDateTimeString());
-				if (!serviceUtil.isNull(demographicEntities)) {
+				/*
+				 * Fetch all the records for the user irrespective of page index and page size
+				 */
+				if (serviceUtil.isNull(pageIdx)) {
+					log.info("sessionId", "idType", "id",
+							"get demographic details start time : " + DateUtils.getUTCCurrentDateTimeString());
+					List<DemographicEntity> demographicEntities = demographicRepository.findByCreatedBy(userId,
+							StatusCodes.CONSUMED.getCode());
+					log.info("sessionId", "idType", "id",
+							"get demographic details end time : " + DateUtils.getUTCCurrentDateTimeString());
+					if (serviceUtil.isNull(demographicEntities)) {
+						throw new RecordNotFoundException(DemographicErrorCodes.PRG_PAM_APP_005.getCode(),
+								DemographicErrorMessages.NO_RECORD_FOUND_FOR_USER_ID.getMessage());
+					}
+					prepareDemographicResponse(demographicMetadataDTO, demographicEntities);
+					demographicMetadataDTO.setNoOfRecords("0");
+					demographicMetadataDTO.setTotalRecords(Integer.toString(demographicEntities.size()));
+					demographicMetadataDTO.setPageIndex("0");
+					response.setResponse(demographicMetadataDTO);
+				} else {
 					/*
-					 * Fetch all the records for the user irrespective of page index and page size
+					 * Fetch all the pageable records for the user with respect to page index and
+					 * page size, the total is taken from the count query of the page
 					 */
-					if (serviceUtil.isNull(pageIdx)) {
-						prepareDemographicResponse(demographicMetadataDTO, demographicEntities);
-						demographicMetadataDTO.setNoOfRecords("0");
-						demographicMetadataDTO.setTotalRecords(Integer.toString(demographicEntities.size()));
-						demographicMetadataDTO.setPageIndex("0");
+					log.info("sessionId", "idType", "id",
+							"pagination start time : " + DateUtils.getUTCCurrentDateTimeString());
+					Page<DemographicEntity> demographicEntityPage = demographicRepository
+							.findByCreatedByOrderByCreateDateTime(userId, StatusCodes.CONSUMED.getCode(),
+									PageRequest.of(serviceUtil.parsePageIndex(pageIdx),
+											serviceUtil.parsePageSize(pageSize)));
+					log.info("sessionId", "idType", "id",
+							"pagination end time : " + DateUtils.getUTCCurrentDateTimeString());
+					if (serviceUtil.isNull(demographicEntityPage) || demographicEntityPage.getTotalElements() == 0) {
+						throw new RecordNotFoundException(DemographicErrorCodes.PRG_PAM_APP_005.getCode(),
+								DemographicErrorMessages.NO_RECORD_FOUND_FOR_USER_ID.getMessage());
+					}
+					if (!serviceUtil.isNull(demographicEntityPage.getContent())) {
+						prepareDemographicResponse(demographicMetadataDTO, demographicEntityPage.getContent());
+						demographicMetadataDTO
+								.setNoOfRecords(Integer.toString(demographicEntityPage.getContent().size()));
+						demographicMetadataDTO.setTotalRecords(Long.toString(demographicEntityPage.getTotalElements()));
+						demographicMetadataDTO.setPageIndex(pageIdx);
 						response.setResponse(demographicMetadataDTO);
-					} else {
-						/*
-						 * Fetch all the pageable records for the user with respect to page index and
-						 * page size
-						 */
-						log.info("sessionId", "idType", "id",
-								"pagination start time : " + DateUtils.getUTCCurrentDateTimeString());
-						@SuppressWarnings("static-access")
-						Page<DemographicEntity> demographicEntityPage = demographicRepository
-								.findByCreatedByOrderByCreateDateTime(userId, StatusCodes.CONSUMED.getCode(),
-										PageRequest.of(serviceUtil.parsePageIndex(pageIdx),
-												serviceUtil.parsePageSize(pageSize)));
-						log.info("sessionId", "idType", "id",
-								"pagination end time : " + DateUtils.getUTCCurrentDateTimeString());
-						if (!serviceUtil.isNull(demographicEntityPage)
-								&& !serviceUtil.isNull(demographicEntityPage.getContent())) {
-							prepareDemographicResponse(demographicMetadataDTO, demographicEntityPage.getContent());
-							demographicMetadataDTO
-									.setNoOfRecords(Integer.toString(demographicEntityPage.getContent().size()));
-							demographicMetadataDTO.setTotalRecords(Integer.toString(demographicEntities.size()));
-							demographicMetadataDTO.setPageIndex(pageIdx);
-							response.setResponse(demographicMetadataDTO);
 
-						} else {
-							throw new RecordNotFoundException(DemographicErrorCodes.PRG_PAM_APP_016.getCode(),
-									DemographicErrorMessages.PAGE_NOT_FOUND.getMessage());
-						}
+					} else {
+						throw new RecordNotFoundException(DemographicErrorCodes.PRG_PAM_APP_016.getCode(),
+								DemographicErrorMessages.PAGE_NOT_FOUND.getMessage());
 					}
-				} else {
-					throw new RecordNotFoundException(DemographicErrorCodes.PRG_PAM_APP_005.getCode(),
-							DemographicErrorMessages.NO_RECORD_FOUND_FOR_USER_ID.getMessage());
 				}
 			}
 			isRetrieveSuccess = true;
@@ -570,51 +603,33 @@ public class DemographicService implements DemographicServiceIntf {
 		return response;
 	}
 
-	@SuppressWarnings({ "unchecked" })
 	private void prepareDemographicResponse(DemographicMetadataDTO demographicMetadataDTO,
 			List<DemographicEntity> demographicEntities)
 			throws ParseException, EncryptionFailedException, IOException, JsonProcessingException {
 		List<DemographicViewDTO> viewList = new ArrayList<>();
 		long start = System.currentTimeMillis();
 		log.info("sessionId", "idType", "id", "for loop start time : " + DateUtils.getUTCCurrentDateTimeString());
-		JSONParser jsonParser = new JSONParser();
-		for (DemographicEntity demographicEntity : demographicEntities) {
-			log.info("sessionId", "idType", "id", "decryption start time : " + DateUtils.getUTCCurrentDateTimeString());
-			byte[] decryptedString = cryptoUtil.decrypt(demographicEntity.getApplicantDetailJson(),
-					DateUtils.getUTCCurrentDateTime());
-			log.info("sessionId", "idType", "id", "decryption end time : " + DateUtils.getUTCCurrentDateTimeString());
-			log.info("sessionId", "idType", "id",
-					"get document metadata start time : " + DateUtils.getUTCCurrentDateTimeString());
-			JSONObject documentJsonObject = getDocumentMetadata(demographicEntity,
-					DemographicRequestCodes.POA.getCode());
-			log.info("sessionId", "idType", "id",
-					"get document metadata end time : " + DateUtils.getUTCCurrentDateTimeString());
-
-			JSONObject jsonObj = (JSONObject) jsonParser.parse(new String(decryptedString));
-			JSONObject demographicMetadata = new JSONObject();
-			String nameValue = getPreregistrationIdentityJson().getIdentity().getName().getValue();
-			String poaValue = getPreregistrationIdentityJson().getDocuments().getPoa().getValue();
-			String postalCodeValue = getPreregistrationIdentityJson().getIdentity().getDob().getValue();
-			String[] nameKeys = nameValue.split(",");
-			for (int i = 0; i < nameKeys.length; i++) {
-				demographicMetadata.put(nameKeys[i], serviceUtil.getValueFromIdentity(decryptedString, nameKeys[i]));
-			}
-			Set<String> dataCaptureLang = serviceUtil.getDataCaptureLaanguage(jsonObj);
-			demographicMetadata.put(postalCodeValue,
-					serviceUtil.getIdJSONValue(jsonObj.toJSONString(), postalCodeValue));
-			demographicMetadata.put(poaValue, documentJsonObject);
-			DemographicViewDTO viewDto = new DemographicViewDTO();
-			viewDto.setPreRegistrationId(demographicEntity.getPreRegistrationId());
-			viewDto.setStatusCode(demographicEntity.getStatusCode());
-			viewDto.setDemographicMetadata(demographicMetadata);
-			viewDto.setDataCaptureLanguage(dataCaptureLang);
-			log.info("sessionId", "idType", "id",
-					"get booking details start time : " + DateUtils.getUTCCurrentDateTimeString());
-			BookingRegistrationDTO bookingRegistrationDTO = getAppointmentData(demographicEntity);
-			log.info("sessionId", "idType", "id",
-					"get booking details end time : " + DateUtils.getUTCCurrentDateTimeString());
-			viewDto.setBookingMetadata(bookingRegistrationDTO);
-			viewList.add(viewDto);
+		log.info("sessionId", "idType", "id", "decryption start time : " + DateUtils.getUTCCurrentDateTimeString());
+		List<byte[]> decryptedDetails = cryptoUtil.decryptAll(demographicEntities.stream()
+				.map(DemographicEntity::getApplicantDetailJson).collect(Collectors.toList()),
+				DateUtils.getUTCCurrentDateTime());
+		log.info("sessionId", "idType", "id", "decryption end time : " + DateUtils.getUTCCurrentDateTimeString());
+		log.info("sessionId", "idType", "id",
+				"get booking details start time : " + DateUtils.getUTCCurrentDateTimeString());
+		Map<String, ApplicationEntity> applicationEntities = serviceUtil.findApplicationsByIds(demographicEntities
+				.stream().map(DemographicEntity::getPreRegistrationId).collect(Collectors.toList()));
+		log.info("sessionId", "idType", "id",
+				"get booking details end time : " + DateUtils.getUTCCurrentDateTimeString());
+		List<Future<DemographicViewDTO>> futures = new ArrayList<>(demographicEntities.size());
+		for (int index = 0; index < demographicEntities.size(); index++) {
+			DemographicEntity demographicEntity = demographicEntities.get(index);
+			byte[] decryptedString = decryptedDetails.get(index);
+			ApplicationEntity applicationEntity = applicationEntities.get(demographicEntity.getPreRegistrationId());
+			futures.add(applicationDetailsExecutor
+					.submit(() -> prepareDemographicView(demographicEntity, decryptedString, applicationEntity)));
+		}
+		for (Future<DemographicViewDTO> future : futures) {
+			viewList.add(getDemographicView(future));
 		}
 		log.info("sessionId", "idType", "id", "for loop end time : " + DateUtils.getUTCCurrentDateTimeString());
 		long end = System.currentTimeMillis();
@@ -622,11 +637,73 @@ public class DemographicService implements DemographicServiceIntf {
 		demographicMetadataDTO.setBasicDetails(viewList);
 	}
 
-	private BookingRegistrationDTO getAppointmentData(DemographicEntity demographicEntity) {
+	@SuppressWarnings({ "unchecked" })
+	private DemographicViewDTO prepareDemographicView(DemographicEntity demographicEntity, byte[] decryptedString,
+			ApplicationEntity applicationEntity) throws ParseException, IOException, JsonProcessingException {
+		JSONObject documentJsonObject = getDocumentMetadata(demographicEntity, DemographicRequestCodes.POA.getCode());
+		JSONObject demographicMetadata = new JSONObject();
+		DemographicIdentityRequestDTO identityJson = getPreregistrationIdentityJson();
+		String nameValue = identityJson.getIdentity().getName().getValue();
+		String poaValue = identityJson.getDocuments().getPoa().getValue();
+		String postalCodeValue = identityJson.getIdentity().getDob().getValue();
+		List<String> nameKeys = Arrays.asList(nameValue.split(","));
+		DemographicDashboardFieldsDTO dashboardFields = serviceUtil.getDashboardFields(decryptedString, nameKeys,
+				postalCodeValue);
+		for (String nameKey : nameKeys) {
+			demographicMetadata.put(nameKey, dashboardFields.getNames().get(nameKey));
+		}
+		demographicMetadata.put(postalCodeValue, dashboardFields.getDobValue());
+		demographicMetadata.put(poaValue, documentJsonObject);
+		DemographicViewDTO viewDto = new DemographicViewDTO();
+		viewDto.setPreRegistrationId(demographicEntity.getPreRegistrationId());
+		viewDto.setStatusCode(demographicEntity.getStatusCode());
+		viewDto.setDemographicMetadata(demographicMetadata);
+		viewDto.setDataCaptureLanguage(dashboardFields.getDataCaptureLanguage());
+		viewDto.setBookingMetadata(getAppointmentData(demographicEntity, applicationEntity));
+		return viewDto;
+	}
+
+	/**
+	 * Waits for a dashboard entry and rethrows the failure of its task as it
+	 * would have been thrown on the request thread.
+	 */
+	private DemographicViewDTO getDemographicView(Future<DemographicViewDTO> future)
+			throws ParseException, IOException, JsonProcessingException {
+		try {
+			return future.get();
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw applicationDetailsFailed();
+		} catch (ExecutionException ex) {
+			Throwable cause = ex.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else if (cause instanceof ParseException) {
+				throw (ParseException) cause;
+			} else if (cause instanceof IOException) {
+				throw (IOException) cause;
+			} else if (cause instanceof JsonProcessingException) {
+				throw (JsonProcessingException) cause;
+			}
+			throw applicationDetailsFailed();
+		}
+	}
+
+	private DemographicServiceException applicationDetailsFailed() {
+		List<ServiceError> errorList = new ArrayList<>();
+		errorList.add(new ServiceError(DemographicErrorCodes.PRG_PAM_APP_005.getCode(),
+				DemographicErrorMessages.UNABLE_TO_FETCH_THE_PRE_REGISTRATION.getMessage()));
+		return new DemographicServiceException(errorList, null);
+	}
+
+	private BookingRegistrationDTO getAppointmentData(DemographicEntity demographicEntity,
+			ApplicationEntity applicationEntity) {
 
 		if (!serviceUtil.isNull(demographicEntity.getPreRegistrationId())) {
-			ApplicationEntity applicationEntity = serviceUtil
-					.findApplicationById(demographicEntity.getPreRegistrationId());
+			if (applicationEntity == null) {
+				throw new RecordNotFoundException(DemographicErrorCodes.PRG_PAM_APP_005.getCode(),
+						DemographicErrorMessages.NO_RECORD_FOUND_FOR_USER_ID.getMessage());
+			}
 			log.info("In applicationEnity fetched {} in getAppointmentData method ", applicationEntity);
 			if (applicationEntity.getAppointmentDate() != null) {
 				BookingRegistrationDTO bookingRegistrationDTO = new BookingRegistrationDTO();
@@ -1135,15 +1212,7 @@ public class DemographicService implements DemographicServiceIntf {
 	}
 
 	public DemographicIdentityRequestDTO getPreregistrationIdentityJson() {
-
-		try {
-			return objectMapper.readValue(getIdentityJsonString, DemographicIdentityRequestDTO.class);
-		} catch (IOException ex) {
-			log.error("sessionId", "idType", "id", ExceptionUtils.getStackTrace(ex));
-			log.error("sessionId", "idType", "id",
-					"In pre-registration service util of getPreregistrationIdentityJson- " + ex.getMessage());
-		}
-		return null;
+		return preregistrationIdentityJson;
 	}
 	
 	private MainResponseDTO<SchemaResponseDto> getConfigDetailsResponse(String fileName) {
@@ -1172,28 +1241,6 @@ public class DemographicService implements DemographicServiceIntf {
 
 	}
 
-	private List<String> convertSchemaJsonToArray(String schemaJson) {
-		List<String> idschemaAttributes = new ArrayList<String>();
-		try {
-			JsonNode node = objectMapper.readValue(schemaJson, JsonNode.class);
-
-			node.get(PROPERTIES).get(INDENTITY).get(PROPERTIES).fieldNames()
-					.forEachRemaining(field -> idschemaAttributes.add(field));
-
-		} catch (JsonParseException ex) {
-			throw new io.mosip.preregistration.demographic.exception.system.JsonParseException(
-					DemographicErrorMessages.JSON_PARSING_FAILED.getMessage());
-		} catch (JsonMappingException e) {
-			throw new SystemFileIOException(DemographicErrorCodes.PRG_PAM_APP_018.getCode(),
-					DemographicErrorMessages.UBALE_TO_READ_IDENTITY_JSON.getMessage(), null);
-		} catch (IOException e) {
-			throw new SystemFileIOException(DemographicErrorCodes.PRG_PAM_APP_018.getCode(),
-					DemographicErrorMessages.UBALE_TO_READ_IDENTITY_JSON.getMessage(), null);
-		}
-
-		return idschemaAttributes;
-	}
-	
 	public MainResponseDTO<ApplicationInfoMetadataDTO> getPregistrationInfo(String prid) {
 		log.info("In getPregistrationInfo method of DemographicService for prid {}", prid);
 		MainResponseDTO<ApplicationInfoMetadataDTO> response = new MainResponseDTO<ApplicationInfoMetadataDTO>();
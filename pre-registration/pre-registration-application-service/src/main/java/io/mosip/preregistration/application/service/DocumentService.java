@@ -3,6 +3,9 @@ package io.mosip.preregistration.application.service;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
@@ -14,6 +17,7 @@ import java.util.Objects;
 
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.CharSequenceInputStream;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.json.simple.parser.ParseException;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -132,6 +136,13 @@ public class DocumentService implements DocumentServiceIntf {
 
 	@Value("${mosip.preregistration.document.update.docrefId.id}")
 	private String updateDocRefId;
+
+	/**
+	 * Reference for ${mosip.preregistration.document.upload.streaming} from
+	 * property file
+	 */
+	@Value("${mosip.preregistration.document.upload.streaming:false}")
+	private boolean streamingUpload;
 	/**
 	 * Reference for ${version} from property file
 	 */
@@ -218,7 +229,11 @@ public class DocumentService implements DocumentServiceIntf {
 			requiredRequestMap.put("id", uploadId);
 			if (validationUtil.requestValidator(prepareRequestParamMap(docReqDto), requiredRequestMap)) {
 				if (scanDocument) {
-					serviceUtil.isVirusScanSuccess(file);
+					if (streamingUpload) {
+						serviceUtil.isVirusScanSuccessForStream(file);
+					} else {
+						serviceUtil.isVirusScanSuccess(file);
+					}
 				}
 				if (serviceUtil.fileSizeCheck(file.getSize()) && serviceUtil.fileExtensionCheck(file)) {
 					serviceUtil.isValidRequest(docReqDto.getRequest(), preRegistrationId);
@@ -283,18 +298,22 @@ public class DocumentService implements DocumentServiceIntf {
 			documentEntity.setDocName(file.getOriginalFilename());
 			LocalDateTime encryptedTimestamp = DateUtils.getUTCCurrentDateTime();
 			documentEntity.setEncryptedDateTime(encryptedTimestamp);
-			byte[] encryptedDocument = cryptoUtil.encrypt(file.getBytes(), encryptedTimestamp);
-			documentEntity.setDocHash(HashUtill.hashUtill(encryptedDocument));
-			documentEntity = documnetDAO.saveDocument(documentEntity);
-			String key = documentEntity.getDocCatCode() + "_" + documentEntity.getDocumentId();
+			if (streamingUpload) {
+				documentEntity = storeDocumentStreaming(documentEntity, file, encryptedTimestamp);
+			} else {
+				byte[] encryptedDocument = cryptoUtil.encrypt(file.getBytes(), encryptedTimestamp);
+				documentEntity.setDocHash(HashUtill.hashUtill(encryptedDocument));
+				documentEntity = documnetDAO.saveDocument(documentEntity);
+				String key = documentEntity.getDocCatCode() + "_" + documentEntity.getDocumentId();
 
-			boolean isStoreSuccess = objectStore.putObject(objectStoreAccountName,
-					documentEntity.getDemographicEntity().getPreRegistrationId(), null, null, key,
-					new ByteArrayInputStream(encryptedDocument));
+				boolean isStoreSuccess = objectStore.putObject(objectStoreAccountName,
+						documentEntity.getDemographicEntity().getPreRegistrationId(), null, null, key,
+						new ByteArrayInputStream(encryptedDocument));
 
-			if (!isStoreSuccess) {
-				throw new FSServerException(DocumentErrorCodes.PRG_PAM_DOC_009.toString(),
-						DocumentErrorMessages.DOCUMENT_FAILED_TO_UPLOAD.getMessage());
+				if (!isStoreSuccess) {
+					throw new FSServerException(DocumentErrorCodes.PRG_PAM_DOC_009.toString(),
+							DocumentErrorMessages.DOCUMENT_FAILED_TO_UPLOAD.getMessage());
+				}
 			}
 			docResponseDto.setPreRegistrationId(documentEntity.getDemographicEntity().getPreRegistrationId());
 			docResponseDto.setDocId(String.valueOf(documentEntity.getDocumentId()));
@@ -307,6 +326,46 @@ public class DocumentService implements DocumentServiceIntf {
 		return docResponseDto;
 	}
 
+	/**
+	 * This method stores the uploaded document without materialising the raw file
+	 * in memory. The multipart part is read as a stream for encryption, and the
+	 * encrypted content is hashed and pushed to the object store as a stream over
+	 * the keymanager response. As in the non streaming mode the entity is saved
+	 * before the object is stored, so a failed store rolls the entity back and a
+	 * failed save leaves no object behind.
+	 * 
+	 * @param documentEntity     pass the document entity to save
+	 * @param file               pass file
+	 * @param encryptedTimestamp pass the encryption timestamp
+	 * @return saved DocumentEntity
+	 * @throws IOException on input errors
+	 */
+	private DocumentEntity storeDocumentStreaming(DocumentEntity documentEntity, MultipartFile file,
+			LocalDateTime encryptedTimestamp) throws IOException {
+		String encryptedDocument;
+		try (InputStream fileStream = file.getInputStream()) {
+			encryptedDocument = cryptoUtil.encryptStream(fileStream, encryptedTimestamp);
+		}
+		MessageDigest messageDigest = HashUtill.newMessageDigest();
+		try (InputStream encryptedStream = new DigestInputStream(
+				new CharSequenceInputStream(encryptedDocument, StandardCharsets.UTF_8), messageDigest)) {
+			IOUtils.skip(encryptedStream, Long.MAX_VALUE);
+		}
+		documentEntity.setDocHash(HashUtill.digestAsPlainText(messageDigest));
+		documentEntity = documnetDAO.saveDocument(documentEntity);
+		String key = documentEntity.getDocCatCode() + "_" + documentEntity.getDocumentId();
+		boolean isStoreSuccess;
+		try (InputStream encryptedStream = new CharSequenceInputStream(encryptedDocument, StandardCharsets.UTF_8)) {
+			isStoreSuccess = objectStore.putObject(objectStoreAccountName,
+					documentEntity.getDemographicEntity().getPreRegistrationId(), null, null, key, encryptedStream);
+		}
+		if (!isStoreSuccess) {
+			throw new FSServerException(DocumentErrorCodes.PRG_PAM_DOC_009.toString(),
+					DocumentErrorMessages.DOCUMENT_FAILED_TO_UPLOAD.getMessage());
+		}
+		return documentEntity;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -18,6 +18,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import javax.annotation.PostConstruct;
@@ -45,6 +46,9 @@ import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -59,11 +63,10 @@ import io.mosip.preregistration.application.dto.ApplicantTypeRequestDTO;
 import io.mosip.preregistration.application.dto.ApplicantTypeResponseDTO;
 import io.mosip.preregistration.application.dto.ApplicantValidDocumentDto;
 import io.mosip.preregistration.application.dto.DemographicCreateResponseDTO;
+import io.mosip.preregistration.application.dto.DemographicDashboardFieldsDTO;
 import io.mosip.preregistration.application.dto.DemographicRequestDTO;
 import io.mosip.preregistration.application.dto.DemographicUpdateResponseDTO;
 import io.mosip.preregistration.application.dto.IdSchemaDto;
-import io.mosip.preregistration.application.dto.LanguageValueDto;
-import io.mosip.preregistration.application.dto.PridFetchResponseDto;
 import io.mosip.preregistration.application.dto.UISpecMetaDataDTO;
 import io.mosip.preregistration.application.errorcodes.ApplicationErrorCodes;
 import io.mosip.preregistration.application.errorcodes.ApplicationErrorMessages;
@@ -127,8 +130,8 @@ public class DemographicServiceUtil {
 	@Autowired
 	RestTemplate selfTokenrestTemplate;
 
-	@Value("${mosip.io.prid.url}")
-	private String pridURl;
+	@Autowired
+	private PridPoolUtil pridPoolUtil;
 
 	@Value("${mosip.preregistration.id-schema}")
 	private String idSchemaConfig;
@@ -149,6 +152,8 @@ public class DemographicServiceUtil {
 	 */
 	private Logger log = LoggerConfiguration.logConfig(DemographicServiceUtil.class);
 
+	private static final String LANGUAGE = "language";
+
 	@Autowired
 	CryptoUtil cryptoUtil;
 
@@ -355,48 +360,73 @@ public class DemographicServiceUtil {
 	}
 
 	/**
-	 * This method is used to set the JSON values to RequestCodes constants.
-	 * 
-	 * @param demographicData pass demographicData
-	 * @param identityKey     pass identityKey
-	 * @return values from JSON based on key
-	 * 
-	 * @throws ParseException                        On json Parsing Failed
-	 * @throws org.json.simple.parser.ParseException
+	 * This method extracts the dashboard fields (name keys, date of birth value
+	 * and data capture languages) from the decrypted demographic json in a single
+	 * streaming pass.
 	 * 
+	 * @param demographicData pass decrypted demographicData
+	 * @param nameKeys        pass the identity keys of the name
+	 * @param dobKey          pass the identity key of the date of birth
+	 * @return dashboard fields
+	 * @throws IOException On json parsing failed
 	 */
-	public JSONArray getValueFromIdentity(byte[] demographicData, String identityKey)
-			throws ParseException, org.json.simple.parser.ParseException {
-		log.info("sessionId", "idType", "id", "In getValueFromIdentity method of pre-registration service util ");
-		JSONParser jsonParser = new JSONParser();
-		JSONObject jsonObj = (JSONObject) jsonParser.parse(new String(demographicData));
-		JSONObject identityObj = (JSONObject) jsonObj.get(DemographicRequestCodes.IDENTITY.getCode());
-		return (JSONArray) identityObj.get(identityKey);
+	public DemographicDashboardFieldsDTO getDashboardFields(byte[] demographicData, List<String> nameKeys,
+			String dobKey) throws IOException {
+		DemographicDashboardFieldsDTO dashboardFields = new DemographicDashboardFieldsDTO();
+		try (JsonParser parser = mapper.getFactory().createParser(demographicData)) {
+			if (parser.nextToken() != JsonToken.START_OBJECT) {
+				throw new JsonParseException(DemographicErrorCodes.PRG_PAM_APP_007.getCode(),
+						DemographicErrorMessages.JSON_PARSING_FAILED.getMessage());
+			}
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				String field = parser.getCurrentName();
+				if (parser.nextToken() == JsonToken.START_OBJECT
+						&& DemographicRequestCodes.IDENTITY.getCode().equals(field)) {
+					readDashboardFields(parser, nameKeys, dobKey, dashboardFields);
+				} else {
+					parser.skipChildren();
+				}
+			}
+		}
+		return dashboardFields;
+	}
+
+	private void readDashboardFields(JsonParser parser, List<String> nameKeys, String dobKey,
+			DemographicDashboardFieldsDTO dashboardFields) throws IOException {
+		boolean languageFound = false;
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String key = parser.getCurrentName();
+			JsonToken token = parser.nextToken();
+			boolean isName = nameKeys.contains(key);
+			boolean isDob = key.equals(dobKey);
+			boolean isLanguageSource = !languageFound && token == JsonToken.START_ARRAY;
+			if (!isName && !isDob && !isLanguageSource) {
+				parser.skipChildren();
+				continue;
+			}
+			JsonNode node = mapper.readTree(parser);
+			if (isName && node != null && node.isArray()) {
+				dashboardFields.getNames().put(key, toJSONArray(node));
+			}
+			if (isDob && node != null && !node.isNull()) {
+				dashboardFields.setDobValue(node.isValueNode() ? node.asText() : node.toString());
+			}
+			if (isLanguageSource) {
+				Set<String> dataCaptureLang = new HashSet<>();
+				node.forEach(value -> dataCaptureLang
+						.add(value.hasNonNull(LANGUAGE) ? value.get(LANGUAGE).asText() : null));
+				dashboardFields.setDataCaptureLanguage(dataCaptureLang);
+				languageFound = true;
+			}
+		}
 	}
 
-	/**
-	 * This method is used to set the JSON values to RequestCodes constants.
-	 * 
-	 * @param demographicData pass demographicData
-	 * @param identityKey     pass postalcode
-	 * @return values from JSON
-	 * 
-	 * @throws ParseException                        On json Parsing Failed
-	 * @throws org.json.simple.parser.ParseException
-	 * 
-	 */
-
-	public String getIdJSONValue(String demographicData, String value) throws ParseException {
-		log.info("sessionId", "idType", "id",
-				"In getValueFromIdentity method of pe-registration service util to get getIdJSONValue ");
-
-		JSONParser jsonParser = new JSONParser();
-		JSONObject jsonObj = (JSONObject) jsonParser.parse(demographicData);
-		JSONObject identityObj = (JSONObject) jsonObj.get(DemographicRequestCodes.IDENTITY.getCode());
-		if (identityObj.get(value) != null)
-			return identityObj.get(value).toString();
-		return "";
-
+	@SuppressWarnings("unchecked")
+	private JSONArray toJSONArray(JsonNode node) {
+		JSONArray values = new JSONArray();
+		node.forEach(value -> values.add(value.isObject() ? new JSONObject(mapper.convertValue(value, Map.class))
+				: mapper.convertValue(value, Object.class)));
+		return values;
 	}
 
 	/**
@@ -527,39 +557,14 @@ public class DemographicServiceUtil {
 		}
 	}
 
+	/**
+	 * This method returns a new pre-registration id, taken from the local PRID
+	 * pool when it has one.
+	 * 
+	 * @return pre-registration id
+	 */
 	public String generateId() {
-		String prid = null;
-		try {
-			UriComponentsBuilder regbuilder = UriComponentsBuilder.fromHttpUrl(pridURl);
-			HttpHeaders headers = new HttpHeaders();
-			headers.setContentType(MediaType.APPLICATION_JSON_UTF8);
-			HttpEntity<RequestWrapper<RegistrationCenterResponseDto>> entity = new HttpEntity<>(headers);
-			String uriBuilder = regbuilder.build().encode().toUriString();
-			log.info("sessionId", "idType", "id",
-					"In callRegCenterDateRestService method of Booking Service URL- " + uriBuilder);
-			ResponseEntity<ResponseWrapper<PridFetchResponseDto>> responseEntity = selfTokenrestTemplate.exchange(uriBuilder,
-					HttpMethod.GET, entity, new ParameterizedTypeReference<ResponseWrapper<PridFetchResponseDto>>() {
-					});
-			if (responseEntity.getBody().getErrors() != null && !responseEntity.getBody().getErrors().isEmpty()) {
-				throw new RestCallException(responseEntity.getBody().getErrors().get(0).getErrorCode(),
-						responseEntity.getBody().getErrors().get(0).getMessage());
-			}
-			prid = responseEntity.getBody().getResponse().getPrid();
-			if (prid == null || prid.isEmpty()) {
-				throw new RestCallException(DemographicErrorCodes.PRG_PAM_APP_020.getCode(),
-						DemographicErrorMessages.PRID_RESTCALL_FAIL.getMessage());
-			}
-
-		} catch (RestClientException ex) {
-			log.error("sessionId", "idType", "id", ExceptionUtils.getStackTrace(ex));
-			log.error("sessionId", "idType", "id",
-					"In callRegCenterDateRestService method of Booking Service Util for HttpClientErrorException- "
-							+ ex.getMessage());
-			throw new RestCallException(DemographicErrorCodes.PRG_PAM_APP_020.getCode(),
-					DemographicErrorMessages.PRID_RESTCALL_FAIL.getMessage());
-		}
-		return prid;
-
+		return pridPoolUtil.nextId();
 	}
 
 	public IdSchemaDto getSchema() {
@@ -716,6 +721,24 @@ public class DemographicServiceUtil {
 		return applicationEntity;
 	}
 
+	/**
+	 * This method fetches the applications entries for a list of application ids
+	 * in a single query.
+	 * 
+	 * @param applicationIds pass applicationIds
+	 * @return map of application id to its applications entry
+	 */
+	public Map<String, ApplicationEntity> findApplicationsByIds(List<String> applicationIds) {
+		log.info("Fetching applications entries for {} applicationIDs", applicationIds.size());
+		try {
+			return applicationRepostiory.findByApplicationIdIn(applicationIds).stream()
+					.collect(Collectors.toMap(ApplicationEntity::getApplicationId, Function.identity()));
+		} catch (DataAccessException ex) {
+			throw new RecordNotFoundException(DemographicErrorCodes.PRG_PAM_APP_005.getCode(),
+					DemographicErrorMessages.NO_RECORD_FOUND_FOR_USER_ID.getMessage());
+		}
+	}
+
 	public void deleteApplicationFromApplications(String applicationId) {
 		log.info("Deleting applications entry for applicationID: {}", applicationId);
 		try {
@@ -726,42 +749,6 @@ public class DemographicServiceUtil {
 		}
 	}
 
-	@SuppressWarnings({ "unchecked", "rawtypes" })
-	public Set<String> getDataCaptureLaanguage(JSONObject jsonObject) {
-
-		log.info("In getDataCaputureLanguage method");
-
-		Set<String> dataCaptureLang = null;
-
-		List<Object> demographicKeys = Arrays
-				.asList(((HashMap) jsonObject.get(DemographicRequestCodes.IDENTITY.getCode())).keySet().toArray());
-
-		for (Object key : demographicKeys) {
-			log.info("key--->{}", key);
-
-			Object demograhicObject = ((HashMap) jsonObject.get(DemographicRequestCodes.IDENTITY.getCode())).get(key);
-
-			if (demograhicObject instanceof List) {
-				JSONArray arr = ((JSONArray) demograhicObject);
-
-				dataCaptureLang = (Set<String>) arr.stream().map(data -> {
-					String language = null;
-					try {
-						language = mapper.readValue(data.toString(), LanguageValueDto.class).getLanguage();
-					} catch (IOException e) {
-						throw new JsonParseException(DemographicErrorCodes.PRG_PAM_APP_007.getCode(),
-								DemographicErrorMessages.JSON_IO_EXCEPTION.getMessage());
-					}
-					return language;
-				}).collect(Collectors.toSet());
-
-				break;
-
-			}
-		}
-		return dataCaptureLang;
-	}
-
 	@SuppressWarnings("rawtypes")
 	public ApplicantTypeRequestDTO createApplicantTypeRequest(DemographicEntity demographicEntity)
 			throws ParseException {
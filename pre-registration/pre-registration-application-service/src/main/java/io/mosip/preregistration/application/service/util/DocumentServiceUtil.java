@@ -352,6 +352,25 @@ public class DocumentServiceUtil {
 		}
 	}
 
+	/**
+	 * This method scans the uploaded file reading it as a stream, so that the
+	 * multipart part is not copied to a byte array
+	 * 
+	 * @param file pass uploaded file
+	 * @throws VirusScannerException if the scan fails
+	 */
+	public boolean isVirusScanSuccessForStream(MultipartFile file) {
+		log.info("sessionId", "idType", "id", "In isVirusScanSuccessForStream method of document service util");
+		try (InputStream fileStream = file.getInputStream()) {
+			return virusScan.scanFile(fileStream);
+		} catch (Exception e) {
+			log.error("sessionId", "idType", "id", ExceptionUtils.getStackTrace(e));
+			log.error("sessionId", "idType", "id", e.getMessage());
+			throw new VirusScannerException(DocumentErrorCodes.PRG_PAM_DOC_010.toString(),
+					DocumentErrorMessages.DOCUMENT_FAILED_IN_VIRUS_SCAN.getMessage());
+		}
+	}
+
 	public DemographicResponseDTO getPreRegInfoRestService(String preId) {
 		log.info("sessionId", "idType", "id", "In callGetPreRegInfoRestService method of document service util");
 
@@ -0,0 +1,158 @@
+package io.mosip.preregistration.application.service.util;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.mosip.kernel.core.exception.ExceptionUtils;
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.preregistration.application.dto.IdSchemaDto;
+import io.mosip.preregistration.application.dto.IdSchemaSnapshotDto;
+import io.mosip.preregistration.application.errorcodes.DemographicErrorCodes;
+import io.mosip.preregistration.application.errorcodes.DemographicErrorMessages;
+import io.mosip.preregistration.core.config.LoggerConfiguration;
+import io.mosip.preregistration.demographic.exception.system.SystemFileIOException;
+
+/**
+ * This class caches the ID schema fetched from syncdata, pre-parsed and keyed
+ * by schema version. The schema is re-fetched in the background at a fixed
+ * interval and only re-parsed when the version or the schema json changes.
+ * If a refresh fails the last known schema keeps being served.
+ *
+ * @since 1.2.0
+ */
+@Component
+public class IdSchemaCacheUtil {
+
+	private static final String INDENTITY = "identity";
+
+	private static final String PROPERTIES = "properties";
+
+	private Logger log = LoggerConfiguration.logConfig(IdSchemaCacheUtil.class);
+
+	@Autowired
+	private DemographicServiceUtil serviceUtil;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Value("${mosip.preregistration.idschema.cache.refresh-interval-seconds:300}")
+	private long refreshIntervalSeconds;
+
+	private final Map<Double, IdSchemaSnapshotDto> schemasByVersion = new ConcurrentHashMap<>();
+
+	private final AtomicReference<IdSchemaSnapshotDto> currentSchema = new AtomicReference<>();
+
+	private ScheduledExecutorService refreshExecutor;
+
+	@PostConstruct
+	public void init() {
+		refreshExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "idschema-refresh");
+			thread.setDaemon(true);
+			return thread;
+		});
+		refreshExecutor.scheduleWithFixedDelay(this::refreshQuietly, refreshIntervalSeconds, refreshIntervalSeconds,
+				TimeUnit.SECONDS);
+	}
+
+	@PreDestroy
+	public void destroy() {
+		refreshExecutor.shutdownNow();
+	}
+
+	/**
+	 * This method returns the current ID schema, fetching it synchronously only
+	 * when nothing has been cached yet.
+	 *
+	 * @return current ID schema
+	 */
+	public IdSchemaSnapshotDto getIdSchema() {
+		IdSchemaSnapshotDto schema = currentSchema.get();
+		if (schema == null) {
+			synchronized (this) {
+				schema = currentSchema.get();
+				if (schema == null) {
+					schema = refresh();
+				}
+			}
+		}
+		return schema;
+	}
+
+	/**
+	 * This method fetches the ID schema from syncdata and makes it the current
+	 * one, parsing it only if this version has not been seen before or its
+	 * content changed.
+	 *
+	 * @return current ID schema
+	 */
+	public IdSchemaSnapshotDto refresh() {
+		log.info("sessionId", "idType", "id", "Get Schema from syncdata called");
+		IdSchemaDto idSchema = serviceUtil.getSchema();
+		log.info("sessionId", "idType", "id", "Get Schema from syncdata successful");
+		IdSchemaSnapshotDto schema = schemasByVersion.get(idSchema.getIdVersion());
+		if (schema == null || !Objects.equals(schema.getSchemaJson(), idSchema.getSchemaJson())) {
+			schema = new IdSchemaSnapshotDto(idSchema.getIdVersion(), idSchema.getSchemaJson(),
+					Collections.unmodifiableList(convertSchemaJsonToArray(idSchema.getSchemaJson())),
+					idSchema.getEffectiveFrom());
+			schemasByVersion.put(idSchema.getIdVersion(), schema);
+			log.info("ID schema version {} cached with identity keys {}", idSchema.getIdVersion(),
+					schema.getIdentityKeys());
+		}
+		currentSchema.set(schema);
+		return schema;
+	}
+
+	private void refreshQuietly() {
+		try {
+			refresh();
+		} catch (RuntimeException ex) {
+			log.error("sessionId", "idType", "id", ExceptionUtils.getStackTrace(ex));
+			log.error("sessionId", "idType", "id",
+					"In refresh of ID schema cache, serving the last cached schema - " + ex.getMessage());
+		}
+	}
+
+	private List<String> convertSchemaJsonToArray(String schemaJson) {
+		List<String> idschemaAttributes = new ArrayList<String>();
+		try {
+			JsonNode node = objectMapper.readValue(schemaJson, JsonNode.class);
+
+			node.get(PROPERTIES).get(INDENTITY).get(PROPERTIES).fieldNames()
+					.forEachRemaining(field -> idschemaAttributes.add(field));
+
+		} catch (JsonParseException ex) {
+			throw new io.mosip.preregistration.demographic.exception.system.JsonParseException(
+					DemographicErrorMessages.JSON_PARSING_FAILED.getMessage());
+		} catch (JsonMappingException e) {
+			throw new SystemFileIOException(DemographicErrorCodes.PRG_PAM_APP_018.getCode(),
+					DemographicErrorMessages.UBALE_TO_READ_IDENTITY_JSON.getMessage(), null);
+		} catch (IOException e) {
+			throw new SystemFileIOException(DemographicErrorCodes.PRG_PAM_APP_018.getCode(),
+					DemographicErrorMessages.UBALE_TO_READ_IDENTITY_JSON.getMessage(), null);
+		}
+
+		return idschemaAttributes;
+	}
+}
@@ -0,0 +1,221 @@
+package io.mosip.preregistration.application.service.util;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.mosip.kernel.core.exception.ExceptionUtils;
+import io.mosip.kernel.core.http.ResponseWrapper;
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.preregistration.application.dto.PridFetchResponseDto;
+import io.mosip.preregistration.application.errorcodes.DemographicErrorCodes;
+import io.mosip.preregistration.application.errorcodes.DemographicErrorMessages;
+import io.mosip.preregistration.core.config.LoggerConfiguration;
+import io.mosip.preregistration.core.exception.RestCallException;
+
+/**
+ * This class keeps a local pool of pre-registration ids fetched ahead of time
+ * from the kernel PRID generator. The pool is refilled in the background once
+ * it drops to the low water mark, and an id is fetched synchronously only when
+ * the pool is empty.
+ *
+ * @since 1.2.0
+ */
+@Component
+public class PridPoolUtil {
+
+	private Logger log = LoggerConfiguration.logConfig(PridPoolUtil.class);
+
+	@Qualifier("selfTokenRestTemplate")
+	@Autowired
+	RestTemplate selfTokenrestTemplate;
+
+	@Autowired(required = false)
+	private MeterRegistry meterRegistry;
+
+	@Value("${mosip.io.prid.url}")
+	private String pridURl;
+
+	@Value("${mosip.preregistration.prid.pool.enabled:true}")
+	private boolean poolEnabled;
+
+	@Value("${mosip.preregistration.prid.pool.capacity:100}")
+	private int poolCapacity;
+
+	@Value("${mosip.preregistration.prid.pool.low-water-mark:20}")
+	private int lowWaterMark;
+
+	@Value("${mosip.preregistration.prid.pool.refill-threads:4}")
+	private int refillThreads;
+
+	private BlockingQueue<String> pridPool;
+
+	private ExecutorService refillExecutor;
+
+	private final AtomicBoolean refilling = new AtomicBoolean(false);
+
+	private final AtomicInteger activeRefills = new AtomicInteger();
+
+	/**
+	 * Ids being fetched by the refill threads, each holding a free place in the
+	 * pool so a fetched id is never discarded.
+	 */
+	private final AtomicInteger reservedIds = new AtomicInteger();
+
+	private Counter poolMisses;
+
+	@PostConstruct
+	public void init() {
+		pridPool = new LinkedBlockingQueue<>(poolCapacity);
+		refillExecutor = Executors.newFixedThreadPool(refillThreads, runnable -> {
+			Thread thread = new Thread(runnable, "prid-pool-refill");
+			thread.setDaemon(true);
+			return thread;
+		});
+		if (meterRegistry != null) {
+			Gauge.builder("preregistration.prid.pool.size", pridPool, BlockingQueue::size)
+					.description("Pre-registration ids available in the local pool").register(meterRegistry);
+			poolMisses = Counter.builder("preregistration.prid.pool.misses")
+					.description("Pre-registration ids fetched synchronously because the pool was empty")
+					.register(meterRegistry);
+		}
+	}
+
+	@PreDestroy
+	public void destroy() {
+		refillExecutor.shutdownNow();
+	}
+
+	/**
+	 * This method returns the next pre-registration id from the pool, triggering
+	 * a background refill at the low water mark.
+	 *
+	 * @return pre-registration id
+	 */
+	public String nextId() {
+		if (!poolEnabled) {
+			return fetchId();
+		}
+		String prid = pridPool.poll();
+		if (pridPool.size() <= lowWaterMark) {
+			triggerRefill();
+		}
+		if (prid != null) {
+			return prid;
+		}
+		log.info("sessionId", "idType", "id", "PRID pool is empty, fetching pre-registration id synchronously");
+		if (poolMisses != null) {
+			poolMisses.increment();
+		}
+		return fetchId();
+	}
+
+	/**
+	 * @return number of pre-registration ids currently held in the pool
+	 */
+	public int size() {
+		return pridPool.size();
+	}
+
+	private void triggerRefill() {
+		if (refilling.compareAndSet(false, true)) {
+			activeRefills.set(refillThreads);
+			for (int i = 0; i < refillThreads; i++) {
+				refillExecutor.execute(this::refill);
+			}
+		}
+	}
+
+	private void refill() {
+		try {
+			while (reserveId()) {
+				try {
+					pridPool.offer(fetchId());
+				} finally {
+					reservedIds.decrementAndGet();
+				}
+			}
+		} catch (RuntimeException ex) {
+			log.error("sessionId", "idType", "id", ExceptionUtils.getStackTrace(ex));
+			log.error("sessionId", "idType", "id", "In refill method of PRID pool - " + ex.getMessage());
+		} finally {
+			if (activeRefills.decrementAndGet() == 0) {
+				refilling.set(false);
+			}
+		}
+	}
+
+	private boolean reserveId() {
+		while (true) {
+			int reserved = reservedIds.get();
+			if (pridPool.size() + reserved >= poolCapacity) {
+				return false;
+			}
+			if (reservedIds.compareAndSet(reserved, reserved + 1)) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * This method fetches a single pre-registration id from the kernel PRID
+	 * generator.
+	 *
+	 * @return pre-registration id
+	 */
+	public String fetchId() {
+		String prid = null;
+		try {
+			UriComponentsBuilder regbuilder = UriComponentsBuilder.fromHttpUrl(pridURl);
+			HttpHeaders headers = new HttpHeaders();
+			headers.setContentType(MediaType.APPLICATION_JSON_UTF8);
+			HttpEntity<?> entity = new HttpEntity<>(headers);
+			String uriBuilder = regbuilder.build().encode().toUriString();
+			log.info("sessionId", "idType", "id", "In fetchId method of PRID pool URL- " + uriBuilder);
+			ResponseEntity<ResponseWrapper<PridFetchResponseDto>> responseEntity = selfTokenrestTemplate.exchange(
+					uriBuilder, HttpMethod.GET, entity,
+					new ParameterizedTypeReference<ResponseWrapper<PridFetchResponseDto>>() {
+					});
+			if (responseEntity.getBody().getErrors() != null && !responseEntity.getBody().getErrors().isEmpty()) {
+				throw new RestCallException(responseEntity.getBody().getErrors().get(0).getErrorCode(),
+						responseEntity.getBody().getErrors().get(0).getMessage());
+			}
+			prid = responseEntity.getBody().getResponse().getPrid();
+			if (prid == null || prid.isEmpty()) {
+				throw new RestCallException(DemographicErrorCodes.PRG_PAM_APP_020.getCode(),
+						DemographicErrorMessages.PRID_RESTCALL_FAIL.getMessage());
+			}
+
+		} catch (RestClientException ex) {
+			log.error("sessionId", "idType", "id", ExceptionUtils.getStackTrace(ex));
+			log.error("sessionId", "idType", "id",
+					"In fetchId method of PRID pool for HttpClientErrorException- " + ex.getMessage());
+			throw new RestCallException(DemographicErrorCodes.PRG_PAM_APP_020.getCode(),
+					DemographicErrorMessages.PRID_RESTCALL_FAIL.getMessage());
+		}
+		return prid;
+	}
+}
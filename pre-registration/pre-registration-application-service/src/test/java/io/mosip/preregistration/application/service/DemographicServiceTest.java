@@ -21,6 +21,7 @@ import java.time.LocalTime;
 import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -58,6 +59,7 @@ import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -86,10 +88,11 @@ import io.mosip.kernel.core.util.DateUtils;
 import io.mosip.preregistration.application.dto.ApplicantValidDocumentDto;
 import io.mosip.preregistration.application.dto.ApplicationInfoMetadataDTO;
 import io.mosip.preregistration.application.dto.DeletePreRegistartionDTO;
+import io.mosip.preregistration.application.dto.DemographicDashboardFieldsDTO;
 import io.mosip.preregistration.application.dto.DemographicMetadataDTO;
 import io.mosip.preregistration.application.dto.DemographicRequestDTO;
 import io.mosip.preregistration.application.dto.DocumentCategoryAndTypeResponseDto;
-import io.mosip.preregistration.application.dto.IdSchemaDto;
+import io.mosip.preregistration.application.dto.IdSchemaSnapshotDto;
 import io.mosip.preregistration.application.errorcodes.DemographicErrorCodes;
 import io.mosip.preregistration.application.errorcodes.DemographicErrorMessages;
 import io.mosip.preregistration.application.exception.BookingDeletionFailedException;
@@ -99,6 +102,7 @@ import io.mosip.preregistration.application.exception.RecordNotFoundException;
 import io.mosip.preregistration.application.exception.RecordNotFoundForPreIdsException;
 import io.mosip.preregistration.application.repository.DemographicRepository;
 import io.mosip.preregistration.application.service.util.DemographicServiceUtil;
+import io.mosip.preregistration.application.service.util.IdSchemaCacheUtil;
 //import io.mosip.preregistration.booking.service.BookingServiceIntf;
 import io.mosip.preregistration.core.code.AuditLogVariables;
 import io.mosip.preregistration.core.code.StatusCodes;
@@ -318,6 +322,9 @@ public class DemographicServiceTest {
 	@Mock
 	private ObjectMapper objectMapper;
 
+	@Mock
+	private IdSchemaCacheUtil idSchemaCacheUtil;
+
 	/**
 	 * @throws ParseException
 	 * @throws FileNotFoundException
@@ -338,6 +345,9 @@ public class DemographicServiceTest {
 		ReflectionTestUtils.setField(preRegistrationService, "preregistrationIdJson",
 				"preregistration.config.identityjson");
 		ReflectionTestUtils.setField(preRegistrationService, "mosipDateTimeFormat", "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
+		ThreadPoolTaskExecutor applicationDetailsExecutor = new ThreadPoolTaskExecutor();
+		applicationDetailsExecutor.initialize();
+		ReflectionTestUtils.setField(preRegistrationService, "applicationDetailsExecutor", applicationDetailsExecutor);
 
 		preRegistrationEntity = new DemographicEntity();
 		ClassLoader classLoader = getClass().getClassLoader();
@@ -527,7 +537,7 @@ public class DemographicServiceTest {
 
 	@Test
 	public void callGetAppointmentDetailsRestServiceTest1()
-			throws ParseException, org.json.simple.parser.ParseException {
+			throws ParseException, org.json.simple.parser.ParseException, IOException {
 		byte[] encryptedDemographicDetails = jsonTestObject.toJSONString().getBytes();
 
 		Mockito.when(cryptoUtil.encrypt(Mockito.any(), Mockito.any())).thenReturn(encryptedDemographicDetails);
@@ -552,6 +562,13 @@ public class DemographicServiceTest {
 		Page<DemographicEntity> page = new PageImpl<>(userEntityDetails);
 		Mockito.when(cryptoUtil.decrypt(Mockito.any(), Mockito.any()))
 				.thenReturn(userEntityDetails.get(0).getApplicantDetailJson());
+		Mockito.when(cryptoUtil.decryptAll(Mockito.any(), Mockito.any()))
+				.thenReturn(Collections.singletonList(userEntityDetails.get(0).getApplicantDetailJson()));
+		Mockito.when(serviceUtil.getDashboardFields(Mockito.any(), Mockito.any(), Mockito.any()))
+				.thenReturn(new DemographicDashboardFieldsDTO());
+		ApplicationEntity applicationEntity = serviceUtil.findApplicationById("98746563542672");
+		Mockito.when(serviceUtil.findApplicationsByIds(Mockito.any()))
+				.thenReturn(Collections.singletonMap("98746563542672", applicationEntity));
 		Mockito.when(demographicRepository.findByCreatedBy(userId, "Consumed")).thenReturn(userEntityDetails);
 		Mockito.when(
 				demographicRepository.findByCreatedByOrderByCreateDateTime(Mockito.any(), Mockito.any(), Mockito.any()))
@@ -1016,11 +1033,8 @@ public class DemographicServiceTest {
 		Mockito.when((MainResponseDTO<DemographicUpdateResponseDTO>) serviceUtil.getMainResponseDto(request))
 				.thenReturn(mainResponseDTO);
 
-		IdSchemaDto idSchema = new IdSchemaDto();
-		Mockito.when(serviceUtil.getSchema()).thenReturn(idSchema);
-		idSchema.setId(userId);
-		idSchema.setSchemaJson(identityMappingJson);
-		idSchema.setIdVersion(1.0);
+		IdSchemaSnapshotDto idSchema = new IdSchemaSnapshotDto(1.0, identityMappingJson, new ArrayList<>(), null);
+		Mockito.when(idSchemaCacheUtil.getIdSchema()).thenReturn(idSchema);
 		MainResponseDTO<io.mosip.preregistration.application.dto.DemographicCreateResponseDTO> actualRes = preRegistrationService
 				.addPreRegistration(request);
 		assertNotNull(actualRes);
@@ -1040,11 +1054,8 @@ public class DemographicServiceTest {
 		request.setRequesttime(Date.from(Instant.now()));
 		request.setRequest(demographicRequest);
 
-		IdSchemaDto idSchema = new IdSchemaDto();
-		Mockito.when(serviceUtil.getSchema()).thenReturn(idSchema);
-		idSchema.setId(userId);
-		idSchema.setSchemaJson(identityMappingJson);
-		idSchema.setIdVersion(1.0);
+		IdSchemaSnapshotDto idSchema = new IdSchemaSnapshotDto(1.0, identityMappingJson, new ArrayList<>(), null);
+		Mockito.when(idSchemaCacheUtil.getIdSchema()).thenReturn(idSchema);
 		MainResponseDTO<io.mosip.preregistration.application.dto.DemographicCreateResponseDTO> actualRes = preRegistrationService
 				.addPreRegistration(request);
 		assertNull(actualRes);
@@ -1072,11 +1083,8 @@ public class DemographicServiceTest {
 		request.setRequesttime(Date.from(Instant.now()));
 		request.setRequest(demographicRequest);
 
-		IdSchemaDto idSchema = new IdSchemaDto();
-		Mockito.when(serviceUtil.getSchema()).thenReturn(idSchema);
-		idSchema.setId(userId);
-		idSchema.setSchemaJson(identityMappingJson);
-		idSchema.setIdVersion(1.0);
+		IdSchemaSnapshotDto idSchema = new IdSchemaSnapshotDto(1.0, identityMappingJson, new ArrayList<>(), null);
+		Mockito.when(idSchemaCacheUtil.getIdSchema()).thenReturn(idSchema);
 		DateTime time = DateTime.now();
 		String t = time.toString();
 		Mockito.when(serviceUtil.getCurrentResponseTime()).thenReturn(t);
@@ -26,6 +26,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -362,6 +363,47 @@ public class DocumentServiceTest {
 
 	}
 
+	@Test
+	public void createDocStreamingTest() throws Exception {
+		ReflectionTestUtils.setField(documentUploadService, "streamingUpload", true);
+		Mockito.when(serviceUtil.getPreRegInfoRestService(Mockito.any())).thenReturn(demographicResponseDTO);
+		Mockito.when(documnetDAO.findSingleDocument(Mockito.any(), Mockito.any())).thenReturn(documentEntity);
+		Mockito.when(validationutil.isStatusBookedOrExpired(documentEntity.getDemographicEntity().getStatusCode()))
+				.thenReturn(false);
+		Mockito.when(serviceUtil.dtoToEntity(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any()))
+				.thenReturn(documentEntity);
+		Mockito.when(cryptoUtil.encryptStream(Mockito.any(), Mockito.any())).thenReturn("ZW5jcnlwdGVk");
+		Mockito.when(documnetDAO.saveDocument(Mockito.any())).thenReturn(documentEntity);
+		Mockito.when(objectStore.putObject(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
+				Mockito.any())).thenReturn(true);
+
+		DocumentResponseDTO responseDto = documentUploadService.createDoc(document, multipartFile, preRegistrationId);
+
+		assertEquals("Doc.pdf", responseDto.getDocName());
+		assertEquals(HashUtill.hashUtill("ZW5jcnlwdGVk".getBytes()), documentEntity.getDocHash());
+		InOrder inOrder = Mockito.inOrder(documnetDAO, objectStore);
+		inOrder.verify(documnetDAO).saveDocument(documentEntity);
+		inOrder.verify(objectStore).putObject(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
+				Mockito.any(), Mockito.any());
+	}
+
+	@Test(expected = FSServerException.class)
+	public void createDocStreamingFSServerExceptionTest() throws Exception {
+		ReflectionTestUtils.setField(documentUploadService, "streamingUpload", true);
+		Mockito.when(serviceUtil.getPreRegInfoRestService(Mockito.any())).thenReturn(demographicResponseDTO);
+		Mockito.when(documnetDAO.findSingleDocument(Mockito.any(), Mockito.any())).thenReturn(documentEntity);
+		Mockito.when(validationutil.isStatusBookedOrExpired(documentEntity.getDemographicEntity().getStatusCode()))
+				.thenReturn(false);
+		Mockito.when(serviceUtil.dtoToEntity(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any()))
+				.thenReturn(documentEntity);
+		Mockito.when(cryptoUtil.encryptStream(Mockito.any(), Mockito.any())).thenReturn("ZW5jcnlwdGVk");
+		Mockito.when(documnetDAO.saveDocument(Mockito.any())).thenReturn(documentEntity);
+		Mockito.when(objectStore.putObject(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
+				Mockito.any())).thenReturn(false);
+
+		documentUploadService.createDoc(document, multipartFile, preRegistrationId);
+	}
+
 	@Test(expected = FSServerException.class)
 	public void copyFileFSServerExceptionTest() throws Exception {
 		DocumentEntity copyDocumentEntity = new DocumentEntity();
@@ -1,7 +1,12 @@
 package io.mosip.preregistration.application.test.service.util;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
 import java.io.File;
 import java.io.FileReader;
+import java.util.Arrays;
+import java.util.HashSet;
 
 import org.apache.commons.codec.binary.Base64;
 import org.json.simple.JSONObject;
@@ -18,11 +23,13 @@ import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.web.client.RestTemplate;
 
+import io.mosip.preregistration.application.dto.DemographicDashboardFieldsDTO;
 import io.mosip.preregistration.application.exception.OperationNotAllowedException;
 import io.mosip.preregistration.application.repository.ApplicationRepostiory;
 import io.mosip.preregistration.application.service.AppointmentService;
 import io.mosip.preregistration.application.service.UISpecService;
 import io.mosip.preregistration.application.service.util.DemographicServiceUtil;
+import io.mosip.preregistration.application.service.util.PridPoolUtil;
 import io.mosip.preregistration.core.code.StatusCodes;
 import io.mosip.preregistration.core.common.entity.DemographicEntity;
 import io.mosip.preregistration.core.util.AuditLogUtil;
@@ -78,6 +85,9 @@ public class DemographicServiceUtilTest {
 	@MockBean
 	private CryptoUtil cryptoUtil;
 
+	@MockBean
+	private PridPoolUtil pridPoolUtil;
+
 	/**
 	 * @throws Exception on Any Exception
 	 */
@@ -121,4 +131,18 @@ public class DemographicServiceUtilTest {
 		demographicServiceUtil.getDateFromString("abc");
 	}
 
+	@Test
+	public void getDashboardFieldsTest() throws Exception {
+		String demographicData = "{\"identity\":{\"IDSchemaVersion\":0.1,"
+				+ "\"fullName\":[{\"language\":\"eng\",\"value\":\"Test\"},{\"language\":\"ara\",\"value\":\"Test\"}],"
+				+ "\"dateOfBirth\":\"1990/01/01\",\"proofOfAddress\":{\"value\":\"doc\"}}}";
+		DemographicDashboardFieldsDTO dashboardFields = demographicServiceUtil.getDashboardFields(
+				demographicData.getBytes(), Arrays.asList("fullName", "firstName"), "dateOfBirth");
+		assertEquals(2, dashboardFields.getNames().get("fullName").size());
+		assertEquals("Test", ((JSONObject) dashboardFields.getNames().get("fullName").get(0)).get("value"));
+		assertNull(dashboardFields.getNames().get("firstName"));
+		assertEquals("1990/01/01", dashboardFields.getDobValue());
+		assertEquals(new HashSet<>(Arrays.asList("eng", "ara")), dashboardFields.getDataCaptureLanguage());
+	}
+
 }
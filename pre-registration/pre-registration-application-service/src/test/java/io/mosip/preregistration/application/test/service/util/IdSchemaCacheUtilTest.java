@@ -0,0 +1,84 @@
+package io.mosip.preregistration.application.test.service.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.mosip.preregistration.application.dto.IdSchemaDto;
+import io.mosip.preregistration.application.dto.IdSchemaSnapshotDto;
+import io.mosip.preregistration.application.service.util.DemographicServiceUtil;
+import io.mosip.preregistration.application.service.util.IdSchemaCacheUtil;
+
+@RunWith(JUnit4.class)
+public class IdSchemaCacheUtilTest {
+
+	private static final String SCHEMA_JSON = "{\"properties\":{\"identity\":{\"properties\":"
+			+ "{\"fullName\":{},\"dateOfBirth\":{}}}}}";
+
+	@InjectMocks
+	private IdSchemaCacheUtil idSchemaCacheUtil;
+
+	@Mock
+	private DemographicServiceUtil serviceUtil;
+
+	private IdSchemaDto idSchema;
+
+	@Before
+	public void setUp() {
+		MockitoAnnotations.initMocks(this);
+		ReflectionTestUtils.setField(idSchemaCacheUtil, "objectMapper", new ObjectMapper());
+		ReflectionTestUtils.setField(idSchemaCacheUtil, "refreshIntervalSeconds", 300L);
+		idSchemaCacheUtil.init();
+		idSchema = new IdSchemaDto();
+		idSchema.setIdVersion(0.1);
+		idSchema.setSchemaJson(SCHEMA_JSON);
+		Mockito.when(serviceUtil.getSchema()).thenReturn(idSchema);
+	}
+
+	@After
+	public void tearDown() {
+		idSchemaCacheUtil.destroy();
+	}
+
+	@Test
+	public void getIdSchemaCachedTest() {
+		IdSchemaSnapshotDto schema = idSchemaCacheUtil.getIdSchema();
+		assertEquals(Arrays.asList("fullName", "dateOfBirth"), schema.getIdentityKeys());
+		assertSame(schema, idSchemaCacheUtil.getIdSchema());
+		Mockito.verify(serviceUtil, Mockito.times(1)).getSchema();
+	}
+
+	@Test
+	public void refreshSameVersionTest() {
+		IdSchemaSnapshotDto schema = idSchemaCacheUtil.getIdSchema();
+		assertSame(schema, idSchemaCacheUtil.refresh());
+	}
+
+	@Test
+	public void refreshNewVersionTest() {
+		IdSchemaSnapshotDto schema = idSchemaCacheUtil.getIdSchema();
+		IdSchemaDto newSchema = new IdSchemaDto();
+		newSchema.setIdVersion(0.2);
+		newSchema.setSchemaJson(SCHEMA_JSON);
+		Mockito.when(serviceUtil.getSchema()).thenReturn(newSchema);
+		IdSchemaSnapshotDto refreshed = idSchemaCacheUtil.refresh();
+		assertNotSame(schema, refreshed);
+		assertEquals(0.2, refreshed.getIdVersion(), 0);
+		assertSame(refreshed, idSchemaCacheUtil.getIdSchema());
+	}
+}
@@ -0,0 +1,102 @@
+package io.mosip.preregistration.application.test.service.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import io.mosip.kernel.core.http.ResponseWrapper;
+import io.mosip.preregistration.application.dto.PridFetchResponseDto;
+import io.mosip.preregistration.application.service.util.PridPoolUtil;
+
+@RunWith(JUnit4.class)
+public class PridPoolUtilTest {
+
+	@InjectMocks
+	private PridPoolUtil pridPoolUtil;
+
+	@Mock
+	private RestTemplate selfTokenrestTemplate;
+
+	@Before
+	public void setUp() {
+		MockitoAnnotations.initMocks(this);
+		ReflectionTestUtils.setField(pridPoolUtil, "pridURl", "http://localhost/v1/pridgenerator/prid");
+		ReflectionTestUtils.setField(pridPoolUtil, "poolEnabled", true);
+		ReflectionTestUtils.setField(pridPoolUtil, "poolCapacity", 5);
+		ReflectionTestUtils.setField(pridPoolUtil, "lowWaterMark", 2);
+		ReflectionTestUtils.setField(pridPoolUtil, "refillThreads", 2);
+		pridPoolUtil.init();
+
+		PridFetchResponseDto pridFetchResponseDto = new PridFetchResponseDto();
+		pridFetchResponseDto.setPrid("12345678901234");
+		ResponseWrapper<PridFetchResponseDto> response = new ResponseWrapper<>();
+		response.setResponse(pridFetchResponseDto);
+		Mockito.when(selfTokenrestTemplate.exchange(Mockito.anyString(), Mockito.eq(HttpMethod.GET),
+				Mockito.<HttpEntity<?>>any(),
+				Mockito.<ParameterizedTypeReference<ResponseWrapper<PridFetchResponseDto>>>any()))
+				.thenReturn(new ResponseEntity<>(response, HttpStatus.OK));
+	}
+
+	@After
+	public void tearDown() {
+		pridPoolUtil.destroy();
+	}
+
+	@Test
+	public void nextIdFromEmptyPoolTest() throws InterruptedException {
+		assertEquals("12345678901234", pridPoolUtil.nextId());
+		awaitRefill();
+		assertEquals(5, pridPoolUtil.size());
+	}
+
+	@Test
+	public void refillFetchesOnlyFreeCapacityTest() throws InterruptedException {
+		pridPoolUtil.destroy();
+		ReflectionTestUtils.setField(pridPoolUtil, "refillThreads", 4);
+		pridPoolUtil.init();
+		assertEquals("12345678901234", pridPoolUtil.nextId());
+		awaitRefill();
+		assertEquals(5, pridPoolUtil.size());
+		// one synchronous fetch and exactly the capacity of the pool
+		Mockito.verify(selfTokenrestTemplate, Mockito.times(6)).exchange(Mockito.anyString(),
+				Mockito.eq(HttpMethod.GET), Mockito.<HttpEntity<?>>any(),
+				Mockito.<ParameterizedTypeReference<ResponseWrapper<PridFetchResponseDto>>>any());
+	}
+
+	@Test
+	public void nextIdPoolDisabledTest() {
+		ReflectionTestUtils.setField(pridPoolUtil, "poolEnabled", false);
+		assertEquals("12345678901234", pridPoolUtil.nextId());
+		assertEquals(0, pridPoolUtil.size());
+	}
+
+	/**
+	 * Waits for the refill tasks submitted by {@link PridPoolUtil#nextId()} to
+	 * finish, the executor running the tasks already queued on shutdown.
+	 */
+	private void awaitRefill() throws InterruptedException {
+		ExecutorService refillExecutor = (ExecutorService) ReflectionTestUtils.getField(pridPoolUtil,
+				"refillExecutor");
+		refillExecutor.shutdown();
+		assertTrue(refillExecutor.awaitTermination(10, TimeUnit.SECONDS));
+	}
+}
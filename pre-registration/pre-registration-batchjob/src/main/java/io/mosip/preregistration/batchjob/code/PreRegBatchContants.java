@@ -59,4 +59,24 @@ public class PreRegBatchContants {
 	public static final String ORDER_BY = "&orderBy=asc";
 
 	public static final String DATA = "data";
+
+	public static final String DYNAMIC_PARTITION_MODE = "dynamic";
+
+	public static final String REG_CENTER_TIMINGS = "regCenterTimings";
+
+	public static final String PROCESSED_REG_CENTER_IDS = "processedRegCenterIds";
+
+	public static final String SLOT_GENERATION_FAILED = "slotGenerationFailed";
+
+	public static final String REG_CENTER_PARTITIONER_JOB = "regCenterPartitionerJob";
+
+	public static final String CANCELLATION_PENDING = "PENDING";
+
+	public static final String CANCELLATION_CANCELLED = "CANCELLED";
+
+	public static final String CANCELLATION_NOTIFIED = "NOTIFIED";
+
+	public static final String CANCELLATION_SKIPPED = "SKIPPED";
+
+	public static final String CANCELLATION_FAILED = "FAILED";
 }
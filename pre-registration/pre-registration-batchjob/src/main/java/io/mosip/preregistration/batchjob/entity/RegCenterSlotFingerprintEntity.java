@@ -0,0 +1,74 @@
+/* 
+ * Copyright
+ * 
+ */
+package io.mosip.preregistration.batchjob.entity;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * The persistent class for the reg_center_slot_fingerprint database table,
+ * the registration center configuration the slots were last generated from.
+ * 
+ * @since 1.2.0
+ */
+@Entity
+@Table(name = "reg_center_slot_fingerprint", schema = "prereg")
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString
+public class RegCenterSlotFingerprintEntity implements Serializable {
+
+	/** The Constant serialVersionUID. */
+	private static final long serialVersionUID = 2466214582736407581L;
+
+	/** Registration center Id. */
+	@Id
+	@Column(name = "regcntr_id")
+	private String regcntrId;
+
+	/** Working hours, lunch hours, process time and kiosks. */
+	@Column(name = "config_fingerprint")
+	private String configFingerprint;
+
+	/** Comma separated holidays within the synced window. */
+	@Column(name = "holiday_dates")
+	private String holidayDates;
+
+	/** First day of the synced window. */
+	@Column(name = "sync_from_date")
+	private LocalDate syncFromDate;
+
+	/** Day after the last day of the synced window. */
+	@Column(name = "sync_to_date")
+	private LocalDate syncToDate;
+
+	/** Created by. */
+	@Column(name = "cr_by")
+	private String crBy;
+
+	/** Created date time. */
+	@Column(name = "cr_dtimes")
+	private LocalDateTime crDate;
+
+	/** Updated by. */
+	@Column(name = "upd_by")
+	private String upBy;
+
+	/** Updated date time. */
+	@Column(name = "upd_dtimes")
+	private LocalDateTime updDate;
+}
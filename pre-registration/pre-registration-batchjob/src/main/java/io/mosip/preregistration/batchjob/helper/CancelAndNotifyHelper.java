@@ -1,24 +1,56 @@
 package io.mosip.preregistration.batchjob.helper;
 
-import java.util.Map;
+import java.time.LocalDateTime;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.mosip.kernel.core.exception.ExceptionUtils;
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.preregistration.batchjob.code.PreRegBatchContants;
+import io.mosip.preregistration.batchjob.model.AppointmentCancellationDto;
+import io.mosip.preregistration.batchjob.repository.utils.AppointmentCancellationStore;
 import io.mosip.preregistration.batchjob.repository.utils.BatchJpaRepositoryImpl;
 import io.mosip.preregistration.core.common.entity.ApplicationEntity;
 import io.mosip.preregistration.core.common.entity.RegistrationBookingEntity;
+import io.mosip.preregistration.core.config.LoggerConfiguration;
 
 /**
+ * Cancels the bookings of removed slots and notifies the applicants in the
+ * background. A cancellation is first recorded in reg_appointment_cancellation
+ * and then handed to a bounded pool whose calls to the booking and
+ * notification services are rate limited. Within a transaction the hand off
+ * waits for its commit, so the pool only works on committed rows and no
+ * booking is cancelled for slot changes that are rolled back. Failed cancellations and those that
+ * did not fit in the pool are retried by a sweeper from the table.
+ *
  * @author Mahammed Taheer
  * @since 1.2.0
  *
  */
 @Component
 public class CancelAndNotifyHelper {
-    
-    /** 
+
+	private Logger LOGGER = LoggerConfiguration.logConfig(CancelAndNotifyHelper.class);
+
+    /**
 	 * Autowired reference for {@link #batchServiceDAO}
 	 */
 	@Autowired
@@ -27,19 +59,223 @@ public class CancelAndNotifyHelper {
     @Autowired
 	private RestHelper restHelper;
 
-    public void cancelAndNotifyApplicant(RegistrationBookingEntity bookedSlot, String logIdentifier, Map<String, Boolean> cancelledTracker,
-						Map<String, Boolean> notifierTracker) {
-
-		String preRegId = bookedSlot.getPreregistrationId();
-		ApplicationEntity bookedApplication  = batchServiceDAO.getBookedApplicantEntityDetails(preRegId);
-		if (Objects.nonNull(bookedApplication)) {
-			boolean cancelled = restHelper.cancelBookedApplication(preRegId, logIdentifier);
-			if (cancelled) {
-				boolean notified = restHelper.sendCancelledNotification(bookedSlot.getPreregistrationId(), bookedSlot.getRegDate().toString(), 
-							bookedSlot.getSlotFromTime().toString(), bookedSlot.getLangCode(), logIdentifier);
-				notifierTracker.put(bookedSlot.getPreregistrationId(), notified);
+	@Autowired
+	private AppointmentCancellationStore cancellationStore;
+
+	@Autowired(required = false)
+	private MeterRegistry meterRegistry;
+
+	@Value("${mosip.batch.token.authmanager.appId}")
+	private String batchUserId;
+
+	@Value("${preregistration.cancel-notify.thread.count:4}")
+	private int threadCount;
+
+	@Value("${preregistration.cancel-notify.queue.capacity:1000}")
+	private int queueCapacity;
+
+	@Value("${preregistration.cancel-notify.rate-per-second:20}")
+	private int ratePerSecond;
+
+	@Value("${preregistration.cancel-notify.retry.max-attempts:5}")
+	private int retryMaxAttempts;
+
+	@Value("${preregistration.cancel-notify.retry.backoff-ms:60000}")
+	private long retryBackoffMs;
+
+	@Value("${preregistration.cancel-notify.sweep-interval-ms:60000}")
+	private long sweepIntervalMs;
+
+	private ThreadPoolExecutor cancelNotifyExecutor;
+
+	private ScheduledExecutorService cancellationSweeper;
+
+	private RateLimiter rateLimiter;
+
+	/**
+	 * Cancellations queued or running, so the sweeper does not hand them out a
+	 * second time.
+	 */
+	private final Set<String> inFlightCancellations = ConcurrentHashMap.newKeySet();
+
+	@PostConstruct
+	public void init() {
+		rateLimiter = new RateLimiter(ratePerSecond);
+		AtomicInteger threadNo = new AtomicInteger();
+		cancelNotifyExecutor = new ThreadPoolExecutor(threadCount, threadCount, 0L, TimeUnit.MILLISECONDS,
+				new LinkedBlockingQueue<>(queueCapacity), runnable -> {
+					Thread thread = new Thread(runnable, "cancel-notify-" + threadNo.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+		cancellationSweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "cancel-notify-sweeper");
+			thread.setDaemon(true);
+			return thread;
+		});
+		cancellationSweeper.scheduleWithFixedDelay(this::sweep, sweepIntervalMs, sweepIntervalMs, TimeUnit.MILLISECONDS);
+	}
+
+	@PreDestroy
+	public void destroy() {
+		cancellationSweeper.shutdownNow();
+		cancelNotifyExecutor.shutdownNow();
+	}
+
+	/**
+	 * Records the cancellation of the booking and queues it, without waiting for
+	 * the booking and notification services. When called within a transaction
+	 * the cancellation is queued once the transaction commits. A booking whose
+	 * cancellation for the same slot is still in progress is ignored.
+	 *
+	 * @param bookedSlot
+	 * @param logIdentifier
+	 */
+    public void cancelAndNotifyApplicant(RegistrationBookingEntity bookedSlot, String logIdentifier) {
+		AppointmentCancellationDto cancellation = cancellationStore.add(bookedSlot, batchUserId);
+		if (Objects.isNull(cancellation)) {
+			LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, logIdentifier,
+						"Cancellation already recorded for Pre Reg Id: " + bookedSlot.getPreregistrationId());
+			return;
+		}
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			submit(cancellation, logIdentifier);
+			return;
+		}
+		// on a rollback the row is gone, and nothing is queued.
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+			@Override
+			public void afterCommit() {
+				submit(cancellation, logIdentifier);
+			}
+		});
+	}
+
+	private void submit(AppointmentCancellationDto cancellation, String logIdentifier) {
+		String cancellationKey = cancellation.getCancellationKey();
+		if (!inFlightCancellations.add(cancellationKey)) {
+			return;
+		}
+		try {
+			cancelNotifyExecutor.execute(() -> process(cancellation, logIdentifier));
+		} catch (RejectedExecutionException exp) {
+			// stays pending in the table, the sweeper picks it up later.
+			inFlightCancellations.remove(cancellationKey);
+			LOGGER.warn(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, logIdentifier,
+						"Cancel & notify queue full, deferred Pre Reg Id: " + cancellation.getPreRegistrationId());
+		}
+	}
+
+	private void sweep() {
+		try {
+			int capacity = cancelNotifyExecutor.getQueue().remainingCapacity();
+			if (capacity == 0) {
+				return;
+			}
+			cancellationStore.findDue(capacity).forEach(cancellation -> submit(cancellation, PreRegBatchContants.EMPTY));
+		} catch (Exception exp) {
+			LOGGER.error(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY,
+						"Error in sweeping pending cancellations: " + ExceptionUtils.getStackTrace(exp));
+		}
+	}
+
+	private void process(AppointmentCancellationDto cancellation, String logIdentifier) {
+		String preRegId = cancellation.getPreRegistrationId();
+		try {
+			if (PreRegBatchContants.CANCELLATION_PENDING.equals(cancellation.getStatusCode())) {
+				ApplicationEntity bookedApplication = batchServiceDAO.getBookedApplicantEntityDetails(preRegId);
+				if (!isBookedOn(bookedApplication, cancellation)) {
+					// no longer booked, or booked again on another slot since
+					complete(cancellation, PreRegBatchContants.CANCELLATION_SKIPPED);
+					return;
+				}
+				rateLimiter.acquire();
+				if (!restHelper.cancelBookedApplication(preRegId, logIdentifier)) {
+					fail(cancellation, logIdentifier);
+					return;
+				}
+				complete(cancellation, PreRegBatchContants.CANCELLATION_CANCELLED);
+			}
+			rateLimiter.acquire();
+			if (!restHelper.sendCancelledNotification(preRegId, cancellation.getAppointmentDate().toString(),
+						cancellation.getSlotFromTime().toString(), cancellation.getLangCode(), logIdentifier)) {
+				fail(cancellation, logIdentifier);
+				return;
+			}
+			complete(cancellation, PreRegBatchContants.CANCELLATION_NOTIFIED);
+		} catch (InterruptedException exp) {
+			Thread.currentThread().interrupt();
+		} catch (Exception exp) {
+			LOGGER.error(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, logIdentifier,
+						"Error in cancel & notify for Pre Reg Id: " + preRegId + ", " + ExceptionUtils.getStackTrace(exp));
+			fail(cancellation, logIdentifier);
+		} finally {
+			inFlightCancellations.remove(cancellation.getCancellationKey());
+		}
+	}
+
+	private boolean isBookedOn(ApplicationEntity bookedApplication, AppointmentCancellationDto cancellation) {
+		return Objects.nonNull(bookedApplication)
+				&& Objects.equals(bookedApplication.getRegistrationCenterId(), cancellation.getRegistrationCenterId())
+				&& Objects.equals(bookedApplication.getAppointmentDate(), cancellation.getAppointmentDate())
+				&& Objects.equals(bookedApplication.getSlotFromTime(), cancellation.getSlotFromTime());
+	}
+
+	private void complete(AppointmentCancellationDto cancellation, String statusCode) {
+		cancellation.setStatusCode(statusCode);
+		cancellationStore.update(cancellation, LocalDateTime.now(), batchUserId);
+		count(statusCode);
+	}
+
+	private void fail(AppointmentCancellationDto cancellation, String logIdentifier) {
+		try {
+			int attemptCount = cancellation.getAttemptCount() + 1;
+			cancellation.setAttemptCount(attemptCount);
+			if (attemptCount >= retryMaxAttempts) {
+				cancellation.setStatusCode(PreRegBatchContants.CANCELLATION_FAILED);
+				count(PreRegBatchContants.CANCELLATION_FAILED);
+			}
+			long backoffMs = retryBackoffMs << Math.min(attemptCount - 1, 10);
+			cancellationStore.update(cancellation, LocalDateTime.now().plusNanos(backoffMs * 1_000_000L), batchUserId);
+			LOGGER.warn(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, logIdentifier,
+						"Cancel & notify failed for Pre Reg Id: " + cancellation.getPreRegistrationId() +
+						", attempt: " + attemptCount + ", status: " + cancellation.getStatusCode());
+		} catch (Exception exp) {
+			LOGGER.error(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, logIdentifier,
+						"Error in recording failed cancellation: " + ExceptionUtils.getStackTrace(exp));
+		}
+	}
+
+	private void count(String statusCode) {
+		if (meterRegistry != null) {
+			meterRegistry.counter("preregistration.appointment.cancellation", "status", statusCode).increment();
+		}
+	}
+
+	/**
+	 * Spaces the calls of all the pool threads evenly to the configured rate.
+	 */
+	private static final class RateLimiter {
+
+		private final long intervalNanos;
+
+		private long nextPermitNanos = System.nanoTime();
+
+		private RateLimiter(int permitsPerSecond) {
+			this.intervalNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, permitsPerSecond);
+		}
+
+		private void acquire() throws InterruptedException {
+			long waitNanos;
+			synchronized (this) {
+				long now = System.nanoTime();
+				long permitNanos = Math.max(now, nextPermitNanos);
+				nextPermitNanos = permitNanos + intervalNanos;
+				waitNanos = permitNanos - now;
+			}
+			if (waitNanos > 0) {
+				TimeUnit.NANOSECONDS.sleep(waitNanos);
 			}
-			cancelledTracker.put(bookedSlot.getPreregistrationId(), cancelled);
 		}
 	}
 }
@@ -0,0 +1,126 @@
+package io.mosip.preregistration.batchjob.helper;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.preregistration.batchjob.code.PreRegBatchContants;
+import io.mosip.preregistration.batchjob.model.HolidayCalendar;
+import io.mosip.preregistration.batchjob.model.RegistrationCenterDto;
+import io.mosip.preregistration.core.config.LoggerConfiguration;
+
+/**
+ * Builds the holiday calendars of registration centers for a slot generation
+ * run. General holidays depend only on the holiday location of a center, so
+ * they are fetched once per holiday location and year and shared by all
+ * partitions of the run. Exceptional holidays and working days are fetched
+ * per center, concurrently.
+ * 
+ * @since 1.2.0
+ *
+ */
+@Component
+public class HolidayCalendarCache {
+
+	private Logger LOGGER = LoggerConfiguration.logConfig(HolidayCalendarCache.class);
+
+	@Value("${preregistration.slots.calendar.thread.count:10}")
+	private int calendarThreadCount;
+
+	@Autowired
+	private RestHelper restHelper;
+
+	private final Map<String, CompletableFuture<List<String>>> generalHolidays = new ConcurrentHashMap<>();
+
+	private ExecutorService calendarExecutor;
+
+	@PostConstruct
+	public void init() {
+		calendarExecutor = Executors.newFixedThreadPool(calendarThreadCount, runnable -> {
+			Thread thread = new Thread(runnable, "holiday-calendar");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	@PreDestroy
+	public void destroy() {
+		calendarExecutor.shutdownNow();
+	}
+
+	/**
+	 * Drops the general holidays cached by the previous run.
+	 */
+	public void clear() {
+		generalHolidays.clear();
+	}
+
+	/**
+	 * Fetches the holiday calendars of the given registration centers.
+	 * 
+	 * @param regCenters     registration centers
+	 * @param startDate      first day of the sync window
+	 * @param noOfDaysToSync number of days in the sync window
+	 * @return holiday calendar by registration center id
+	 */
+	public Map<String, HolidayCalendar> getHolidayCalendars(List<RegistrationCenterDto> regCenters, LocalDate startDate,
+			int noOfDaysToSync) {
+		Map<String, CompletableFuture<HolidayCalendar>> futures = new HashMap<>();
+		for (RegistrationCenterDto regCenter : regCenters) {
+			futures.put(regCenter.getId(), fetchHolidayCalendar(regCenter, startDate, noOfDaysToSync));
+		}
+		Map<String, HolidayCalendar> calendars = new HashMap<>();
+		futures.forEach((regCenterId, future) -> calendars.put(regCenterId, future.join()));
+		LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY,
+				"Holiday calendars fetched for " + calendars.size() + " registration centers, general holiday lists cached: "
+						+ generalHolidays.size());
+		return calendars;
+	}
+
+	private CompletableFuture<HolidayCalendar> fetchHolidayCalendar(RegistrationCenterDto regCenter, LocalDate startDate,
+			int noOfDaysToSync) {
+		String regCenterId = regCenter.getId();
+		CompletableFuture<List<String>> general = getGeneralHolidays(regCenter, startDate);
+		CompletableFuture<List<String>> exceptional = CompletableFuture
+				.supplyAsync(() -> restHelper.getExceptionalHolidayList(regCenterId), calendarExecutor);
+		CompletableFuture<List<String>> weekOff = CompletableFuture.supplyAsync(
+				() -> restHelper.getWeekOffHolidayList(regCenterId, regCenter.getLangCode(), noOfDaysToSync),
+				calendarExecutor);
+		return CompletableFuture.allOf(general, exceptional, weekOff).thenApply(done -> {
+			HolidayCalendar calendar = new HolidayCalendar(startDate, noOfDaysToSync);
+			calendar.addAll(general.join());
+			calendar.addAll(exceptional.join());
+			calendar.addAll(weekOff.join());
+			return calendar;
+		});
+	}
+
+	private CompletableFuture<List<String>> getGeneralHolidays(RegistrationCenterDto regCenter, LocalDate startDate) {
+		String holidayLocation = Objects.isNull(regCenter.getHolidayLocationCode()) ? regCenter.getId()
+				: regCenter.getHolidayLocationCode();
+		String cacheKey = holidayLocation + "_" + startDate.getYear();
+		CompletableFuture<List<String>> future = generalHolidays.computeIfAbsent(cacheKey, key -> CompletableFuture
+				.supplyAsync(() -> restHelper.getGeneralHolidayList(regCenter.getId()), calendarExecutor));
+		// an empty list may be a failed fetch, let the next center of the location try again.
+		future.thenAccept(holidays -> {
+			if (holidays.isEmpty()) {
+				generalHolidays.remove(cacheKey, future);
+			}
+		});
+		return future;
+	}
+}
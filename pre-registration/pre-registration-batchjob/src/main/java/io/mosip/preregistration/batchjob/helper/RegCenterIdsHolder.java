@@ -1,54 +1,40 @@
 package io.mosip.preregistration.batchjob.helper;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Objects;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import io.mosip.kernel.core.logger.spi.Logger;
 import io.mosip.preregistration.batchjob.code.PreRegBatchContants;
 import io.mosip.preregistration.core.config.LoggerConfiguration;
 
+/**
+ * Registration center ids processed by one run of the slot generation job.
+ * An instance is job scoped, see
+ * {@link io.mosip.preregistration.batchjob.job.PreRegistrationBatchJobConfig#regCenterIdsHolder()},
+ * and is shared by all the partitions of the run.
+ */
 public class RegCenterIdsHolder {
     
     private Logger LOGGER = LoggerConfiguration.logConfig(RegCenterIdsHolder.class);
 
-    private static RegCenterIdsHolder holderObj = null;
+    private final Set<String> regCenterIds = ConcurrentHashMap.newKeySet();
 
-    private static List<String> regCentersIdsList;
-    
-    private RegCenterIdsHolder() {
-        regCentersIdsList = new ArrayList<>();
+    public boolean addRegCenterId(String regCenterId) {
+        return regCenterIds.add(regCenterId);
     }
 
-    public static RegCenterIdsHolder getInstance(){
-        synchronized(RegCenterIdsHolder.class){
-            if (Objects.isNull(holderObj)){
-                holderObj = new RegCenterIdsHolder();
-            }
-        }
-        return holderObj;
+    public boolean containsRegCenterId(String regCenterId) {
+        return regCenterIds.contains(regCenterId);
     }
 
-    public void addRegCenterId(String regCenterId) {
-        synchronized(regCentersIdsList) {
-            if (!regCentersIdsList.contains(regCenterId))
-                regCentersIdsList.add(regCenterId);
-        }
-    }
-
-    public boolean containsRegCenterId(String regCenterId) {
-        return regCentersIdsList.contains(regCenterId);
+    public Set<String> getRegCenterIds() {
+        return Collections.unmodifiableSet(regCenterIds);
     }
 
     public void printAllRegCenterIds() {
         LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY,
-            "list of unique reg centers Ids: " + regCentersIdsList);
-    }
-
-    public void deleteAllRegCenterIds() {
-        synchronized(regCentersIdsList) {
-            regCentersIdsList.clear();
-        }
+            "Number of unique reg centers Ids: " + regCenterIds.size());
     }
 
 }
@@ -183,12 +183,10 @@ public class RestHelper {
                 
                 for (RegistrationCenterDto regCenterDetail : regCenterDetails) {
                     String regCenterId = regCenterDetail.getId();
-                    if (Objects.nonNull(idsHolder) && !idsHolder.containsRegCenterId(regCenterId)){
+                    if (Objects.nonNull(idsHolder)){
                         idsHolder.addRegCenterId(regCenterId);
-                        filteredRegCentersList.add(regCenterDetail);
-                    } else {
-                        filteredRegCentersList.add(regCenterDetail);
                     }
+                    filteredRegCentersList.add(regCenterDetail);
                 }
             }
             return filteredRegCentersList;
@@ -200,16 +198,26 @@ public class RestHelper {
         return new ArrayList<RegistrationCenterDto>();
     }
 
-    public List<String> getRegistrationHolidayList(String regCenterId, String regCenterLangCode, int noOfDaysToSync) {
-
-        LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY, 
-                    "Fetching the Registration Center Holidays list from Master Data Service.");
+    /**
+     * General holidays of the current year for the holiday location of the registration center.
+     */
+    public List<String> getGeneralHolidayList(String regCenterId) {
         List<String> holidaysList = new ArrayList<>();
-        
         addGeneralHolidaysList(regCenterId, holidaysList);
-        
+        return holidaysList;
+    }
+
+    public List<String> getExceptionalHolidayList(String regCenterId) {
+        List<String> holidaysList = new ArrayList<>();
         addExceptionalHolidaysList(regCenterId, holidaysList);
+        return holidaysList;
+    }
 
+    /**
+     * Days within the sync window that are not working days of the registration center.
+     */
+    public List<String> getWeekOffHolidayList(String regCenterId, String regCenterLangCode, int noOfDaysToSync) {
+        List<String> holidaysList = new ArrayList<>();
         addWeekOffHolidays(regCenterId, regCenterLangCode, noOfDaysToSync, holidaysList);
         return holidaysList;
     }
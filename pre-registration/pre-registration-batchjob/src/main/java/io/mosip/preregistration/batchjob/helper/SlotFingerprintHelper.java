@@ -0,0 +1,133 @@
+package io.mosip.preregistration.batchjob.helper;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.mosip.kernel.core.util.DateUtils;
+import io.mosip.preregistration.batchjob.entity.RegCenterSlotFingerprintEntity;
+import io.mosip.preregistration.batchjob.model.HolidayCalendar;
+import io.mosip.preregistration.batchjob.model.RegistrationCenterDto;
+import io.mosip.preregistration.batchjob.repository.utils.BatchJpaRepositoryImpl;
+
+/**
+ * Keeps per registration center the configuration its slots were last
+ * generated from, so that a run only regenerates the days affected by a
+ * change: every day when the working hours, lunch hours, process time or
+ * kiosks changed, otherwise the days whose holiday status changed and the days
+ * newly entering the sync window.
+ * 
+ * @since 1.2.0
+ *
+ */
+@Component
+public class SlotFingerprintHelper {
+
+	private static final String SEPARATOR = "|";
+
+	private static final String DATE_SEPARATOR = ",";
+
+	@Value("${preregistration.slots.incremental.enabled:true}")
+	private boolean incrementalEnabled;
+
+	@Value("${mosip.batch.token.authmanager.userName}")
+	private String auditUsername;
+
+	@Autowired
+	private BatchJpaRepositoryImpl batchServiceDAO;
+
+	/**
+	 * @param regCenterIds
+	 * @return stored fingerprints by registration center id
+	 */
+	public Map<String, RegCenterSlotFingerprintEntity> findFingerprints(List<String> regCenterIds) {
+		if (regCenterIds.isEmpty()) {
+			return new HashMap<>();
+		}
+		return batchServiceDAO.findSlotFingerprints(regCenterIds).stream()
+				.collect(Collectors.toMap(RegCenterSlotFingerprintEntity::getRegcntrId, Function.identity()));
+	}
+
+	/**
+	 * Finds the days of the sync window whose slots have to be regenerated.
+	 * 
+	 * @param regCenter   registration center details
+	 * @param holidays    holiday calendar of the registration center
+	 * @param fromDate    first day of the sync window
+	 * @param toDate      day after the last day of the sync window
+	 * @param fingerprint stored fingerprint, null if none
+	 * @return days to regenerate, or null to regenerate the whole window
+	 */
+	public Set<LocalDate> findChangedDays(RegistrationCenterDto regCenter, HolidayCalendar holidays,
+			LocalDate fromDate, LocalDate toDate, RegCenterSlotFingerprintEntity fingerprint) {
+		if (!incrementalEnabled || Objects.isNull(fingerprint)
+				|| !configFingerprint(regCenter).equals(fingerprint.getConfigFingerprint())) {
+			return null;
+		}
+		Set<LocalDate> previousHolidays = parseHolidayDates(fingerprint.getHolidayDates());
+		return fromDate.datesUntil(toDate, Period.ofDays(1))
+				.filter(date -> date.isBefore(fingerprint.getSyncFromDate())
+						|| !date.isBefore(fingerprint.getSyncToDate())
+						|| previousHolidays.contains(date) != holidays.isHoliday(date))
+				.collect(Collectors.toSet());
+	}
+
+	/**
+	 * Builds the fingerprint of the configuration the slots of the sync window
+	 * are generated from, to be stored along with the slots.
+	 * 
+	 * @param regCenter   registration center details
+	 * @param holidays    holiday calendar of the registration center
+	 * @param fromDate    first day of the sync window
+	 * @param toDate      day after the last day of the sync window
+	 * @param fingerprint stored fingerprint to update, null if none
+	 * @return fingerprint entity to store
+	 */
+	public RegCenterSlotFingerprintEntity prepareFingerprint(RegistrationCenterDto regCenter, HolidayCalendar holidays, LocalDate fromDate,
+			LocalDate toDate, RegCenterSlotFingerprintEntity fingerprint) {
+		LocalDateTime now = DateUtils.parseDateToLocalDateTime(new Date());
+		RegCenterSlotFingerprintEntity entity = fingerprint;
+		if (Objects.isNull(entity)) {
+			entity = new RegCenterSlotFingerprintEntity();
+			entity.setRegcntrId(regCenter.getId());
+			entity.setCrBy(auditUsername);
+			entity.setCrDate(now);
+		} else {
+			entity.setUpBy(auditUsername);
+			entity.setUpdDate(now);
+		}
+		entity.setConfigFingerprint(configFingerprint(regCenter));
+		entity.setHolidayDates(holidays.getHolidayDates().stream().map(LocalDate::toString)
+				.collect(Collectors.joining(DATE_SEPARATOR)));
+		entity.setSyncFromDate(fromDate);
+		entity.setSyncToDate(toDate);
+		return entity;
+	}
+
+	private String configFingerprint(RegistrationCenterDto regCenter) {
+		return String.join(SEPARATOR, String.valueOf(regCenter.getCenterStartTime()),
+				String.valueOf(regCenter.getCenterEndTime()), String.valueOf(regCenter.getLunchStartTime()),
+				String.valueOf(regCenter.getLunchEndTime()), String.valueOf(regCenter.getPerKioskProcessTime()),
+				String.valueOf(regCenter.getNumberOfKiosks()));
+	}
+
+	private Set<LocalDate> parseHolidayDates(String holidayDates) {
+		if (Objects.isNull(holidayDates) || holidayDates.isEmpty()) {
+			return Set.of();
+		}
+		return Arrays.stream(holidayDates.split(DATE_SEPARATOR)).map(LocalDate::parse).collect(Collectors.toSet());
+	}
+}
@@ -0,0 +1,50 @@
+package io.mosip.preregistration.batchjob.helper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.springframework.stereotype.Component;
+
+import io.mosip.preregistration.batchjob.model.RegistrationCenterDto;
+
+/**
+ * Registration centers waiting for slot generation in the dynamic partition
+ * mode. Partitions claim small batches from this queue until it is empty.
+ * 
+ * @since 1.2.0
+ *
+ */
+@Component
+public class SlotGenerationQueue {
+
+	private final ConcurrentLinkedQueue<RegistrationCenterDto> regCenters = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * Replaces the queued registration centers with those of a new run.
+	 * 
+	 * @param regCentersList
+	 */
+	public void load(List<RegistrationCenterDto> regCentersList) {
+		regCenters.clear();
+		regCenters.addAll(regCentersList);
+	}
+
+	/**
+	 * @param maxSize
+	 * @return up to maxSize registration centers, empty once the queue is
+	 *         drained
+	 */
+	public List<RegistrationCenterDto> claim(int maxSize) {
+		List<RegistrationCenterDto> claimed = new ArrayList<>(maxSize);
+		RegistrationCenterDto regCenter;
+		while (claimed.size() < maxSize && (regCenter = regCenters.poll()) != null) {
+			claimed.add(regCenter);
+		}
+		return claimed;
+	}
+
+	public int size() {
+		return regCenters.size();
+	}
+}
@@ -0,0 +1,174 @@
+package io.mosip.preregistration.batchjob.helper;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.kernel.core.util.DateUtils;
+import io.mosip.preregistration.batchjob.code.PreRegBatchContants;
+import io.mosip.preregistration.batchjob.entity.AvailibityEntity;
+import io.mosip.preregistration.batchjob.model.AvailabilityDeltaDto;
+import io.mosip.preregistration.batchjob.model.HolidayCalendar;
+import io.mosip.preregistration.batchjob.model.RegistrationCenterDto;
+import io.mosip.preregistration.core.config.LoggerConfiguration;
+
+/**
+ * Computes the slot grid of a registration center in memory and diffs it
+ * against the slots already stored, so that only the changed rows are written.
+ * 
+ * A working day is split into per kiosk slots from the center start time to
+ * the lunch start time and from the lunch end time to the center end time,
+ * with one zero kiosk slot for the lunch hours. A holiday gets a single zero
+ * kiosk slot from midnight to midnight.
+ * 
+ * @since 1.2.0
+ *
+ */
+@Component
+public class SlotPlanner {
+
+	private Logger LOGGER = LoggerConfiguration.logConfig(SlotPlanner.class);
+
+	@Value("${mosip.batch.token.authmanager.userName}")
+	private String auditUsername;
+
+	/**
+	 * Plans the slots of the registration center for each day from fromDate
+	 * (inclusive) to toDate (exclusive). Days are left out of the plan, and so
+	 * left untouched, when the center start or end time is not configured.
+	 * 
+	 * @param regCenter registration center details
+	 * @param fromDate  first day to plan
+	 * @param toDate    day after the last day to plan
+	 * @param holidays  holiday calendar of the registration center
+	 * @return planned slots by day, ordered by start time
+	 */
+	public Map<LocalDate, List<AvailibityEntity>> planSlots(RegistrationCenterDto regCenter, LocalDate fromDate,
+			LocalDate toDate, HolidayCalendar holidays) {
+		Map<LocalDate, List<AvailibityEntity>> plannedSlots = new LinkedHashMap<>();
+		LocalDateTime crDate = DateUtils.parseDateToLocalDateTime(new Date());
+		String crBy = Objects.isNull(regCenter.getContactPerson()) || regCenter.getContactPerson().trim().isEmpty()
+				? auditUsername
+				: regCenter.getContactPerson();
+		LocalTime midnight = LocalTime.MIDNIGHT;
+		boolean hoursConfigured = !regCenter.getCenterStartTime().equals(midnight)
+				&& !regCenter.getCenterEndTime().equals(midnight);
+		fromDate.datesUntil(toDate, Period.ofDays(1)).forEach(slotGenDate -> {
+			List<AvailibityEntity> slots = new ArrayList<>();
+			if (holidays.isHoliday(slotGenDate)) {
+				slots.add(newSlot(regCenter, slotGenDate, midnight, midnight, PreRegBatchContants.ZERO_KIOSK, crBy,
+						crDate));
+			} else if (hoursConfigured) {
+				planWorkingDay(regCenter, slotGenDate, crBy, crDate, slots);
+			} else {
+				return;
+			}
+			plannedSlots.put(slotGenDate, slots);
+		});
+		if (!hoursConfigured) {
+			LOGGER.error(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, regCenter.getId(),
+					"Working days not planned because either start/end time not configured");
+		}
+		return plannedSlots;
+	}
+
+	/**
+	 * Diffs the planned slots against the existing slots of the same days.
+	 * Existing slots on days missing from the plan are ignored. An existing slot
+	 * is replaced when its end time changed, or when it has to become a zero
+	 * kiosk slot. An existing zero kiosk slot planned as a kiosk slot again is
+	 * restored, and listed as restored so that its bookings, if it was fully
+	 * booked, can be accounted for. Otherwise its available kiosks, which
+	 * bookings have already decremented, are kept.
+	 * 
+	 * @param plannedSlots  planned slots by day
+	 * @param existingSlots existing slots of the planned days
+	 * @return slots to insert, update and delete
+	 */
+	public AvailabilityDeltaDto diff(Map<LocalDate, List<AvailibityEntity>> plannedSlots,
+			List<AvailibityEntity> existingSlots) {
+		Map<LocalDate, Map<LocalTime, AvailibityEntity>> existingByDate = new HashMap<>();
+		for (AvailibityEntity slot : existingSlots) {
+			existingByDate.computeIfAbsent(slot.getRegDate(), date -> new HashMap<>()).put(slot.getFromTime(), slot);
+		}
+		AvailabilityDeltaDto delta = new AvailabilityDeltaDto();
+		plannedSlots.forEach((slotGenDate, slots) -> {
+			Map<LocalTime, AvailibityEntity> existing = existingByDate.getOrDefault(slotGenDate, new HashMap<>());
+			for (AvailibityEntity planned : slots) {
+				AvailibityEntity current = existing.remove(planned.getFromTime());
+				if (current == null) {
+					delta.getInserts().add(planned);
+				} else if (!current.getToTime().equals(planned.getToTime())
+						|| (planned.getAvailableKiosks() == 0 && current.getAvailableKiosks() != 0)) {
+					delta.getUpdates().add(planned);
+					delta.getCancelledSlots().add(current);
+				} else if (current.getAvailableKiosks() == 0 && planned.getAvailableKiosks() != 0) {
+					delta.getUpdates().add(planned);
+					delta.getRestoredSlots().add(planned);
+				}
+			}
+			delta.getDeletes().addAll(existing.values());
+			delta.getCancelledSlots().addAll(existing.values());
+		});
+		return delta;
+	}
+
+	private void planWorkingDay(RegistrationCenterDto regCenter, LocalDate slotGenDate, String crBy,
+			LocalDateTime crDate, List<AvailibityEntity> slots) {
+		LocalTime midnight = LocalTime.MIDNIGHT;
+		LocalTime lunchStartTime = regCenter.getLunchStartTime();
+		LocalTime lunchEndTime = regCenter.getLunchEndTime();
+		if (lunchStartTime.equals(midnight) || lunchEndTime.equals(midnight)) {
+			planKioskSlots(regCenter, slotGenDate, regCenter.getCenterStartTime(), regCenter.getCenterEndTime(), crBy,
+					crDate, slots);
+			return;
+		}
+		planKioskSlots(regCenter, slotGenDate, regCenter.getCenterStartTime(), lunchStartTime, crBy, crDate, slots);
+		slots.add(newSlot(regCenter, slotGenDate, lunchStartTime, lunchEndTime, PreRegBatchContants.ZERO_KIOSK, crBy,
+				crDate));
+		planKioskSlots(regCenter, slotGenDate, lunchEndTime, regCenter.getCenterEndTime(), crBy, crDate, slots);
+	}
+
+	private void planKioskSlots(RegistrationCenterDto regCenter, LocalDate slotGenDate, LocalTime startTime,
+			LocalTime endTime, String crBy, LocalDateTime crDate, List<AvailibityEntity> slots) {
+		LocalTime perKioskProcessTime = regCenter.getPerKioskProcessTime();
+		LocalTime slotStartTime = startTime;
+		LocalTime slotEndTime = plusProcessTime(slotStartTime, perKioskProcessTime);
+		// stops on a zero process time or when the slot would run past midnight.
+		while (slotEndTime.isAfter(slotStartTime) && !slotEndTime.isAfter(endTime)) {
+			slots.add(newSlot(regCenter, slotGenDate, slotStartTime, slotEndTime, regCenter.getNumberOfKiosks(), crBy,
+					crDate));
+			slotStartTime = slotEndTime;
+			slotEndTime = plusProcessTime(slotStartTime, perKioskProcessTime);
+		}
+	}
+
+	private LocalTime plusProcessTime(LocalTime time, LocalTime perKioskProcessTime) {
+		return time.plusHours(perKioskProcessTime.getHour()).plusMinutes(perKioskProcessTime.getMinute());
+	}
+
+	private AvailibityEntity newSlot(RegistrationCenterDto regCenter, LocalDate slotGenDate, LocalTime fromTime,
+			LocalTime toTime, Short noOfKiosks, String crBy, LocalDateTime crDate) {
+		AvailibityEntity avaEntity = new AvailibityEntity();
+		avaEntity.setRegcntrId(regCenter.getId());
+		avaEntity.setRegDate(slotGenDate);
+		avaEntity.setFromTime(fromTime);
+		avaEntity.setToTime(toTime);
+		avaEntity.setAvailableKiosks(fromTime.equals(toTime) ? 0 : noOfKiosks);
+		avaEntity.setCrBy(crBy);
+		avaEntity.setCrDate(crDate);
+		return avaEntity;
+	}
+}
@@ -15,6 +15,7 @@ import io.mosip.kernel.core.util.DateUtils;
 import io.mosip.preregistration.batchjob.code.PreRegBatchContants;
 import io.mosip.preregistration.batchjob.helper.RestHelper;
 import io.mosip.preregistration.batchjob.repository.utils.BatchJpaRepositoryImpl;
+import io.mosip.preregistration.batchjob.repository.utils.ExpiredApplicationsBulkWriter;
 import io.mosip.preregistration.core.code.AuditLogVariables;
 import io.mosip.preregistration.core.code.EventId;
 import io.mosip.preregistration.core.code.EventName;
@@ -47,10 +48,21 @@ public class ApplicationExpiredStatusUpdater {
     @Autowired
 	private RestHelper restHelper;
 
+    @Autowired
+	private ExpiredApplicationsBulkWriter expiredApplicationsBulkWriter;
+
+    @Value("${preregistration.job.expired.bulk.enabled:true}")
+	private boolean bulkUpdateEnabled;
+
     public void updateExpiredStatus(){
 
         LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EXPIRED_STATUS_JOB, 
 		 			"Starting Application Expired Status updater Job.");
+
+        if (bulkUpdateEnabled) {
+            updateExpiredStatusInBulk();
+            return;
+        }
         
         List<RegistrationBookingEntity> bookedPreRegDetailsList = batchServiceDAO.getAllOldDateBooking();
 
@@ -100,6 +112,38 @@ public class ApplicationExpiredStatusUpdater {
     }
 
 
+    private void updateExpiredStatusInBulk() {
+        List<String> expiredPreRegIds;
+        try {
+            expiredPreRegIds = expiredApplicationsBulkWriter.markExpired(auditUserId);
+        } catch(Exception exp){
+            LOGGER.error(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EXPIRED_STATUS_JOB, 
+                    "Errorred in updating expired status for booked applications", ExceptionUtils.getStackTrace(exp));
+            restHelper.sendAuditDetails(EventId.PRE_405.toString(), EventName.EXCEPTION.toString(), EventType.SYSTEM.toString(),
+						"Updating Expired status Failed for booked applications. ", AuditLogVariables.NO_ID.toString(), 
+						auditUserId, auditUsername, PreRegBatchContants.EMPTY, AuditLogVariables.BAT.toString(), 
+                        AuditLogVariables.EXPIRED_BATCH_SERVICE.toString());
+            return;
+        }
+
+        if (expiredPreRegIds.isEmpty()) {
+            LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EXPIRED_STATUS_JOB, 
+		 			"No Booked Applications found which are expired.");
+            restHelper.sendAuditDetails(EventId.PRE_413.toString(), EventName.EXPIREDSTATUS.toString(), EventType.BUSINESS.toString(),
+                     "No Booked Application found to update status as Expired.", AuditLogVariables.PRE_REGISTRATION_ID.toString(), 
+                     auditUserId, auditUsername, PreRegBatchContants.EMPTY, AuditLogVariables.BOOK.toString(), 
+                     AuditLogVariables.EXPIRED_BATCH_SERVICE.toString());
+            return;
+        }
+
+        LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EXPIRED_STATUS_JOB, 
+		 			"Total Number of application updated as Expired: " + expiredPreRegIds.size());
+		restHelper.sendAuditDetails(EventId.PRE_413.toString(), EventName.EXPIREDSTATUS.toString(), EventType.BUSINESS.toString(),
+                    "Updated Expired status for all pre reg ids.", AuditLogVariables.PRE_REGISTRATION_ID.toString(), 
+                    auditUserId, auditUsername, String.join(",", expiredPreRegIds), AuditLogVariables.BAT.toString(), 
+                    AuditLogVariables.EXPIRED_BATCH_SERVICE.toString());
+    }
+
     private void updateApplicationStatus(String preRegId) {
         LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EXPIRED_STATUS_JOB, 
 		 			"Updating Expired status in Application for Pre Reg Id: " + preRegId);
@@ -1,27 +1,22 @@
 package io.mosip.preregistration.batchjob.impl;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Component;
 
 import io.mosip.kernel.core.exception.ExceptionUtils;
 import io.mosip.kernel.core.logger.spi.Logger;
 import io.mosip.preregistration.batchjob.code.PreRegBatchContants;
 import io.mosip.preregistration.batchjob.helper.RestHelper;
-import io.mosip.preregistration.batchjob.repository.utils.BatchJpaRepositoryImpl;
+import io.mosip.preregistration.batchjob.repository.utils.AppointmentMismatchBulkWriter;
 import io.mosip.preregistration.core.code.AuditLogVariables;
 import io.mosip.preregistration.core.code.EventId;
 import io.mosip.preregistration.core.code.EventName;
 import io.mosip.preregistration.core.code.EventType;
-import io.mosip.preregistration.core.code.StatusCodes;
-import io.mosip.preregistration.core.common.entity.ApplicationEntity;
-import io.mosip.preregistration.core.common.entity.RegistrationBookingEntity;
 import io.mosip.preregistration.core.config.LoggerConfiguration;
 
 /**
@@ -32,6 +27,8 @@ import io.mosip.preregistration.core.config.LoggerConfiguration;
 @Component
 public class ApplicationMismatchDataUpdater {
     
+    private static final String UPDATED_BY = "PRERIGISTRATION_JOB";
+
     private Logger LOGGER = LoggerConfiguration.logConfig(ApplicationExpiredStatusUpdater.class);
 
     @Value("${mosip.batch.token.authmanager.userName}")
@@ -41,7 +38,7 @@ public class ApplicationMismatchDataUpdater {
 	private String auditUserId;
 
     @Autowired
-	private BatchJpaRepositoryImpl batchServiceDAO;
+	private AppointmentMismatchBulkWriter appointmentMismatchBulkWriter;
 
     @Autowired
 	private RestHelper restHelper;
@@ -52,9 +49,9 @@ public class ApplicationMismatchDataUpdater {
 		 			"Starting Application Data Mismatch updater Job.");
         
         LocalDate now = LocalDate.now();
-        List<RegistrationBookingEntity> regAppointmentDetailsList = batchServiceDAO.getAllRegistrationAppointmentDetails(now);
+        long regAppointmentsCount = appointmentMismatchBulkWriter.countAppointments(now);
 
-        if (Objects.isNull(regAppointmentDetailsList) || regAppointmentDetailsList.size() == 0) {
+        if (regAppointmentsCount == 0) {
             LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.APPOINTMENT_MISMATCH_JOB, 
                         "No Registration Appointments found to validate the mismatch for the day: " + now.toString());
             restHelper.sendAuditDetails(EventId.PRE_413.toString(), EventName.EXPIREDSTATUS.toString(), EventType.BUSINESS.toString(),
@@ -65,26 +62,23 @@ public class ApplicationMismatchDataUpdater {
         }
 
         LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.APPOINTMENT_MISMATCH_JOB, 
-                    "Total Number of application found to update as Expired: " + regAppointmentDetailsList.size());
-        List<String> errorredPreRegIds = new ArrayList<>();
-        regAppointmentDetailsList.forEach(regAppointment -> {
-            String preRegId = regAppointment.getPreregistrationId();
-            try {
-                LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.APPOINTMENT_MISMATCH_JOB, 
-                        "Checking and Updating Mismatch data in Application for Pre Reg Id: " + preRegId);
-                ApplicationEntity applicationEntity = batchServiceDAO.getApplicantEntityDetails(preRegId);
-                boolean dataMismatch = isAppointmentDataMismatch(regAppointment, applicationEntity);
-                if(dataMismatch) {
-                    LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.APPOINTMENT_MISMATCH_JOB, 
-                        "Mismatch data found for Pre Reg Id: " + preRegId);
-                    updateMismatchData(regAppointment, applicationEntity);
-                }
-            } catch(Exception exp) {
-                errorredPreRegIds.add(preRegId);
-                LOGGER.error(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.APPOINTMENT_MISMATCH_JOB, 
-                        "Errorred in updating appointment mismatch data for pre reg id: " + preRegId, ExceptionUtils.getStackTrace(exp));
-            }
-        });
+                    "Total Number of appointments found to validate the mismatch: " + regAppointmentsCount);
+        // appointments without an application cannot be reconciled.
+        List<String> errorredPreRegIds = appointmentMismatchBulkWriter.findAppointmentsWithoutApplication(now);
+        List<String> updatedPreRegIds;
+        try {
+            updatedPreRegIds = appointmentMismatchBulkWriter.updateMismatchedApplications(now, UPDATED_BY);
+        } catch(DataAccessException exp) {
+            LOGGER.error(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.APPOINTMENT_MISMATCH_JOB, 
+                    "Errorred in updating mismatch data in applications", ExceptionUtils.getStackTrace(exp));
+            restHelper.sendAuditDetails(EventId.PRE_405.toString(), EventName.EXCEPTION.toString(), EventType.SYSTEM.toString(),
+						"Updating Mismatch data Failed for the appointments of the day. ", AuditLogVariables.NO_ID.toString(), 
+						auditUserId, auditUsername, PreRegBatchContants.EMPTY, AuditLogVariables.PREREGISTRATION.toString(), 
+                        AuditLogVariables.PREREGISTRATION.toString());
+            throw exp;
+        }
+        LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.APPOINTMENT_MISMATCH_JOB, 
+                    "Updated Mismatch data in Applications for Pre Reg Ids: " + updatedPreRegIds);
 
         if (errorredPreRegIds.size() > 0) {
 			String preRegIds = String.join(",", errorredPreRegIds);
@@ -101,35 +95,4 @@ public class ApplicationMismatchDataUpdater {
                     auditUserId, auditUsername, PreRegBatchContants.EMPTY, AuditLogVariables.PREREGISTRATION.toString(), 
                     AuditLogVariables.PREREGISTRATION.toString());
     }
-
-    private boolean isAppointmentDataMismatch(RegistrationBookingEntity regAppointment, ApplicationEntity application) {
-
-        if (Objects.isNull(application.getAppointmentDate()) || 
-                !(regAppointment.getRegDate().isEqual(application.getAppointmentDate())))
-            return true;
-        
-        if (Objects.isNull(application.getSlotFromTime()) || 
-                        !(regAppointment.getSlotFromTime().equals(application.getSlotFromTime())))
-            return true;
-        
-        if (Objects.isNull(application.getSlotToTime()) || 
-                !(regAppointment.getSlotToTime().equals(application.getSlotToTime())))
-            return true;
-        
-        return false;
-    }
-
-    private void updateMismatchData(RegistrationBookingEntity regAppointment, ApplicationEntity application) {
-        application.setBookingDate(regAppointment.getUpdDate().toLocalDate());
-		application.setRegistrationCenterId(regAppointment.getRegistrationCenterId());
-		application.setSlotFromTime(regAppointment.getSlotFromTime());
-		application.setSlotToTime(regAppointment.getSlotToTime());
-		application.setAppointmentDate(regAppointment.getRegDate());
-		application.setBookingStatusCode(StatusCodes.BOOKED.getCode());
-		application.setUpdBy("PRERIGISTRATION_JOB");
-		application.setUpdDtime(LocalDateTime.now());
-        batchServiceDAO.updateApplicantEntity(application);
-        LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.APPOINTMENT_MISMATCH_JOB, 
-                        "Updated Mismatch data in Application for Pre Reg Id: " + regAppointment.getPreregistrationId());
-    }
 }
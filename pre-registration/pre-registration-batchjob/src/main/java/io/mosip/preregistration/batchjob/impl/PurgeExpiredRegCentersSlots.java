@@ -1,13 +1,22 @@
 package io.mosip.preregistration.batchjob.impl;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.explore.JobExplorer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import io.mosip.kernel.core.logger.spi.Logger;
@@ -41,12 +50,59 @@ public class PurgeExpiredRegCentersSlots {
     @Autowired
 	private CancelAndNotifyHelper cancelAndNotifyHelper;
 
+    @Autowired
+	private JobExplorer jobExplorer;
+
+    @Value("${preregistration.slots.processed-centers.max-age-hours:24}")
+	private long processedRegCentersMaxAgeHours;
+
     // Deleting all the added slots for the expired registration centers. 
     public void purgeSlots(){
 
         LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY, 
 		 				"Started Purge Expired Registration Centers slots.");
 
+        Set<String> processedRegCenterIds = findProcessedRegCenterIds();
+        Set<String> processingRegCentersList = processedRegCenterIds.isEmpty() ? findAvailableRegCenterIds() 
+                                                            : processedRegCenterIds;
+
+		List<String> slotsAddedRegCenters = batchServiceDAO.findRegCenter(LocalDate.now());
+		slotsAddedRegCenters.stream().filter(regCenterId ->  !processingRegCentersList.contains(regCenterId))
+									 .forEach(regCenterId -> purgeExpiredRegCenterSlots(regCenterId));
+                                     
+        LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY, 
+                                     "Completed deleting Expired Registration Centers slots.");
+    }
+
+    /**
+     * @return reg centers processed by the last completed slot generation run,
+     *         empty if that run is older than the configured max age
+     */
+    private Set<String> findProcessedRegCenterIds() {
+        List<JobInstance> jobInstances = jobExplorer.getJobInstances(PreRegBatchContants.REG_CENTER_PARTITIONER_JOB, 0, 1);
+        if (jobInstances.isEmpty()) {
+            return Collections.emptySet();
+        }
+        LocalDateTime minEndTime = LocalDateTime.now().minusHours(processedRegCentersMaxAgeHours);
+        for (JobExecution jobExecution : jobExplorer.getJobExecutions(jobInstances.get(0))) {
+            if (jobExecution.getStatus() != BatchStatus.COMPLETED || Objects.isNull(jobExecution.getEndTime())
+                    || LocalDateTime.ofInstant(jobExecution.getEndTime().toInstant(), ZoneId.systemDefault()).isBefore(minEndTime)) {
+                continue;
+            }
+            @SuppressWarnings("unchecked")
+            List<String> processedRegCenterIds = (List<String>) jobExecution.getExecutionContext()
+                                                        .get(PreRegBatchContants.PROCESSED_REG_CENTER_IDS);
+            if (Objects.nonNull(processedRegCenterIds) && !processedRegCenterIds.isEmpty()) {
+                LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY, 
+                        "Using Reg Centers processed by slot generation job execution: " + jobExecution.getId() + 
+                        ", Reg Centers Count: <" + processedRegCenterIds.size() + ">");
+                return new HashSet<>(processedRegCenterIds);
+            }
+        }
+        return Collections.emptySet();
+    }
+
+    private Set<String> findAvailableRegCenterIds() {
 		int totalNoOfPages = restHelper.getRegistrationCenterTotalPages();
 		List<String> pageNosList = new ArrayList<>();
 		for (int i = 0; i < totalNoOfPages; i++){
@@ -56,31 +112,21 @@ public class PurgeExpiredRegCentersSlots {
         List<RegistrationCenterDto> regCentersList = restHelper.getRegistrationCenterDetails(pageNosList, null);
 		LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY, 
 		 				"Total Number of registration Found available in Master Data: <" + regCentersList.size() + ">");
-
-        Map<String, Boolean> cancelledTracker = new HashMap<>();
-        Map<String, Boolean> notifierTracker = new HashMap<>();
-        List<String> processingRegCentersList = regCentersList.stream().map(RegistrationCenterDto::getId)
-															  .distinct()
-															  .collect(Collectors.toList());
-		List<String> slotsAddedRegCenters = batchServiceDAO.findRegCenter(LocalDate.now());
-		slotsAddedRegCenters.stream().filter(regCenterId ->  !processingRegCentersList.contains(regCenterId))
-									 .forEach(regCenterId -> purgeExpiredRegCenterSlots(regCenterId, cancelledTracker, notifierTracker));
-                                     
-        LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY, 
-                                     "Completed deleting Expired Registration Centers slots.");
+        return regCentersList.stream().map(RegistrationCenterDto::getId).collect(Collectors.toSet());
     }
 
-    private void purgeExpiredRegCenterSlots(String regCenterId,  Map<String, Boolean> cancelledTracker,	
-					Map<String, Boolean> notifierTracker) {
+    private void purgeExpiredRegCenterSlots(String regCenterId) {
 		LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY, 
 						"Deleting Slots for expired reg Center: " + regCenterId);
 		List<RegistrationBookingEntity> regBookingEntityList = batchServiceDAO.findAllPreIdsByregID(regCenterId, LocalDate.now());
 		LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY, 
 						"Total Number of bookings available for the reg center: " + regBookingEntityList.size());
 		regBookingEntityList.stream().forEach(bookedSlot -> {
-			cancelAndNotifyHelper.cancelAndNotifyApplicant(bookedSlot, PreRegBatchContants.EMPTY, cancelledTracker, notifierTracker);
+			cancelAndNotifyHelper.cancelAndNotifyApplicant(bookedSlot, PreRegBatchContants.EMPTY);
 		});
 		int deletedSlots = batchServiceDAO.deleteAllSlotsByRegId(regCenterId, LocalDate.now());
+		// slots have to be generated afresh if the reg center comes back.
+		batchServiceDAO.deleteSlotFingerprint(regCenterId);
 		LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY, 
 												"Deleted All Slots for expired reg Center: " + regCenterId + 
 												", Deleted Slot Count: " + deletedSlots);
@@ -2,18 +2,22 @@ package io.mosip.preregistration.batchjob.impl;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.springframework.batch.core.partition.support.Partitioner;
 import org.springframework.batch.item.ExecutionContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import io.mosip.kernel.core.logger.spi.Logger;
 import io.mosip.preregistration.batchjob.code.PreRegBatchContants;
+import io.mosip.preregistration.batchjob.helper.HolidayCalendarCache;
 import io.mosip.preregistration.batchjob.helper.RegCenterIdsHolder;
 import io.mosip.preregistration.batchjob.helper.RestHelper;
+import io.mosip.preregistration.batchjob.helper.SlotGenerationQueue;
 import io.mosip.preregistration.batchjob.model.RegistrationCenterDto;
 import io.mosip.preregistration.core.config.LoggerConfiguration;
 
@@ -30,25 +34,34 @@ public class SlotAvailabilityPartitioner implements Partitioner {
 
     @Autowired
 	private RestHelper restHelper;
+
+    @Autowired
+	private HolidayCalendarCache holidayCalendarCache;
+
+    @Autowired
+	private SlotGenerationQueue slotGenerationQueue;
+
+    @Autowired
+	private RegCenterIdsHolder regCenterIdsHolder;
+
+    @Value("${preregistration.slots.partition.mode:static}")
+	private String partitionMode;
     
     @Override
 	public Map<String, ExecutionContext> partition(int gridSize) {
         Map<String, ExecutionContext> regCentersMap = new HashMap<String, ExecutionContext>(gridSize);
 
-        RegCenterIdsHolder idsHolder = RegCenterIdsHolder.getInstance();
-        LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY,
-                        "Ids before deleting all elements");
-        idsHolder.printAllRegCenterIds();
-        // call delete all elements
-        idsHolder.deleteAllRegCenterIds();
-        LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY,
-                        "Ids after deleting all elements");
-        idsHolder.printAllRegCenterIds();
+        // general holidays are cached for one run only.
+        holidayCalendarCache.clear();
 
         int totalNoOfPages = restHelper.getRegistrationCenterTotalPages();
 		LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY, 
 		 				"Total Number of Pages Found in Master Data: <" + totalNoOfPages + ">");
 
+        if (PreRegBatchContants.DYNAMIC_PARTITION_MODE.equalsIgnoreCase(partitionMode)) {
+            return dynamicPartition(gridSize, totalNoOfPages);
+        }
+
         //List<RegistrationCenterDto> regCentersList = restHelper.getRegistrationCenterDetails(null);
         //int regCentersCount = regCentersList.size();
         int partitionSize = getPartitionSize(totalNoOfPages, gridSize);
@@ -80,6 +93,36 @@ public class SlotAvailabilityPartitioner implements Partitioner {
         return regCentersMap;
     }
 
+    /**
+     * Loads all registration centers into the shared queue and creates gridSize
+     * partitions that all consume from it, so no partition is stuck with a
+     * heavier share of centers.
+     */
+    private Map<String, ExecutionContext> dynamicPartition(int gridSize, int totalNoOfPages) {
+        List<String> pageNosList = new ArrayList<>();
+        for (int i = 0; i < totalNoOfPages; i++) {
+            pageNosList.add(Integer.toString(i));
+        }
+        // the same center is listed once per language, it must be processed by one partition only.
+        Map<String, RegistrationCenterDto> uniqueRegCenters = new LinkedHashMap<>();
+        restHelper.getRegistrationCenterDetails(pageNosList, regCenterIdsHolder)
+                  .forEach(regCenter -> uniqueRegCenters.putIfAbsent(regCenter.getId(), regCenter));
+        slotGenerationQueue.load(new ArrayList<>(uniqueRegCenters.values()));
+        LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY, 
+                        "Dynamic partitioning, Reg Centers queued: <" + slotGenerationQueue.size() + 
+                        ">, GridSize Configured: <" + gridSize + ">");
+
+        Map<String, ExecutionContext> regCentersMap = new HashMap<String, ExecutionContext>(gridSize);
+        int partitions = Math.max(1, Math.min(gridSize, slotGenerationQueue.size()));
+        for (int i = 0; i < partitions; i++) {
+            ExecutionContext execContext = new ExecutionContext();
+            execContext.putString("name", "regCenterQueue-" + i);
+            execContext.putString("mode", PreRegBatchContants.DYNAMIC_PARTITION_MODE);
+            regCentersMap.put("regCenterPartition" + i, execContext);
+        }
+        return regCentersMap;
+    }
+
     private int getPartitionSize(int regCentersCount, int gridSize) {
 
         if (regCentersCount <= gridSize)
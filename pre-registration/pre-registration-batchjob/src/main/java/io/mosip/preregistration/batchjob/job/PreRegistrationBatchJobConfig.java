@@ -4,28 +4,40 @@
  */
 package io.mosip.preregistration.batchjob.job;
 
+import java.util.Collections;
 import java.util.List;
 
+import javax.sql.DataSource;
+
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
 import org.springframework.batch.core.configuration.annotation.EnableBatchProcessing;
 import org.springframework.batch.core.configuration.annotation.JobBuilderFactory;
+import org.springframework.batch.core.configuration.annotation.JobScope;
 import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
 import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.core.launch.support.RunIdIncrementer;
 import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.core.step.builder.FaultTolerantStepBuilder;
 import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.database.JdbcPagingItemReader;
+import org.springframework.batch.item.database.Order;
+import org.springframework.batch.item.database.support.PostgresPagingQueryProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.SingleColumnRowMapper;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+import io.mosip.preregistration.batchjob.code.PreRegBatchContants;
+import io.mosip.preregistration.batchjob.helper.RegCenterIdsHolder;
+import io.mosip.preregistration.batchjob.impl.ApplicationConsumedStatusUpdater;
 import io.mosip.preregistration.batchjob.impl.SlotAvailabilityPartitioner;
 import io.mosip.preregistration.batchjob.tasklets.ApplicationsBookingCheckTasklet;
 import io.mosip.preregistration.batchjob.tasklets.AvailabilitySyncTasklet;
-import io.mosip.preregistration.batchjob.tasklets.ConsumedStatusTasklet;
 import io.mosip.preregistration.batchjob.tasklets.ExpiredStatusTasklet;
 import io.mosip.preregistration.batchjob.tasklets.PurgeExpiredRegCentersSlotsTasklet;
 
@@ -48,7 +60,16 @@ public class PreRegistrationBatchJobConfig {
 	private StepBuilderFactory stepBuilderFactory;
 
 	@Autowired
-	private ConsumedStatusTasklet consumedStatusTasklet;
+	private ApplicationConsumedStatusUpdater consumedStatusUpdater;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Value("${preregistration.job.consumed.chunk-size:100}")
+	private int consumedChunkSize;
+
+	@Value("${preregistration.job.consumed.thread-count:1}")
+	private int consumedThreadCount;
 
 	@Autowired
 	private PurgeExpiredRegCentersSlotsTasklet purgeRegCenterSlotsTasklet;
@@ -59,9 +80,49 @@ public class PreRegistrationBatchJobConfig {
 	@Autowired
 	private ApplicationsBookingCheckTasklet applicationBookingCheckTasklet;
 
+	@Autowired
+	private ProcessedRegCentersListener processedRegCentersListener;
+
 	@Bean
 	public Step consumedStatusStep() {
-		return stepBuilderFactory.get("consumedStatusStep").tasklet(consumedStatusTasklet).build();
+		FaultTolerantStepBuilder<String, String> stepBuilder = stepBuilderFactory.get("consumedStatusStep")
+								 .<String, String>chunk(consumedChunkSize)
+								 .reader(processedPreRegIdsReader())
+								 .writer(consumedStatusUpdater)
+								 .faultTolerant()
+								 .skip(Exception.class)
+								 .skipLimit(Integer.MAX_VALUE);
+		if (consumedThreadCount > 1) {
+			stepBuilder.taskExecutor(new SimpleAsyncTaskExecutor("ConsumedStatus-"))
+					   .throttleLimit(consumedThreadCount);
+		}
+		return stepBuilder.build();
+	}
+
+	/**
+	 * Reads the processed pre registration ids in pages ordered by id. Each
+	 * page starts after the last id of the previous one, so ids moved to
+	 * consumed by the writer do not shift the pages still to be read.
+	 */
+	@Bean
+	@StepScope
+	public JdbcPagingItemReader<String> processedPreRegIdsReader() {
+		PostgresPagingQueryProvider queryProvider = new PostgresPagingQueryProvider();
+		queryProvider.setSelectClause("SELECT prereg_id");
+		queryProvider.setFromClause("FROM prereg.processed_prereg_list");
+		queryProvider.setWhereClause("WHERE status_comments = :statusComments");
+		queryProvider.setSortKeys(Collections.singletonMap("prereg_id", Order.ASCENDING));
+
+		JdbcPagingItemReader<String> reader = new JdbcPagingItemReader<>();
+		reader.setName("processedPreRegIdsReader");
+		reader.setDataSource(dataSource);
+		reader.setQueryProvider(queryProvider);
+		reader.setParameterValues(Collections.singletonMap("statusComments", PreRegBatchContants.PROCESSED_STATUS_COMMENTS));
+		reader.setRowMapper(new SingleColumnRowMapper<>(String.class));
+		reader.setPageSize(consumedChunkSize);
+		// the job always starts from the first pending id, nothing to restart from.
+		reader.setSaveState(false);
+		return reader;
 	}
 
 	@Bean
@@ -105,7 +166,7 @@ public class PreRegistrationBatchJobConfig {
 
 	@Bean(name="regCenterPartitionerJob")
 	public Job regCenterPartitionerJob() {
-		return this.jobBuilderFactory.get("regCenterPartitionerJob")
+		return this.jobBuilderFactory.get(PreRegBatchContants.REG_CENTER_PARTITIONER_JOB)
 									 .preventRestart()
 								     .incrementer(new RunIdIncrementer())
 									 .start(slotGenerationStep())
@@ -119,9 +180,16 @@ public class PreRegistrationBatchJobConfig {
 								 .step(slaveSlotGenerationStep())
 								 .gridSize(concurrencyLimit)
 								 .taskExecutor(taskExecutor())
+								 .listener(processedRegCentersListener)
 								 .build();
 	}
 
+	@Bean
+	@JobScope
+	public RegCenterIdsHolder regCenterIdsHolder() {
+		return new RegCenterIdsHolder();
+	}
+
 	@Bean
 	public Partitioner partitionerMasterStep() {
 		return new SlotAvailabilityPartitioner();
@@ -130,7 +198,7 @@ public class PreRegistrationBatchJobConfig {
 	@Bean
 	public Step slaveSlotGenerationStep() {
 		return stepBuilderFactory.get("slaveSlotGenerationStep")
-								 .tasklet(slotGenerateTasklet(null, null))
+								 .tasklet(slotGenerateTasklet(null, null, null))
 								 .build();
 	}
 
@@ -138,16 +206,19 @@ public class PreRegistrationBatchJobConfig {
 	@Bean
 	@StepScope
 	public Tasklet slotGenerateTasklet(@Value("#{stepExecutionContext['name']}") String name, 
-									   @Value("#{stepExecutionContext['regCenterIdsPartList']}") Object regCenterIdsPartListObj) {
+									   @Value("#{stepExecutionContext['regCenterIdsPartList']}") Object regCenterIdsPartListObj,
+									   @Value("#{stepExecutionContext['mode']}") String mode) {
 		List<String> regCenterPartList = (List<String>) regCenterIdsPartListObj;
-		AvailabilitySyncTasklet slotGeneratorTasklet = new AvailabilitySyncTasklet(name, regCenterPartList);
+		AvailabilitySyncTasklet slotGeneratorTasklet = new AvailabilitySyncTasklet(name, regCenterPartList, mode);
 		return slotGeneratorTasklet;
 	}
 
 	@Bean 
 	public TaskExecutor taskExecutor(){
-		SimpleAsyncTaskExecutor asyncTaskExecutor = new SimpleAsyncTaskExecutor("SlotGenerator");
-		asyncTaskExecutor.setConcurrencyLimit(concurrencyLimit);
-		return asyncTaskExecutor;
+		ThreadPoolTaskExecutor poolTaskExecutor = new ThreadPoolTaskExecutor();
+		poolTaskExecutor.setCorePoolSize(concurrencyLimit);
+		poolTaskExecutor.setMaxPoolSize(concurrencyLimit);
+		poolTaskExecutor.setThreadNamePrefix("SlotGenerator-");
+		return poolTaskExecutor;
 	}
 }
@@ -0,0 +1,51 @@
+package io.mosip.preregistration.batchjob.job;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.listener.StepExecutionListenerSupport;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.preregistration.batchjob.code.PreRegBatchContants;
+import io.mosip.preregistration.batchjob.helper.RegCenterIdsHolder;
+import io.mosip.preregistration.core.config.LoggerConfiguration;
+
+/**
+ * Stores the registration centers processed by the slot generation step in
+ * the job execution context, so that the purge of expired centers can use them
+ * without fetching all the centers from master data again. Nothing is stored
+ * when a partition failed, so the purge falls back to the centers in master
+ * data rather than taking the centers of the failed partition as inactive.
+ * 
+ * @since 1.2.0
+ *
+ */
+@Component
+public class ProcessedRegCentersListener extends StepExecutionListenerSupport {
+
+	private Logger LOGGER = LoggerConfiguration.logConfig(ProcessedRegCentersListener.class);
+
+	@Autowired
+	private RegCenterIdsHolder regCenterIdsHolder;
+
+	@Override
+	public ExitStatus afterStep(StepExecution stepExecution) {
+		if (stepExecution.getJobExecution().getExecutionContext().containsKey(PreRegBatchContants.SLOT_GENERATION_FAILED)) {
+			LOGGER.warn(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY,
+					"Slot generation failed for a partition, processed Reg Centers not stored in job context");
+			return stepExecution.getExitStatus();
+		}
+		List<String> processedRegCenterIds = new ArrayList<>(regCenterIdsHolder.getRegCenterIds());
+		Collections.sort(processedRegCenterIds);
+		stepExecution.getJobExecution().getExecutionContext().put(PreRegBatchContants.PROCESSED_REG_CENTER_IDS,
+				processedRegCenterIds);
+		LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY,
+				"Processed Reg Centers stored in job context: <" + processedRegCenterIds.size() + ">");
+		return stepExecution.getExitStatus();
+	}
+}
@@ -0,0 +1,40 @@
+package io.mosip.preregistration.batchjob.model;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A booked appointment cancelled because its slot was removed, as tracked in
+ * the reg_appointment_cancellation table.
+ * 
+ * @since 1.2.0
+ *
+ */
+@Data
+@NoArgsConstructor
+public class AppointmentCancellationDto {
+
+	private String preRegistrationId;
+
+	private LocalDate appointmentDate;
+
+	private LocalTime slotFromTime;
+
+	private String registrationCenterId;
+
+	private String langCode;
+
+	private String statusCode;
+
+	private int attemptCount;
+
+	/**
+	 * @return key identifying the cancellation of one booking
+	 */
+	public String getCancellationKey() {
+		return preRegistrationId + "_" + appointmentDate + "_" + slotFromTime;
+	}
+}
@@ -0,0 +1,45 @@
+package io.mosip.preregistration.batchjob.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.mosip.preregistration.batchjob.entity.AvailibityEntity;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Changes needed to bring the reg_available_slot rows of a registration center
+ * in line with its planned slot grid.
+ * 
+ * @since 1.2.0
+ *
+ */
+@Getter
+@NoArgsConstructor
+@ToString
+public class AvailabilityDeltaDto {
+
+	/** Planned slots with no existing row. */
+	private List<AvailibityEntity> inserts = new ArrayList<>();
+
+	/** Planned slots replacing an existing row with the same start time. */
+	private List<AvailibityEntity> updates = new ArrayList<>();
+
+	/** Existing rows not part of the plan any more. */
+	private List<AvailibityEntity> deletes = new ArrayList<>();
+
+	/**
+	 * Planned kiosk slots, also part of the updates, whose existing row with the
+	 * same times has no kiosk available: a former lunch or holiday slot, or a
+	 * fully booked slot.
+	 */
+	private List<AvailibityEntity> restoredSlots = new ArrayList<>();
+
+	/** Existing rows deleted or replaced, whose bookings have to be cancelled. */
+	private List<AvailibityEntity> cancelledSlots = new ArrayList<>();
+
+	public boolean isEmpty() {
+		return inserts.isEmpty() && updates.isEmpty() && deletes.isEmpty();
+	}
+}
@@ -0,0 +1,72 @@
+package io.mosip.preregistration.batchjob.model;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Holidays of a registration center within the slot sync window, kept as one
+ * bit per day counted from the first day of the window.
+ * 
+ * @since 1.2.0
+ *
+ */
+public class HolidayCalendar {
+
+	private final LocalDate startDate;
+
+	private final int noOfDays;
+
+	private final BitSet holidays;
+
+	public HolidayCalendar(LocalDate startDate, int noOfDays) {
+		this.startDate = startDate;
+		this.noOfDays = noOfDays;
+		this.holidays = new BitSet(noOfDays);
+	}
+
+	/**
+	 * Marks the given dates (yyyy-MM-dd) as holidays. Dates outside the window
+	 * or not parseable are ignored.
+	 * 
+	 * @param holidayDates
+	 */
+	public void addAll(Collection<String> holidayDates) {
+		for (String holidayDate : holidayDates) {
+			if (holidayDate == null) {
+				continue;
+			}
+			try {
+				add(LocalDate.parse(holidayDate));
+			} catch (DateTimeParseException ex) {
+				// not a holiday within the window.
+			}
+		}
+	}
+
+	public void add(LocalDate date) {
+		long dayIndex = date.toEpochDay() - startDate.toEpochDay();
+		if (dayIndex >= 0 && dayIndex < noOfDays) {
+			holidays.set((int) dayIndex);
+		}
+	}
+
+	public boolean isHoliday(LocalDate date) {
+		long dayIndex = date.toEpochDay() - startDate.toEpochDay();
+		return dayIndex >= 0 && dayIndex < noOfDays && holidays.get((int) dayIndex);
+	}
+
+	public List<LocalDate> getHolidayDates() {
+		List<LocalDate> holidayDates = new ArrayList<>();
+		holidays.stream().forEach(dayIndex -> holidayDates.add(startDate.plusDays(dayIndex)));
+		return holidayDates;
+	}
+
+	@Override
+	public String toString() {
+		return getHolidayDates().toString();
+	}
+}
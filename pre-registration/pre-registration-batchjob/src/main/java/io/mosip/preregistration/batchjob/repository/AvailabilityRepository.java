@@ -94,6 +94,16 @@ public interface AvailabilityRepository extends BaseRepository<AvailibityEntity,
 	 */
 	@Query("SELECT DISTINCT e FROM AvailibityEntity e  WHERE e.regDate= ?1 and e.regcntrId=?2 order by e.fromTime ")
 	public List<AvailibityEntity> findAvaialableSlots(LocalDate regDate, String regcntrId);
+
+	/**
+	 * 
+	 * @param regcntrId
+	 * @param fromDate
+	 * @param toDate
+	 * @return list of AvailibityEntity from fromDate (inclusive) to toDate (exclusive)
+	 */
+	@Query("SELECT e FROM AvailibityEntity e  WHERE e.regcntrId=?1 and e.regDate>= ?2 and e.regDate< ?3 order by e.regDate, e.fromTime ")
+	public List<AvailibityEntity> findSlotsBetween(String regcntrId, LocalDate fromDate, LocalDate toDate);
 	
 	
 	/**
@@ -0,0 +1,28 @@
+/* 
+ * Copyright
+ * 
+ */
+package io.mosip.preregistration.batchjob.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.mosip.kernel.core.dataaccess.spi.repository.BaseRepository;
+import io.mosip.preregistration.batchjob.entity.RegCenterSlotFingerprintEntity;
+
+/**
+ * @since 1.2.0
+ *
+ */
+@Repository("regCenterSlotFingerprintRepository")
+public interface RegCenterSlotFingerprintRepository extends BaseRepository<RegCenterSlotFingerprintEntity, String> {
+
+	List<RegCenterSlotFingerprintEntity> findByRegcntrIdIn(List<String> regcntrIds);
+
+	@Modifying
+	@Transactional
+	int deleteByRegcntrId(String regcntrId);
+}
@@ -0,0 +1,129 @@
+package io.mosip.preregistration.batchjob.repository.utils;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import io.mosip.preregistration.batchjob.code.PreRegBatchContants;
+import io.mosip.preregistration.batchjob.model.AppointmentCancellationDto;
+import io.mosip.preregistration.core.common.entity.RegistrationBookingEntity;
+
+/**
+ * Keeps the state of every appointment cancellation in
+ * reg_appointment_cancellation, so a booking is cancelled and notified at most
+ * once however often its slot is removed or the cancellation is retried. A
+ * completed cancellation is started over when the same slot is booked again
+ * and removed again.
+ * 
+ * @since 1.2.0
+ *
+ */
+@Component
+public class AppointmentCancellationStore {
+
+	private static final String INSERT_CANCELLATION = "INSERT INTO prereg.reg_appointment_cancellation (prereg_id, "
+			+ "appointment_date, slot_from_time, regcntr_id, lang_code, status_code, attempt_count, next_attempt_dtimes, "
+			+ "cr_by, cr_dtimes) VALUES (:preRegId, :appointmentDate, :slotFromTime, :regCenterId, :langCode, :statusCode, 0, "
+			+ ":now, :crBy, :now) ON CONFLICT (prereg_id, appointment_date, slot_from_time) DO UPDATE SET "
+			+ "regcntr_id = EXCLUDED.regcntr_id, lang_code = EXCLUDED.lang_code, status_code = EXCLUDED.status_code, "
+			+ "attempt_count = 0, next_attempt_dtimes = EXCLUDED.next_attempt_dtimes, upd_by = EXCLUDED.cr_by, "
+			+ "upd_dtimes = EXCLUDED.cr_dtimes WHERE reg_appointment_cancellation.status_code IN (:notifiedStatus, "
+			+ ":skippedStatus, :failedStatus)";
+
+	private static final String FIND_DUE_CANCELLATIONS = "SELECT prereg_id, appointment_date, slot_from_time, regcntr_id, "
+			+ "lang_code, status_code, attempt_count FROM prereg.reg_appointment_cancellation "
+			+ "WHERE status_code IN (:pendingStatus, :cancelledStatus) AND next_attempt_dtimes <= :now "
+			+ "ORDER BY next_attempt_dtimes LIMIT :limit";
+
+	private static final String UPDATE_STATUS = "UPDATE prereg.reg_appointment_cancellation SET status_code = :statusCode, "
+			+ "attempt_count = :attemptCount, next_attempt_dtimes = :nextAttempt, upd_by = :updBy, upd_dtimes = :now "
+			+ "WHERE prereg_id = :preRegId AND appointment_date = :appointmentDate AND slot_from_time = :slotFromTime";
+
+	private static final RowMapper<AppointmentCancellationDto> CANCELLATION_MAPPER = (rs, rowNum) -> {
+		AppointmentCancellationDto cancellation = new AppointmentCancellationDto();
+		cancellation.setPreRegistrationId(rs.getString("prereg_id"));
+		cancellation.setAppointmentDate(rs.getDate("appointment_date").toLocalDate());
+		cancellation.setSlotFromTime(rs.getTime("slot_from_time").toLocalTime());
+		cancellation.setRegistrationCenterId(rs.getString("regcntr_id"));
+		cancellation.setLangCode(rs.getString("lang_code"));
+		cancellation.setStatusCode(rs.getString("status_code"));
+		cancellation.setAttemptCount(rs.getInt("attempt_count"));
+		return cancellation;
+	};
+
+	@Autowired
+	private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+	/**
+	 * @param bookedSlot
+	 * @param crBy
+	 * @return the pending cancellation, null if a cancellation of the booking
+	 *         for this slot is still in progress
+	 */
+	public AppointmentCancellationDto add(RegistrationBookingEntity bookedSlot, String crBy) {
+		AppointmentCancellationDto cancellation = new AppointmentCancellationDto();
+		cancellation.setPreRegistrationId(bookedSlot.getPreregistrationId());
+		cancellation.setAppointmentDate(bookedSlot.getRegDate());
+		cancellation.setSlotFromTime(bookedSlot.getSlotFromTime());
+		cancellation.setRegistrationCenterId(bookedSlot.getRegistrationCenterId());
+		cancellation.setLangCode(bookedSlot.getLangCode());
+		cancellation.setStatusCode(PreRegBatchContants.CANCELLATION_PENDING);
+
+		MapSqlParameterSource params = keyParams(cancellation)
+				.addValue("regCenterId", cancellation.getRegistrationCenterId())
+				.addValue("langCode", cancellation.getLangCode())
+				.addValue("statusCode", cancellation.getStatusCode())
+				.addValue("notifiedStatus", PreRegBatchContants.CANCELLATION_NOTIFIED)
+				.addValue("skippedStatus", PreRegBatchContants.CANCELLATION_SKIPPED)
+				.addValue("failedStatus", PreRegBatchContants.CANCELLATION_FAILED)
+				.addValue("crBy", crBy)
+				.addValue("now", Timestamp.valueOf(LocalDateTime.now()));
+		return namedParameterJdbcTemplate.update(INSERT_CANCELLATION, params) == 1 ? cancellation : null;
+	}
+
+	/**
+	 * @param limit
+	 * @return cancellations not completed yet whose retry time has come
+	 */
+	public List<AppointmentCancellationDto> findDue(int limit) {
+		MapSqlParameterSource params = new MapSqlParameterSource()
+				.addValue("pendingStatus", PreRegBatchContants.CANCELLATION_PENDING)
+				.addValue("cancelledStatus", PreRegBatchContants.CANCELLATION_CANCELLED)
+				.addValue("now", Timestamp.valueOf(LocalDateTime.now()))
+				.addValue("limit", limit);
+		return namedParameterJdbcTemplate.query(FIND_DUE_CANCELLATIONS, params, CANCELLATION_MAPPER);
+	}
+
+	/**
+	 * Saves the status, attempt count and next attempt time of the
+	 * cancellation.
+	 * 
+	 * @param cancellation
+	 * @param nextAttempt
+	 * @param updBy
+	 */
+	public void update(AppointmentCancellationDto cancellation, LocalDateTime nextAttempt, String updBy) {
+		MapSqlParameterSource params = keyParams(cancellation)
+				.addValue("statusCode", cancellation.getStatusCode())
+				.addValue("attemptCount", cancellation.getAttemptCount())
+				.addValue("nextAttempt", Timestamp.valueOf(nextAttempt))
+				.addValue("updBy", updBy)
+				.addValue("now", Timestamp.valueOf(LocalDateTime.now()));
+		namedParameterJdbcTemplate.update(UPDATE_STATUS, params);
+	}
+
+	private MapSqlParameterSource keyParams(AppointmentCancellationDto cancellation) {
+		return new MapSqlParameterSource()
+				.addValue("preRegId", cancellation.getPreRegistrationId())
+				.addValue("appointmentDate", Date.valueOf(cancellation.getAppointmentDate()))
+				.addValue("slotFromTime", Time.valueOf(cancellation.getSlotFromTime()));
+	}
+}
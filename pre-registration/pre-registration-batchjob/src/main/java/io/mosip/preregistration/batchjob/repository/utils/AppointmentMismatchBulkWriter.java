@@ -0,0 +1,85 @@
+package io.mosip.preregistration.batchjob.repository.utils;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.mosip.preregistration.core.code.StatusCodes;
+
+/**
+ * Reconciles the appointment details held in applications with
+ * reg_appointment in the database, joining both tables instead of loading the
+ * application of every appointment.
+ * 
+ * @since 1.2.0
+ *
+ */
+@Component
+public class AppointmentMismatchBulkWriter {
+
+	private static final String COUNT_APPOINTMENTS = "SELECT COUNT(*) FROM prereg.reg_appointment r "
+			+ "WHERE CAST(r.booking_dtimes AS DATE) = :bookingDate";
+
+	private static final String APPOINTMENTS_WITHOUT_APPLICATION = "SELECT r.prereg_id FROM prereg.reg_appointment r "
+			+ "WHERE CAST(r.booking_dtimes AS DATE) = :bookingDate AND NOT EXISTS "
+			+ "(SELECT 1 FROM prereg.applications a WHERE a.application_id = r.prereg_id)";
+
+	private static final String UPDATE_MISMATCHED_APPLICATIONS = "UPDATE prereg.applications a "
+			+ "SET booking_date = CAST(COALESCE(r.upd_dtimes, r.booking_dtimes) AS DATE), regcntr_id = r.regcntr_id, "
+			+ "slot_from_time = r.slot_from_time, slot_to_time = r.slot_to_time, appointment_date = r.appointment_date, "
+			+ "booking_status_code = :bookedStatus, upd_by = :updBy, upd_dtimes = :updDtimes "
+			+ "FROM prereg.reg_appointment r "
+			+ "WHERE r.prereg_id = a.application_id AND CAST(r.booking_dtimes AS DATE) = :bookingDate "
+			+ "AND (a.appointment_date IS DISTINCT FROM r.appointment_date "
+			+ "OR a.slot_from_time IS DISTINCT FROM r.slot_from_time "
+			+ "OR a.slot_to_time IS DISTINCT FROM r.slot_to_time) "
+			+ "RETURNING a.application_id";
+
+	@Autowired
+	private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+	/**
+	 * @param bookingDate
+	 * @return number of appointments booked on the date
+	 */
+	public long countAppointments(LocalDate bookingDate) {
+		return namedParameterJdbcTemplate.queryForObject(COUNT_APPOINTMENTS, 
+				new MapSqlParameterSource("bookingDate", Date.valueOf(bookingDate)), Long.class);
+	}
+
+	/**
+	 * @param bookingDate
+	 * @return pre registration ids of the appointments booked on the date that
+	 *         have no application
+	 */
+	public List<String> findAppointmentsWithoutApplication(LocalDate bookingDate) {
+		return namedParameterJdbcTemplate.queryForList(APPOINTMENTS_WITHOUT_APPLICATION, 
+				new MapSqlParameterSource("bookingDate", Date.valueOf(bookingDate)), String.class);
+	}
+
+	/**
+	 * Copies the appointment details of the appointments booked on the date into
+	 * the applications whose appointment date or slot differs.
+	 * 
+	 * @param bookingDate
+	 * @param updBy
+	 * @return pre registration ids of the updated applications
+	 */
+	@Transactional
+	public List<String> updateMismatchedApplications(LocalDate bookingDate, String updBy) {
+		MapSqlParameterSource params = new MapSqlParameterSource()
+				.addValue("bookingDate", Date.valueOf(bookingDate))
+				.addValue("bookedStatus", StatusCodes.BOOKED.getCode())
+				.addValue("updBy", updBy)
+				.addValue("updDtimes", Timestamp.valueOf(LocalDateTime.now()));
+		return namedParameterJdbcTemplate.queryForList(UPDATE_MISMATCHED_APPLICATIONS, params, String.class);
+	}
+}
@@ -0,0 +1,135 @@
+package io.mosip.preregistration.batchjob.repository.utils;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.preregistration.batchjob.code.PreRegBatchContants;
+import io.mosip.preregistration.batchjob.entity.AvailibityEntity;
+import io.mosip.preregistration.batchjob.model.AvailabilityDeltaDto;
+import io.mosip.preregistration.core.config.LoggerConfiguration;
+
+/**
+ * Writes reg_available_slot rows with JDBC batches instead of one
+ * JpaRepository.save per slot, which selects every new slot by its composite
+ * key before inserting it. Inserts skip slots that already exist, upserts
+ * overwrite them as the save did.
+ * 
+ * @since 1.2.0
+ *
+ */
+@Component
+public class AvailabilityBulkWriter {
+
+	private static final String INSERT_AVAILABILITY = "INSERT INTO prereg.reg_available_slot (regcntr_id, availability_date, "
+			+ "slot_from_time, slot_to_time, available_kiosks, cr_by, cr_dtimes, is_deleted) VALUES (?, ?, ?, ?, ?, ?, ?, false) "
+			+ "ON CONFLICT (regcntr_id, availability_date, slot_from_time) DO NOTHING";
+
+	private static final String UPSERT_AVAILABILITY = "INSERT INTO prereg.reg_available_slot (regcntr_id, availability_date, "
+			+ "slot_from_time, slot_to_time, available_kiosks, cr_by, cr_dtimes, is_deleted) VALUES (?, ?, ?, ?, ?, ?, ?, false) "
+			+ "ON CONFLICT (regcntr_id, availability_date, slot_from_time) DO UPDATE SET slot_to_time = EXCLUDED.slot_to_time, "
+			+ "available_kiosks = EXCLUDED.available_kiosks, cr_by = EXCLUDED.cr_by, cr_dtimes = EXCLUDED.cr_dtimes, "
+			+ "upd_by = NULL, upd_dtimes = NULL, is_deleted = false, del_dtimes = NULL";
+
+	private static final String UPDATE_AVAILABILITY = "UPDATE prereg.reg_available_slot SET slot_to_time = ?, available_kiosks = ?, "
+			+ "upd_by = ?, upd_dtimes = ? WHERE regcntr_id = ? AND availability_date = ? AND slot_from_time = ?";
+
+	private static final String DELETE_AVAILABILITY = "DELETE FROM prereg.reg_available_slot "
+			+ "WHERE regcntr_id = ? AND availability_date = ? AND slot_from_time = ?";
+
+	private Logger LOGGER = LoggerConfiguration.logConfig(AvailabilityBulkWriter.class);
+
+	@Value("${preregistration.availability.jdbc.batch-size:500}")
+	private int batchSize;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired(required = false)
+	private MeterRegistry meterRegistry;
+
+	/**
+	 * Applies the deletes, then the updates, then the inserts of the delta.
+	 * 
+	 * @param delta
+	 */
+	public void apply(AvailabilityDeltaDto delta) {
+		delete(delta.getDeletes());
+		update(delta.getUpdates());
+		insert(delta.getInserts());
+	}
+
+	/**
+	 * Inserts the slots, skipping those that already exist.
+	 * 
+	 * @param slots
+	 */
+	public void insert(List<AvailibityEntity> slots) {
+		write("insert", INSERT_AVAILABILITY, slots, AvailabilityBulkWriter::insertArgs);
+	}
+
+	/**
+	 * Inserts the slots, replacing those that already exist the way
+	 * JpaRepository.save of a new entity does.
+	 * 
+	 * @param slots
+	 */
+	public void upsert(List<AvailibityEntity> slots) {
+		write("upsert", UPSERT_AVAILABILITY, slots, AvailabilityBulkWriter::insertArgs);
+	}
+
+	/**
+	 * Updates the end time and available kiosks of existing slots. The slot's
+	 * created by and created date are recorded as the update audit columns.
+	 * 
+	 * @param slots
+	 */
+	public void update(List<AvailibityEntity> slots) {
+		write("update", UPDATE_AVAILABILITY, slots,
+				slot -> new Object[] { Time.valueOf(slot.getToTime()), slot.getAvailableKiosks(), slot.getCrBy(),
+						Timestamp.valueOf(slot.getCrDate()), slot.getRegcntrId(), Date.valueOf(slot.getRegDate()),
+						Time.valueOf(slot.getFromTime()) });
+	}
+
+	public void delete(List<AvailibityEntity> slots) {
+		write("delete", DELETE_AVAILABILITY, slots, slot -> new Object[] { slot.getRegcntrId(),
+				Date.valueOf(slot.getRegDate()), Time.valueOf(slot.getFromTime()) });
+	}
+
+	private static Object[] insertArgs(AvailibityEntity slot) {
+		return new Object[] { slot.getRegcntrId(), Date.valueOf(slot.getRegDate()), Time.valueOf(slot.getFromTime()),
+				Time.valueOf(slot.getToTime()), slot.getAvailableKiosks(), slot.getCrBy(),
+				Timestamp.valueOf(slot.getCrDate()) };
+	}
+
+	private void write(String operation, String sql, List<AvailibityEntity> slots,
+			Function<AvailibityEntity, Object[]> toArgs) {
+		for (int from = 0; from < slots.size(); from += batchSize) {
+			List<Object[]> batchArgs = slots.subList(from, Math.min(from + batchSize, slots.size())).stream()
+					.map(toArgs).collect(Collectors.toList());
+			long startTime = System.nanoTime();
+			jdbcTemplate.batchUpdate(sql, batchArgs);
+			long elapsed = System.nanoTime() - startTime;
+			if (meterRegistry != null) {
+				meterRegistry.timer("preregistration.availability.batch", "operation", operation).record(elapsed,
+						TimeUnit.NANOSECONDS);
+				meterRegistry.counter("preregistration.availability.rows", "operation", operation)
+						.increment(batchArgs.size());
+			}
+			LOGGER.debug(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, operation,
+					"Availability batch of " + batchArgs.size() + " rows written in "
+							+ TimeUnit.NANOSECONDS.toMillis(elapsed) + " ms");
+		}
+	}
+}
@@ -2,11 +2,14 @@ package io.mosip.preregistration.batchjob.repository.utils;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Collections;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import io.mosip.kernel.core.dataaccess.exception.DataAccessLayerException;
 import io.mosip.kernel.core.logger.spi.Logger;
@@ -16,8 +19,10 @@ import io.mosip.preregistration.batchjob.entity.AvailibityEntity;
 import io.mosip.preregistration.batchjob.entity.DemographicEntityConsumed;
 import io.mosip.preregistration.batchjob.entity.DocumentEntityConsumed;
 import io.mosip.preregistration.batchjob.entity.ProcessedPreRegEntity;
+import io.mosip.preregistration.batchjob.entity.RegCenterSlotFingerprintEntity;
 import io.mosip.preregistration.batchjob.entity.RegistrationBookingEntityConsumed;
 import io.mosip.preregistration.batchjob.exception.NoPreIdAvailableException;
+import io.mosip.preregistration.batchjob.model.AvailabilityDeltaDto;
 import io.mosip.preregistration.batchjob.repository.ApplicationRepository;
 import io.mosip.preregistration.batchjob.repository.AvailabilityRepository;
 import io.mosip.preregistration.batchjob.repository.DemographicConsumedRepository;
@@ -27,6 +32,7 @@ import io.mosip.preregistration.batchjob.repository.DocumentRespository;
 import io.mosip.preregistration.batchjob.repository.ProcessedPreIdRepository;
 import io.mosip.preregistration.batchjob.repository.RegAppointmentConsumedRepository;
 import io.mosip.preregistration.batchjob.repository.RegAppointmentRepository;
+import io.mosip.preregistration.batchjob.repository.RegCenterSlotFingerprintRepository;
 import io.mosip.preregistration.core.code.StatusCodes;
 import io.mosip.preregistration.core.common.entity.ApplicationEntity;
 import io.mosip.preregistration.core.common.entity.DemographicEntity;
@@ -41,6 +47,13 @@ public class BatchJpaRepositoryImpl {
 	/** The Constant LOGGER. */
 	private Logger log = LoggerConfiguration.logConfig(BatchJpaRepositoryImpl.class);
 
+	@Autowired
+	private AvailabilityBulkWriter availabilityBulkWriter;
+
+	@Autowired
+	@Qualifier("regCenterSlotFingerprintRepository")
+	private RegCenterSlotFingerprintRepository slotFingerprintRepository;
+
 	/**
 	 * Autowired reference for {@link #demographicRepository}
 	 */
@@ -534,7 +547,80 @@ public class BatchJpaRepositoryImpl {
 	 * @return boolean
 	 */
 	public AvailibityEntity saveAvailability(AvailibityEntity entity) {
-		return availabilityRepository.save(entity);
+		try {
+			availabilityBulkWriter.upsert(Collections.singletonList(entity));
+		} catch (DataAccessException e) {
+			throw new TableNotAccessibleException(ErrorCodes.PRG_PAM_BAT_013.getCode(),
+					ErrorMessages.AVAILABILITY_TABLE_NOT_ACCESSABLE.getMessage());
+		}
+		return entity;
+	}
+
+	/**
+	 * 
+	 * @param regId
+	 * @param fromDate
+	 * @param toDate
+	 * @return list of AvailibityEntity from fromDate (inclusive) to toDate
+	 *         (exclusive)
+	 */
+	public List<AvailibityEntity> findSlotsBetween(String regId, LocalDate fromDate, LocalDate toDate) {
+		try {
+			return availabilityRepository.findSlotsBetween(regId, fromDate, toDate);
+		} catch (DataAccessLayerException e) {
+			throw new TableNotAccessibleException(ErrorCodes.PRG_PAM_BAT_013.getCode(),
+					ErrorMessages.AVAILABILITY_TABLE_NOT_ACCESSABLE.getMessage());
+		}
+	}
+
+	/**
+	 * Applies the slot changes with JDBC batches and stores the fingerprint they
+	 * were generated from in the same transaction, so a failed run leaves the
+	 * previous fingerprint and the days are regenerated on the next run.
+	 * 
+	 * @param delta       slot changes, may be empty
+	 * @param fingerprint fingerprint of the registration center to store
+	 */
+	@Transactional
+	public void applyAvailabilityDelta(AvailabilityDeltaDto delta, RegCenterSlotFingerprintEntity fingerprint) {
+		try {
+			if (!delta.isEmpty()) {
+				availabilityBulkWriter.apply(delta);
+			}
+			slotFingerprintRepository.save(fingerprint);
+		} catch (DataAccessException e) {
+			log.error("sessionId", "idType", "id", "In applyAvailabilityDelta - " + e.getMessage());
+			throw new TableNotAccessibleException(ErrorCodes.PRG_PAM_BAT_013.getCode(),
+					ErrorMessages.AVAILABILITY_TABLE_NOT_ACCESSABLE.getMessage());
+		}
+	}
+
+	/**
+	 * 
+	 * @param regIds
+	 * @return slot fingerprints of the given registration centers
+	 */
+	public List<RegCenterSlotFingerprintEntity> findSlotFingerprints(List<String> regIds) {
+		try {
+			return slotFingerprintRepository.findByRegcntrIdIn(regIds);
+		} catch (DataAccessLayerException e) {
+			throw new TableNotAccessibleException(ErrorCodes.PRG_PAM_BAT_013.getCode(),
+					ErrorMessages.AVAILABILITY_TABLE_NOT_ACCESSABLE.getMessage());
+		}
+	}
+
+	/**
+	 * 
+	 * @param regId
+	 * @return number of deleted items
+	 */
+	public int deleteSlotFingerprint(String regId) {
+		try {
+			return slotFingerprintRepository.deleteByRegcntrId(regId);
+		} catch (DataAccessLayerException e) {
+			throw new TableNotAccessibleException(ErrorCodes.PRG_PAM_BAT_013.getCode(),
+					ErrorMessages.AVAILABILITY_TABLE_NOT_ACCESSABLE.getMessage());
+		}
 	}
 
 	public void flushAvailability() {
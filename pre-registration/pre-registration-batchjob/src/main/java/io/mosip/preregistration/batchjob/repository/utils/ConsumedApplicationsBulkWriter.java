@@ -0,0 +1,125 @@
+package io.mosip.preregistration.batchjob.repository.utils;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.preregistration.batchjob.code.PreRegBatchContants;
+import io.mosip.preregistration.core.code.StatusCodes;
+import io.mosip.preregistration.core.config.LoggerConfiguration;
+
+/**
+ * Moves the applications processed by registration processor to the consumed
+ * tables with one set based statement per table for a whole chunk of pre
+ * registration ids, instead of loading and saving every row through JPA.
+ * 
+ * @since 1.2.0
+ *
+ */
+@Component
+public class ConsumedApplicationsBulkWriter {
+
+	private static final String DELETE_INVALID_PROCESSED = "DELETE FROM prereg.processed_prereg_list p "
+			+ "WHERE p.prereg_id IN (:preRegIds) AND NOT EXISTS "
+			+ "(SELECT 1 FROM prereg.applicant_demographic d WHERE d.prereg_id = p.prereg_id)";
+
+	private static final String INSERT_DEMOGRAPHIC_CONSUMED = "INSERT INTO prereg.applicant_demographic_consumed "
+			+ "(prereg_id, demog_detail, demog_detail_hash, encrypted_dtimes, status_code, lang_code, cr_appuser_id, "
+			+ "cr_by, cr_dtimes, upd_by, upd_dtimes) "
+			+ "SELECT prereg_id, demog_detail, demog_detail_hash, encrypted_dtimes, :consumedStatus, lang_code, "
+			+ "cr_appuser_id, cr_by, cr_dtimes, :updBy, :updDtimes FROM prereg.applicant_demographic "
+			+ "WHERE prereg_id IN (:preRegIds) ON CONFLICT (prereg_id) DO UPDATE SET "
+			+ "demog_detail = EXCLUDED.demog_detail, demog_detail_hash = EXCLUDED.demog_detail_hash, "
+			+ "encrypted_dtimes = EXCLUDED.encrypted_dtimes, status_code = EXCLUDED.status_code, "
+			+ "lang_code = EXCLUDED.lang_code, cr_appuser_id = EXCLUDED.cr_appuser_id, cr_by = EXCLUDED.cr_by, "
+			+ "cr_dtimes = EXCLUDED.cr_dtimes, upd_by = EXCLUDED.upd_by, upd_dtimes = EXCLUDED.upd_dtimes";
+
+	private static final String INSERT_DOCUMENT_CONSUMED = "INSERT INTO prereg.applicant_document_consumed "
+			+ "(id, prereg_id, doc_name, doc_cat_code, doc_typ_code, doc_file_format, doc_id, doc_hash, doc_ref_id, "
+			+ "encrypted_dtimes, status_code, lang_code, cr_by, cr_dtimes, upd_by, upd_dtimes) "
+			+ "SELECT id, prereg_id, doc_name, doc_cat_code, doc_typ_code, doc_file_format, doc_id, doc_hash, doc_ref_id, "
+			+ "encrypted_dtimes, status_code, lang_code, cr_by, cr_dtimes, :updBy, :updDtimes FROM prereg.applicant_document "
+			+ "WHERE prereg_id IN (:preRegIds) ON CONFLICT (id) DO UPDATE SET "
+			+ "prereg_id = EXCLUDED.prereg_id, doc_name = EXCLUDED.doc_name, doc_cat_code = EXCLUDED.doc_cat_code, "
+			+ "doc_typ_code = EXCLUDED.doc_typ_code, doc_file_format = EXCLUDED.doc_file_format, doc_id = EXCLUDED.doc_id, "
+			+ "doc_hash = EXCLUDED.doc_hash, doc_ref_id = EXCLUDED.doc_ref_id, encrypted_dtimes = EXCLUDED.encrypted_dtimes, "
+			+ "status_code = EXCLUDED.status_code, lang_code = EXCLUDED.lang_code, cr_by = EXCLUDED.cr_by, "
+			+ "cr_dtimes = EXCLUDED.cr_dtimes, upd_by = EXCLUDED.upd_by, upd_dtimes = EXCLUDED.upd_dtimes";
+
+	private static final String BOOKED_PRE_REG_IDS = "SELECT d.prereg_id FROM prereg.applicant_demographic d "
+			+ "WHERE d.prereg_id IN (:preRegIds) AND d.status_code = :bookedStatus";
+
+	private static final String INSERT_APPOINTMENT_CONSUMED = "INSERT INTO prereg.reg_appointment_consumed "
+			+ "(id, regcntr_id, prereg_id, booking_dtimes, appointment_date, slot_from_time, slot_to_time, lang_code, "
+			+ "cr_by, cr_dtimes, upd_by, upd_dtimes) "
+			+ "SELECT id, regcntr_id, prereg_id, booking_dtimes, appointment_date, slot_from_time, slot_to_time, lang_code, "
+			+ "cr_by, cr_dtimes, :updBy, :updDtimes FROM prereg.reg_appointment "
+			+ "WHERE prereg_id IN (" + BOOKED_PRE_REG_IDS + ") ON CONFLICT (prereg_id) DO UPDATE SET "
+			+ "id = EXCLUDED.id, regcntr_id = EXCLUDED.regcntr_id, booking_dtimes = EXCLUDED.booking_dtimes, "
+			+ "appointment_date = EXCLUDED.appointment_date, slot_from_time = EXCLUDED.slot_from_time, "
+			+ "slot_to_time = EXCLUDED.slot_to_time, lang_code = EXCLUDED.lang_code, cr_by = EXCLUDED.cr_by, "
+			+ "cr_dtimes = EXCLUDED.cr_dtimes, upd_by = EXCLUDED.upd_by, upd_dtimes = EXCLUDED.upd_dtimes";
+
+	private static final String DELETE_APPOINTMENT = "DELETE FROM prereg.reg_appointment WHERE prereg_id IN ("
+			+ BOOKED_PRE_REG_IDS + ")";
+
+	private static final String DELETE_DOCUMENT = "DELETE FROM prereg.applicant_document WHERE prereg_id IN (:preRegIds)";
+
+	private static final String DELETE_APPLICATION = "DELETE FROM prereg.applications a "
+			+ "WHERE a.application_id IN (:preRegIds) AND EXISTS "
+			+ "(SELECT 1 FROM prereg.applicant_demographic d WHERE d.prereg_id = a.application_id)";
+
+	private static final String UPDATE_PROCESSED = "UPDATE prereg.processed_prereg_list p SET status_comments = :statusComments "
+			+ "WHERE p.prereg_id IN (:preRegIds) AND EXISTS "
+			+ "(SELECT 1 FROM prereg.applicant_demographic d WHERE d.prereg_id = p.prereg_id)";
+
+	private static final String DELETE_DEMOGRAPHIC = "DELETE FROM prereg.applicant_demographic WHERE prereg_id IN (:preRegIds)";
+
+	private Logger LOGGER = LoggerConfiguration.logConfig(ConsumedApplicationsBulkWriter.class);
+
+	@Autowired
+	private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+	/**
+	 * Copies demographic, documents and booked appointment of the pre
+	 * registration ids to the consumed tables, purges them from the live tables
+	 * and marks the ids consumed in the processed list. Processed ids without a
+	 * demographic are removed from the processed list. A row already in a
+	 * consumed table is overwritten with the live one, so the live row is
+	 * never deleted without its data being kept. Has to run in a
+	 * transaction, the statements depend on each other's order.
+	 * 
+	 * @param preRegIds
+	 * @param updBy
+	 * @return number of applications moved to consumed
+	 */
+	public int moveToConsumed(List<String> preRegIds, String updBy) {
+		MapSqlParameterSource params = new MapSqlParameterSource()
+				.addValue("preRegIds", preRegIds)
+				.addValue("updBy", updBy)
+				.addValue("updDtimes", Timestamp.valueOf(LocalDateTime.now()))
+				.addValue("consumedStatus", StatusCodes.CONSUMED.getCode())
+				.addValue("bookedStatus", StatusCodes.BOOKED.getCode())
+				.addValue("statusComments", PreRegBatchContants.NEW_STATUS_COMMENTS);
+
+		int invalid = namedParameterJdbcTemplate.update(DELETE_INVALID_PROCESSED, params);
+		int demographics = namedParameterJdbcTemplate.update(INSERT_DEMOGRAPHIC_CONSUMED, params);
+		int documents = namedParameterJdbcTemplate.update(INSERT_DOCUMENT_CONSUMED, params);
+		int appointments = namedParameterJdbcTemplate.update(INSERT_APPOINTMENT_CONSUMED, params);
+		namedParameterJdbcTemplate.update(DELETE_APPOINTMENT, params);
+		namedParameterJdbcTemplate.update(DELETE_DOCUMENT, params);
+		namedParameterJdbcTemplate.update(DELETE_APPLICATION, params);
+		int processed = namedParameterJdbcTemplate.update(UPDATE_PROCESSED, params);
+		namedParameterJdbcTemplate.update(DELETE_DEMOGRAPHIC, params);
+		LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.APPLICATION_CONSUMED_JOB, 
+				"Moved to consumed, pre reg ids: " + preRegIds.size() + ", demographics: " + demographics + ", documents: " 
+				+ documents + ", appointments: " + appointments + ", invalid processed pre reg ids deleted: " + invalid);
+		return processed;
+	}
+}
@@ -0,0 +1,74 @@
+package io.mosip.preregistration.batchjob.repository.utils;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.preregistration.batchjob.code.PreRegBatchContants;
+import io.mosip.preregistration.core.code.StatusCodes;
+import io.mosip.preregistration.core.config.LoggerConfiguration;
+
+/**
+ * Marks the booked applications whose appointment date has passed as expired
+ * with two set based updates, instead of loading and saving the application
+ * and demographic of every pre registration id.
+ * 
+ * @since 1.2.0
+ *
+ */
+@Component
+public class ExpiredApplicationsBulkWriter {
+
+	private static final String EXPIRED_BOOKINGS = "SELECT a.application_id FROM prereg.applications a "
+			+ "JOIN prereg.reg_appointment r ON r.prereg_id = a.application_id "
+			+ "WHERE a.booking_status_code = :bookedStatus AND a.appointment_date < :currentDate";
+
+	private static final String UPDATE_DEMOGRAPHIC_EXPIRED = "UPDATE prereg.applicant_demographic "
+			+ "SET status_code = :expiredStatus, upd_by = :updBy, upd_dtimes = :updDtimes "
+			+ "WHERE status_code = :bookedStatus AND prereg_id IN (" + EXPIRED_BOOKINGS + ") RETURNING prereg_id";
+
+	private static final String UPDATE_APPLICATION_EXPIRED = "UPDATE prereg.applications "
+			+ "SET booking_status_code = :expiredStatus, upd_by = :updBy, upd_dtimes = :updDtimes "
+			+ "WHERE application_id IN (" + EXPIRED_BOOKINGS + ") RETURNING application_id";
+
+	private Logger LOGGER = LoggerConfiguration.logConfig(ExpiredApplicationsBulkWriter.class);
+
+	@Autowired
+	private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+	/**
+	 * Updates the applicant demographic first, its selection depends on the
+	 * booking status of the application updated next.
+	 * 
+	 * @param updBy
+	 * @return pre registration ids of the applications marked expired
+	 */
+	@Transactional
+	public List<String> markExpired(String updBy) {
+		MapSqlParameterSource params = new MapSqlParameterSource()
+				.addValue("bookedStatus", StatusCodes.BOOKED.getCode())
+				.addValue("expiredStatus", StatusCodes.EXPIRED.getCode())
+				.addValue("currentDate", Date.valueOf(LocalDate.now()))
+				.addValue("updBy", updBy)
+				.addValue("updDtimes", Timestamp.valueOf(LocalDateTime.now()));
+
+		List<String> demographicPreRegIds = namedParameterJdbcTemplate.queryForList(UPDATE_DEMOGRAPHIC_EXPIRED, params, 
+				String.class);
+		List<String> expiredPreRegIds = new ArrayList<>(namedParameterJdbcTemplate.queryForList(UPDATE_APPLICATION_EXPIRED, 
+				params, String.class));
+		LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EXPIRED_STATUS_JOB, 
+				"Applications updated as expired: " + expiredPreRegIds.size() + ", Applicant Demographics updated as expired: " 
+				+ demographicPreRegIds.size());
+		return expiredPreRegIds;
+	}
+}
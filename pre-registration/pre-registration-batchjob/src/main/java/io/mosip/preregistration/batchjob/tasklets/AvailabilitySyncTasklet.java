@@ -5,16 +5,23 @@
  */
 package io.mosip.preregistration.batchjob.tasklets;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.batch.core.ExitStatus;
 import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
 import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.JobSynchronizationManager;
 import org.springframework.batch.core.step.tasklet.Tasklet;
 import org.springframework.batch.repeat.RepeatStatus;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.preregistration.batchjob.code.PreRegBatchContants;
+import io.mosip.preregistration.batchjob.helper.RegCenterIdsHolder;
+import io.mosip.preregistration.batchjob.helper.SlotGenerationQueue;
 import io.mosip.preregistration.batchjob.impl.SlotAvailabilityGenerator;
 import io.mosip.preregistration.core.config.LoggerConfiguration;
 
@@ -29,6 +36,12 @@ public class AvailabilitySyncTasklet implements Tasklet {
 
 	@Autowired
 	private SlotAvailabilityGenerator availabilityGenerator;
+
+	@Autowired
+	private SlotGenerationQueue slotGenerationQueue;
+
+	@Autowired
+	private RegCenterIdsHolder regCenterIdsHolder;
 	
 	private Logger log = LoggerConfiguration.logConfig(AvailabilitySyncTasklet.class);
 
@@ -36,9 +49,12 @@ public class AvailabilitySyncTasklet implements Tasklet {
 
 	private String name;
 
-	public AvailabilitySyncTasklet(String name, List<String> partRegCentersList) {
+	private boolean dynamicMode;
+
+	public AvailabilitySyncTasklet(String name, List<String> partRegCentersList, String mode) {
 		this.name = name;
 		this.partRegCentersList = partRegCentersList;
+		this.dynamicMode = PreRegBatchContants.DYNAMIC_PARTITION_MODE.equals(mode);
 	}
 
 	/* (non-Javadoc)
@@ -47,11 +63,21 @@ public class AvailabilitySyncTasklet implements Tasklet {
 	@Override
 	public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
 		
+		StepExecution stepExecution = chunkContext.getStepContext().getStepExecution();
+		// partitions run on pool threads, the job scope of the run has to be bound to them.
+		JobSynchronizationManager.register(stepExecution.getJobExecution());
 		try {
-			availabilityGenerator.generateRegistrationAvailabilitySlots(name, partRegCentersList);
+			Map<String, Long> regCenterTimings = dynamicMode
+					? availabilityGenerator.generateRegistrationAvailabilitySlots(name, slotGenerationQueue)
+					: availabilityGenerator.generateRegistrationAvailabilitySlots(name, partRegCentersList, regCenterIdsHolder);
+			stepExecution.getExecutionContext().put(PreRegBatchContants.REG_CENTER_TIMINGS, new HashMap<>(regCenterTimings));
 		} catch (Exception e) {
 			log.error("Sync master ", " Tasklet ", " encountered exception ", e.getMessage());
 			contribution.setExitStatus(new ExitStatus(e.getMessage()));
+			// the centers of this partition are not to be taken as processed
+			stepExecution.getJobExecution().getExecutionContext().put(PreRegBatchContants.SLOT_GENERATION_FAILED, true);
+		} finally {
+			JobSynchronizationManager.release();
 		}
 
 		return RepeatStatus.FINISHED;
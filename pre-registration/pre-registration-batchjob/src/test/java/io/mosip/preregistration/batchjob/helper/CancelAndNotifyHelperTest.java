@@ -0,0 +1,191 @@
+package io.mosip.preregistration.batchjob.helper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.batch.support.transaction.ResourcelessTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.mosip.preregistration.batchjob.code.PreRegBatchContants;
+import io.mosip.preregistration.batchjob.model.AppointmentCancellationDto;
+import io.mosip.preregistration.batchjob.repository.utils.AppointmentCancellationStore;
+import io.mosip.preregistration.batchjob.repository.utils.BatchJpaRepositoryImpl;
+import io.mosip.preregistration.core.common.entity.ApplicationEntity;
+import io.mosip.preregistration.core.common.entity.RegistrationBookingEntity;
+
+/**
+ * Test class for {@link CancelAndNotifyHelper}
+ *
+ * The store mock stands for reg_appointment_cancellation: an update only
+ * matches the row once the transaction that added it has committed.
+ *
+ * @since 1.2.0
+ *
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class CancelAndNotifyHelperTest {
+
+	private static final String PRE_REG_ID = "12345678901234";
+
+	private static final LocalDate APPOINTMENT_DATE = LocalDate.of(2026, 1, 5);
+
+	private static final LocalTime SLOT_FROM_TIME = LocalTime.of(9, 0);
+
+	@InjectMocks
+	private CancelAndNotifyHelper cancelAndNotifyHelper;
+
+	@Mock
+	private BatchJpaRepositoryImpl batchServiceDAO;
+
+	@Mock
+	private RestHelper restHelper;
+
+	@Mock
+	private AppointmentCancellationStore cancellationStore;
+
+	private final TransactionTemplate transactionTemplate = new TransactionTemplate(
+			new ResourcelessTransactionManager());
+
+	private final AtomicBoolean rowCommitted = new AtomicBoolean();
+
+	/**
+	 * Statuses written to the committed row
+	 */
+	private final List<String> rowStatuses = new CopyOnWriteArrayList<>();
+
+	private final CountDownLatch completed = new CountDownLatch(1);
+
+	@Before
+	public void setUp() {
+		ReflectionTestUtils.setField(cancelAndNotifyHelper, "batchUserId", "batch");
+		ReflectionTestUtils.setField(cancelAndNotifyHelper, "threadCount", 1);
+		ReflectionTestUtils.setField(cancelAndNotifyHelper, "queueCapacity", 10);
+		ReflectionTestUtils.setField(cancelAndNotifyHelper, "ratePerSecond", 1000);
+		ReflectionTestUtils.setField(cancelAndNotifyHelper, "retryMaxAttempts", 5);
+		ReflectionTestUtils.setField(cancelAndNotifyHelper, "retryBackoffMs", 60000L);
+		ReflectionTestUtils.setField(cancelAndNotifyHelper, "sweepIntervalMs", TimeUnit.HOURS.toMillis(1));
+		cancelAndNotifyHelper.init();
+
+		Mockito.when(cancellationStore.add(Mockito.any(RegistrationBookingEntity.class), Mockito.eq("batch")))
+				.thenAnswer(invocation -> pendingCancellation());
+		Mockito.lenient().doAnswer(invocation -> {
+			AppointmentCancellationDto cancellation = invocation.getArgument(0);
+			if (rowCommitted.get()) {
+				rowStatuses.add(cancellation.getStatusCode());
+			}
+			if (PreRegBatchContants.CANCELLATION_NOTIFIED.equals(cancellation.getStatusCode())) {
+				completed.countDown();
+			}
+			return null;
+		}).when(cancellationStore).update(Mockito.any(AppointmentCancellationDto.class),
+				Mockito.any(LocalDateTime.class), Mockito.eq("batch"));
+		Mockito.lenient().when(batchServiceDAO.getBookedApplicantEntityDetails(PRE_REG_ID))
+				.thenReturn(bookedApplication());
+		Mockito.lenient().when(restHelper.cancelBookedApplication(Mockito.eq(PRE_REG_ID), Mockito.anyString()))
+				.thenReturn(true);
+		Mockito.lenient().when(restHelper.sendCancelledNotification(Mockito.eq(PRE_REG_ID), Mockito.anyString(),
+				Mockito.anyString(), Mockito.anyString(), Mockito.anyString())).thenReturn(true);
+	}
+
+	@After
+	public void tearDown() {
+		cancelAndNotifyHelper.destroy();
+	}
+
+	@Test
+	public void cancelAndNotifyInTransactionTest() throws InterruptedException {
+		transactionTemplate.execute(status -> {
+			commitRowWithTransaction();
+			cancelAndNotifyHelper.cancelAndNotifyApplicant(bookedSlot(), "logIdentifier");
+			return null;
+		});
+
+		assertTrue(completed.await(10, TimeUnit.SECONDS));
+		assertEquals(PreRegBatchContants.CANCELLATION_NOTIFIED, rowStatuses.get(rowStatuses.size() - 1));
+		assertTrue(rowStatuses.contains(PreRegBatchContants.CANCELLATION_CANCELLED));
+	}
+
+	@Test
+	public void cancelAndNotifyRolledBackTest() throws InterruptedException {
+		transactionTemplate.execute(status -> {
+			cancelAndNotifyHelper.cancelAndNotifyApplicant(bookedSlot(), "logIdentifier");
+			status.setRollbackOnly();
+			return null;
+		});
+
+		assertFalse(completed.await(200, TimeUnit.MILLISECONDS));
+		Mockito.verifyZeroInteractions(restHelper);
+		Mockito.verify(cancellationStore, Mockito.never()).update(Mockito.any(AppointmentCancellationDto.class),
+				Mockito.any(LocalDateTime.class), Mockito.anyString());
+	}
+
+	@Test
+	public void cancelAndNotifyWithoutTransactionTest() throws InterruptedException {
+		rowCommitted.set(true);
+
+		cancelAndNotifyHelper.cancelAndNotifyApplicant(bookedSlot(), "logIdentifier");
+
+		assertTrue(completed.await(10, TimeUnit.SECONDS));
+		assertEquals(PreRegBatchContants.CANCELLATION_NOTIFIED, rowStatuses.get(rowStatuses.size() - 1));
+	}
+
+	/**
+	 * Marks the row visible to other connections once the surrounding
+	 * transaction commits, ahead of the synchronizations registered after it.
+	 */
+	private void commitRowWithTransaction() {
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+			@Override
+			public void afterCommit() {
+				rowCommitted.set(true);
+			}
+		});
+	}
+
+	private static AppointmentCancellationDto pendingCancellation() {
+		AppointmentCancellationDto cancellation = new AppointmentCancellationDto();
+		cancellation.setPreRegistrationId(PRE_REG_ID);
+		cancellation.setRegistrationCenterId("10001");
+		cancellation.setAppointmentDate(APPOINTMENT_DATE);
+		cancellation.setSlotFromTime(SLOT_FROM_TIME);
+		cancellation.setLangCode("eng");
+		cancellation.setStatusCode(PreRegBatchContants.CANCELLATION_PENDING);
+		return cancellation;
+	}
+
+	private static ApplicationEntity bookedApplication() {
+		ApplicationEntity application = new ApplicationEntity();
+		application.setApplicationId(PRE_REG_ID);
+		application.setRegistrationCenterId("10001");
+		application.setAppointmentDate(APPOINTMENT_DATE);
+		application.setSlotFromTime(SLOT_FROM_TIME);
+		return application;
+	}
+
+	private static RegistrationBookingEntity bookedSlot() {
+		RegistrationBookingEntity bookedSlot = new RegistrationBookingEntity();
+		bookedSlot.setPreregistrationId(PRE_REG_ID);
+		return bookedSlot;
+	}
+}
@@ -0,0 +1,165 @@
+package io.mosip.preregistration.batchjob.helper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.preregistration.batchjob.entity.RegCenterSlotFingerprintEntity;
+import io.mosip.preregistration.batchjob.model.HolidayCalendar;
+import io.mosip.preregistration.batchjob.model.RegistrationCenterDto;
+import io.mosip.preregistration.batchjob.repository.utils.BatchJpaRepositoryImpl;
+
+/**
+ * Test class for {@link SlotFingerprintHelper}
+ *
+ * @since 1.2.0
+ *
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class SlotFingerprintHelperTest {
+
+	private static final LocalDate FROM_DATE = LocalDate.of(2026, 1, 5);
+
+	private static final LocalDate TO_DATE = FROM_DATE.plusDays(7);
+
+	@InjectMocks
+	private SlotFingerprintHelper slotFingerprintHelper;
+
+	@Mock
+	private BatchJpaRepositoryImpl batchServiceDAO;
+
+	private RegistrationCenterDto regCenter;
+
+	private HolidayCalendar holidays;
+
+	@Before
+	public void setUp() {
+		ReflectionTestUtils.setField(slotFingerprintHelper, "incrementalEnabled", true);
+		ReflectionTestUtils.setField(slotFingerprintHelper, "auditUsername", "batchUser");
+		regCenter = new RegistrationCenterDto();
+		regCenter.setId("10001");
+		regCenter.setCenterStartTime(LocalTime.of(9, 0));
+		regCenter.setCenterEndTime(LocalTime.of(17, 0));
+		regCenter.setLunchStartTime(LocalTime.of(13, 0));
+		regCenter.setLunchEndTime(LocalTime.of(14, 0));
+		regCenter.setPerKioskProcessTime(LocalTime.of(0, 15));
+		regCenter.setNumberOfKiosks((short) 3);
+		holidays = new HolidayCalendar(FROM_DATE, 7);
+		holidays.add(FROM_DATE.plusDays(2));
+	}
+
+	@Test
+	public void findFingerprintsTest() {
+		RegCenterSlotFingerprintEntity fingerprint = storedFingerprint(FROM_DATE, TO_DATE);
+		Mockito.when(batchServiceDAO.findSlotFingerprints(Arrays.asList("10001")))
+				.thenReturn(Arrays.asList(fingerprint));
+
+		Map<String, RegCenterSlotFingerprintEntity> fingerprints = slotFingerprintHelper
+				.findFingerprints(Arrays.asList("10001"));
+
+		assertSame(fingerprint, fingerprints.get("10001"));
+		assertTrue(slotFingerprintHelper.findFingerprints(Collections.emptyList()).isEmpty());
+	}
+
+	@Test
+	public void findChangedDaysNoFingerprintTest() {
+		assertNull(slotFingerprintHelper.findChangedDays(regCenter, holidays, FROM_DATE, TO_DATE, null));
+	}
+
+	@Test
+	public void findChangedDaysIncrementalDisabledTest() {
+		ReflectionTestUtils.setField(slotFingerprintHelper, "incrementalEnabled", false);
+		assertNull(slotFingerprintHelper.findChangedDays(regCenter, holidays, FROM_DATE, TO_DATE,
+				storedFingerprint(FROM_DATE, TO_DATE)));
+	}
+
+	@Test
+	public void findChangedDaysConfigChangedTest() {
+		RegCenterSlotFingerprintEntity fingerprint = storedFingerprint(FROM_DATE, TO_DATE);
+		regCenter.setNumberOfKiosks((short) 4);
+		assertNull(slotFingerprintHelper.findChangedDays(regCenter, holidays, FROM_DATE, TO_DATE, fingerprint));
+	}
+
+	@Test
+	public void findChangedDaysUnchangedTest() {
+		Set<LocalDate> changedDays = slotFingerprintHelper.findChangedDays(regCenter, holidays, FROM_DATE, TO_DATE,
+				storedFingerprint(FROM_DATE, TO_DATE));
+		assertNotNull(changedDays);
+		assertTrue(changedDays.isEmpty());
+	}
+
+	@Test
+	public void findChangedDaysWindowMovedTest() {
+		RegCenterSlotFingerprintEntity fingerprint = storedFingerprint(FROM_DATE.minusDays(1), TO_DATE.minusDays(1));
+
+		Set<LocalDate> changedDays = slotFingerprintHelper.findChangedDays(regCenter, holidays, FROM_DATE, TO_DATE,
+				fingerprint);
+
+		assertEquals(Collections.singleton(TO_DATE.minusDays(1)), changedDays);
+	}
+
+	@Test
+	public void findChangedDaysHolidayToggledTest() {
+		RegCenterSlotFingerprintEntity fingerprint = storedFingerprint(FROM_DATE, TO_DATE);
+		holidays.add(FROM_DATE.plusDays(4));
+
+		Set<LocalDate> changedDays = slotFingerprintHelper.findChangedDays(regCenter, holidays, FROM_DATE, TO_DATE,
+				fingerprint);
+
+		assertEquals(Collections.singleton(FROM_DATE.plusDays(4)), changedDays);
+	}
+
+	@Test
+	public void prepareFingerprintNewTest() {
+		RegCenterSlotFingerprintEntity entity = slotFingerprintHelper.prepareFingerprint(regCenter, holidays,
+				FROM_DATE, TO_DATE, null);
+
+		assertEquals("10001", entity.getRegcntrId());
+		assertEquals("batchUser", entity.getCrBy());
+		assertNotNull(entity.getCrDate());
+		assertEquals(FROM_DATE.plusDays(2).toString(), entity.getHolidayDates());
+		assertEquals(FROM_DATE, entity.getSyncFromDate());
+		assertEquals(TO_DATE, entity.getSyncToDate());
+		Mockito.verifyZeroInteractions(batchServiceDAO);
+	}
+
+	@Test
+	public void prepareFingerprintExistingTest() {
+		RegCenterSlotFingerprintEntity fingerprint = storedFingerprint(FROM_DATE.minusDays(1), TO_DATE.minusDays(1));
+
+		RegCenterSlotFingerprintEntity entity = slotFingerprintHelper.prepareFingerprint(regCenter, holidays,
+				FROM_DATE, TO_DATE, fingerprint);
+
+		assertSame(fingerprint, entity);
+		assertEquals("batchUser", entity.getUpBy());
+		assertNotNull(entity.getUpdDate());
+		assertEquals(FROM_DATE, entity.getSyncFromDate());
+		assertEquals(TO_DATE, entity.getSyncToDate());
+	}
+
+	/**
+	 * Fingerprint as stored by a run over the given window with the current
+	 * configuration and holidays of the registration center.
+	 */
+	private RegCenterSlotFingerprintEntity storedFingerprint(LocalDate fromDate, LocalDate toDate) {
+		return slotFingerprintHelper.prepareFingerprint(regCenter, holidays, fromDate, toDate, null);
+	}
+}
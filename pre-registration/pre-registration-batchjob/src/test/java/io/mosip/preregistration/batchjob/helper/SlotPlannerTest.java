@@ -0,0 +1,184 @@
+package io.mosip.preregistration.batchjob.helper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.preregistration.batchjob.entity.AvailibityEntity;
+import io.mosip.preregistration.batchjob.model.AvailabilityDeltaDto;
+import io.mosip.preregistration.batchjob.model.HolidayCalendar;
+import io.mosip.preregistration.batchjob.model.RegistrationCenterDto;
+
+/**
+ * Test class for {@link SlotPlanner}
+ *
+ * @since 1.2.0
+ *
+ */
+@RunWith(JUnit4.class)
+public class SlotPlannerTest {
+
+	private static final LocalDate DAY = LocalDate.of(2026, 1, 5);
+
+	private SlotPlanner slotPlanner;
+
+	private RegistrationCenterDto regCenter;
+
+	@Before
+	public void setUp() {
+		slotPlanner = new SlotPlanner();
+		ReflectionTestUtils.setField(slotPlanner, "auditUsername", "batchUser");
+		regCenter = new RegistrationCenterDto();
+		regCenter.setId("10001");
+		regCenter.setCenterStartTime(LocalTime.of(9, 0));
+		regCenter.setCenterEndTime(LocalTime.of(13, 0));
+		regCenter.setLunchStartTime(LocalTime.of(11, 0));
+		regCenter.setLunchEndTime(LocalTime.of(12, 0));
+		regCenter.setPerKioskProcessTime(LocalTime.of(0, 30));
+		regCenter.setNumberOfKiosks((short) 3);
+	}
+
+	@Test
+	public void planWorkingDayTest() {
+		Map<LocalDate, List<AvailibityEntity>> plannedSlots = slotPlanner.planSlots(regCenter, DAY, DAY.plusDays(1),
+				new HolidayCalendar(DAY, 1));
+
+		List<AvailibityEntity> slots = plannedSlots.get(DAY);
+		assertEquals(Arrays.asList("09:00", "09:30", "10:00", "10:30", "11:00", "12:00", "12:30"),
+				slots.stream().map(slot -> slot.getFromTime().toString()).collect(Collectors.toList()));
+		assertEquals(LocalTime.of(9, 30), slots.get(0).getToTime());
+		assertEquals(3, slots.get(0).getAvailableKiosks());
+		assertEquals(LocalTime.of(12, 0), slots.get(4).getToTime());
+		assertEquals(0, slots.get(4).getAvailableKiosks());
+		assertEquals(LocalTime.of(13, 0), slots.get(6).getToTime());
+		assertEquals("batchUser", slots.get(0).getCrBy());
+	}
+
+	@Test
+	public void planWithoutLunchTest() {
+		regCenter.setLunchStartTime(LocalTime.MIDNIGHT);
+
+		List<AvailibityEntity> slots = slotPlanner
+				.planSlots(regCenter, DAY, DAY.plusDays(1), new HolidayCalendar(DAY, 1)).get(DAY);
+
+		assertEquals(8, slots.size());
+		assertTrue(slots.stream().allMatch(slot -> slot.getAvailableKiosks() == 3));
+	}
+
+	@Test
+	public void planHolidayTest() {
+		HolidayCalendar holidays = new HolidayCalendar(DAY, 2);
+		holidays.add(DAY.plusDays(1));
+		regCenter.setContactPerson("Contact Person");
+
+		Map<LocalDate, List<AvailibityEntity>> plannedSlots = slotPlanner.planSlots(regCenter, DAY, DAY.plusDays(2),
+				holidays);
+
+		List<AvailibityEntity> holidaySlots = plannedSlots.get(DAY.plusDays(1));
+		assertEquals(1, holidaySlots.size());
+		assertEquals(LocalTime.MIDNIGHT, holidaySlots.get(0).getFromTime());
+		assertEquals(LocalTime.MIDNIGHT, holidaySlots.get(0).getToTime());
+		assertEquals(0, holidaySlots.get(0).getAvailableKiosks());
+		assertEquals("Contact Person", holidaySlots.get(0).getCrBy());
+		assertEquals(7, plannedSlots.get(DAY).size());
+	}
+
+	@Test
+	public void planHoursNotConfiguredTest() {
+		regCenter.setCenterStartTime(LocalTime.MIDNIGHT);
+		HolidayCalendar holidays = new HolidayCalendar(DAY, 2);
+		holidays.add(DAY.plusDays(1));
+
+		Map<LocalDate, List<AvailibityEntity>> plannedSlots = slotPlanner.planSlots(regCenter, DAY, DAY.plusDays(2),
+				holidays);
+
+		assertEquals(Collections.singleton(DAY.plusDays(1)), plannedSlots.keySet());
+	}
+
+	@Test
+	public void diffTest() {
+		AvailibityEntity unchanged = slot(LocalTime.of(9, 0), LocalTime.of(9, 30), 3);
+		AvailibityEntity resized = slot(LocalTime.of(9, 30), LocalTime.of(10, 0), 3);
+		AvailibityEntity added = slot(LocalTime.of(10, 0), LocalTime.of(10, 30), 3);
+		AvailibityEntity lunch = slot(LocalTime.of(11, 0), LocalTime.of(12, 0), 0);
+		Map<LocalDate, List<AvailibityEntity>> plannedSlots = new LinkedHashMap<>();
+		plannedSlots.put(DAY, Arrays.asList(unchanged, resized, added, lunch));
+
+		// bookings have decremented the kiosks of the unchanged slot
+		AvailibityEntity existingUnchanged = slot(LocalTime.of(9, 0), LocalTime.of(9, 30), 1);
+		AvailibityEntity existingResized = slot(LocalTime.of(9, 30), LocalTime.of(10, 30), 3);
+		AvailibityEntity existingLunch = slot(LocalTime.of(11, 0), LocalTime.of(12, 0), 3);
+		AvailibityEntity removed = slot(LocalTime.of(15, 0), LocalTime.of(15, 30), 2);
+		AvailibityEntity otherDay = slot(LocalTime.of(9, 0), LocalTime.of(9, 30), 3);
+		otherDay.setRegDate(DAY.plusDays(1));
+
+		AvailabilityDeltaDto delta = slotPlanner.diff(plannedSlots,
+				Arrays.asList(existingUnchanged, existingResized, existingLunch, removed, otherDay));
+
+		assertEquals(Collections.singletonList(added), delta.getInserts());
+		assertEquals(Arrays.asList(resized, lunch), delta.getUpdates());
+		assertEquals(Collections.singletonList(removed), delta.getDeletes());
+		assertEquals(Arrays.asList(existingResized, existingLunch, removed), delta.getCancelledSlots());
+	}
+
+	/**
+	 * The lunch break was as long as the per kiosk process time, so once removed
+	 * its zero kiosk slot has the times of a planned kiosk slot.
+	 */
+	@Test
+	public void diffLunchRemovedTest() {
+		regCenter.setLunchStartTime(LocalTime.MIDNIGHT);
+		regCenter.setLunchEndTime(LocalTime.MIDNIGHT);
+		Map<LocalDate, List<AvailibityEntity>> plannedSlots = slotPlanner.planSlots(regCenter, DAY, DAY.plusDays(1),
+				new HolidayCalendar(DAY, 1));
+		AvailibityEntity plannedSlot = plannedSlots.get(DAY).get(4);
+		assertEquals(LocalTime.of(11, 0), plannedSlot.getFromTime());
+
+		AvailabilityDeltaDto delta = slotPlanner.diff(plannedSlots,
+				Collections.singletonList(slot(LocalTime.of(11, 0), LocalTime.of(11, 30), 0)));
+
+		assertEquals(Collections.singletonList(plannedSlot), delta.getUpdates());
+		assertEquals(Collections.singletonList(plannedSlot), delta.getRestoredSlots());
+		assertEquals(3, plannedSlot.getAvailableKiosks());
+		assertEquals(7, delta.getInserts().size());
+		assertTrue(delta.getDeletes().isEmpty());
+		assertTrue(delta.getCancelledSlots().isEmpty());
+	}
+
+	@Test
+	public void diffNoChangeTest() {
+		Map<LocalDate, List<AvailibityEntity>> plannedSlots = new LinkedHashMap<>();
+		plannedSlots.put(DAY, Collections.singletonList(slot(LocalTime.of(9, 0), LocalTime.of(9, 30), 3)));
+
+		// bookings have decremented the kiosks of the slot
+		AvailabilityDeltaDto delta = slotPlanner.diff(plannedSlots,
+				Collections.singletonList(slot(LocalTime.of(9, 0), LocalTime.of(9, 30), 1)));
+
+		assertTrue(delta.isEmpty());
+		assertTrue(delta.getCancelledSlots().isEmpty());
+	}
+
+	private AvailibityEntity slot(LocalTime fromTime, LocalTime toTime, int availableKiosks) {
+		AvailibityEntity slot = new AvailibityEntity();
+		slot.setRegcntrId(regCenter.getId());
+		slot.setRegDate(DAY);
+		slot.setFromTime(fromTime);
+		slot.setToTime(toTime);
+		slot.setAvailableKiosks(availableKiosks);
+		return slot;
+	}
+}
@@ -0,0 +1,75 @@
+package io.mosip.preregistration.batchjob.impl;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.preregistration.batchjob.helper.RestHelper;
+import io.mosip.preregistration.batchjob.repository.utils.AppointmentMismatchBulkWriter;
+import io.mosip.preregistration.core.code.EventId;
+
+/**
+ * Test class for {@link ApplicationMismatchDataUpdater}
+ *
+ * @since 1.2.0
+ *
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ApplicationMismatchDataUpdaterTest {
+
+	@InjectMocks
+	private ApplicationMismatchDataUpdater applicationMismatchDataUpdater;
+
+	@Mock
+	private AppointmentMismatchBulkWriter appointmentMismatchBulkWriter;
+
+	@Mock
+	private RestHelper restHelper;
+
+	@Before
+	public void setUp() {
+		ReflectionTestUtils.setField(applicationMismatchDataUpdater, "auditUsername", "batchUser");
+		ReflectionTestUtils.setField(applicationMismatchDataUpdater, "auditUserId", "batch");
+		Mockito.when(appointmentMismatchBulkWriter.countAppointments(Mockito.any(LocalDate.class))).thenReturn(2L);
+		Mockito.when(appointmentMismatchBulkWriter.findAppointmentsWithoutApplication(Mockito.any(LocalDate.class)))
+				.thenReturn(Collections.emptyList());
+	}
+
+	@Test
+	public void updateMismatchDataTest() {
+		Mockito.when(appointmentMismatchBulkWriter.updateMismatchedApplications(Mockito.any(LocalDate.class),
+				Mockito.anyString())).thenReturn(Arrays.asList("12345678901234"));
+
+		applicationMismatchDataUpdater.updateMismatchData();
+
+		verifyAudited(EventId.PRE_413);
+	}
+
+	@Test(expected = DataAccessResourceFailureException.class)
+	public void updateMismatchDataFailureTest() {
+		Mockito.when(appointmentMismatchBulkWriter.updateMismatchedApplications(Mockito.any(LocalDate.class),
+				Mockito.anyString())).thenThrow(new DataAccessResourceFailureException("connection lost"));
+
+		try {
+			applicationMismatchDataUpdater.updateMismatchData();
+		} finally {
+			verifyAudited(EventId.PRE_405);
+		}
+	}
+
+	private void verifyAudited(EventId eventId) {
+		Mockito.verify(restHelper).sendAuditDetails(Mockito.eq(eventId.toString()), Mockito.anyString(),
+				Mockito.anyString(), Mockito.anyString(), Mockito.anyString(), Mockito.anyString(),
+				Mockito.anyString(), Mockito.anyString(), Mockito.anyString(), Mockito.anyString());
+	}
+}
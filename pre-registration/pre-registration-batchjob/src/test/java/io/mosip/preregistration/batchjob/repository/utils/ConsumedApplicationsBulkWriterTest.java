@@ -0,0 +1,100 @@
+package io.mosip.preregistration.batchjob.repository.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+/**
+ * Test class for {@link ConsumedApplicationsBulkWriter}
+ *
+ * @since 1.2.0
+ *
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ConsumedApplicationsBulkWriterTest {
+
+	@InjectMocks
+	private ConsumedApplicationsBulkWriter consumedApplicationsBulkWriter;
+
+	@Mock
+	private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+	@Test
+	public void moveToConsumedTest() {
+		Mockito.when(namedParameterJdbcTemplate.update(Mockito.anyString(), Mockito.any(SqlParameterSource.class)))
+				.thenReturn(2);
+
+		int processed = consumedApplicationsBulkWriter.moveToConsumed(Arrays.asList("12345678901234", "98765432109876"),
+				"batchUser");
+
+		assertEquals(2, processed);
+		Mockito.verify(namedParameterJdbcTemplate, Mockito.times(9)).update(Mockito.anyString(),
+				Mockito.any(SqlParameterSource.class));
+	}
+
+	/**
+	 * A consumed row left by an earlier move of the same application has to be
+	 * overwritten, as the live row is deleted in the same transaction.
+	 */
+	@Test
+	public void moveToConsumedExistingConsumedRowTest() {
+		ArgumentCaptor<String> statements = ArgumentCaptor.forClass(String.class);
+		Mockito.when(namedParameterJdbcTemplate.update(statements.capture(), Mockito.any(SqlParameterSource.class)))
+				.thenReturn(1);
+
+		consumedApplicationsBulkWriter.moveToConsumed(Arrays.asList("12345678901234"), "batchUser");
+
+		List<String> sqls = statements.getAllValues();
+		assertUpserted(sqls, "prereg.applicant_demographic_consumed", "ON CONFLICT (prereg_id) DO UPDATE SET",
+				"demog_detail = EXCLUDED.demog_detail");
+		assertUpserted(sqls, "prereg.applicant_document_consumed", "ON CONFLICT (id) DO UPDATE SET",
+				"doc_hash = EXCLUDED.doc_hash");
+		assertUpserted(sqls, "prereg.reg_appointment_consumed", "ON CONFLICT (prereg_id) DO UPDATE SET",
+				"appointment_date = EXCLUDED.appointment_date");
+		assertTrue(indexOf(sqls, "INSERT INTO prereg.applicant_demographic_consumed") < indexOf(sqls,
+				"DELETE FROM prereg.applicant_demographic WHERE"));
+		assertTrue(indexOf(sqls, "INSERT INTO prereg.applicant_document_consumed") < indexOf(sqls,
+				"DELETE FROM prereg.applicant_document WHERE"));
+		assertTrue(indexOf(sqls, "INSERT INTO prereg.reg_appointment_consumed") < indexOf(sqls,
+				"DELETE FROM prereg.reg_appointment WHERE"));
+	}
+
+	@Test
+	public void moveToConsumedParamsTest() {
+		ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+		Mockito.when(namedParameterJdbcTemplate.update(Mockito.anyString(), params.capture())).thenReturn(1);
+
+		consumedApplicationsBulkWriter.moveToConsumed(Arrays.asList("12345678901234"), "batchUser");
+
+		assertEquals(Arrays.asList("12345678901234"), params.getValue().getValue("preRegIds"));
+		assertEquals("batchUser", params.getValue().getValue("updBy"));
+	}
+
+	private static void assertUpserted(List<String> sqls, String table, String conflictClause, String updatedColumn) {
+		String insert = sqls.get(indexOf(sqls, "INSERT INTO " + table));
+		assertTrue(insert, insert.contains(conflictClause));
+		assertTrue(insert, insert.contains(updatedColumn));
+	}
+
+	private static int indexOf(List<String> sqls, String prefix) {
+		for (int i = 0; i < sqls.size(); i++) {
+			if (sqls.get(i).startsWith(prefix)) {
+				return i;
+			}
+		}
+		throw new AssertionError("No statement starting with " + prefix);
+	}
+}
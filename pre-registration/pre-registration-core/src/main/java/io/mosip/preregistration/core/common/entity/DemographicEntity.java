@@ -40,6 +40,7 @@ import lombok.NoArgsConstructor;
 @Table(name = "applicant_demographic", schema = "prereg")
 @NoArgsConstructor
 @NamedQuery(name = "DemographicEntity.findByCreatedByOrderByCreateDateTime", query = "SELECT e FROM DemographicEntity e  WHERE e.createdBy=:userId and e.statusCode <>:statusCode order by e.createDateTime desc")
+@NamedQuery(name = "DemographicEntity.findByCreatedByOrderByCreateDateTime.count", query = "SELECT count(e) FROM DemographicEntity e  WHERE e.createdBy=:userId and e.statusCode <>:statusCode")
 @NamedQuery(name = "DemographicEntity.findByCreatedBy", query = "SELECT e FROM DemographicEntity e  WHERE e.createdBy=:userId and e.statusCode <>:statusCode order by e.createDateTime desc")
 @NamedQuery(name = "DemographicEntity.findBypreRegistrationId", query = "SELECT r FROM DemographicEntity r  WHERE r.preRegistrationId=:preRegId")
 public class DemographicEntity implements Serializable {
@@ -1,13 +1,26 @@
 package io.mosip.preregistration.core.util;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -28,6 +41,9 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.mosip.kernel.core.logger.spi.Logger;
 import io.mosip.preregistration.core.code.AuditLogVariables;
 import io.mosip.preregistration.core.common.dto.AuditRequestDto;
@@ -73,6 +89,61 @@ public class AuditLogUtil {
 	@Value("${audit.url}")
 	private String auditUrl;
 
+	@Autowired(required = false)
+	private MeterRegistry meterRegistry;
+
+	@Value("${preregistration.audit.async.enabled:true}")
+	private boolean asyncEnabled;
+
+	@Value("${preregistration.audit.queue.capacity:10000}")
+	private int queueCapacity;
+
+	@Value("${preregistration.audit.batch-size:100}")
+	private int batchSize;
+
+	@Value("${preregistration.audit.flush-interval-ms:500}")
+	private long flushIntervalMs;
+
+	@Value("${preregistration.audit.retry.max-attempts:3}")
+	private int retryMaxAttempts;
+
+	@Value("${preregistration.audit.retry.backoff-ms:200}")
+	private long retryBackoffMs;
+
+	/**
+	 * Journal of the audits not sent, kept per service so services sharing a
+	 * host do not replay each other's audits
+	 */
+	@Value("${preregistration.audit.journal.path:${user.dir}/${spring.application.name:pre-registration}-audit-journal.log}")
+	private String journalPath;
+
+	@Value("${preregistration.audit.journal.replay-backoff-ms:5000}")
+	private long replayBackoffMs;
+
+	@Value("${preregistration.audit.journal.replay-max-backoff-ms:300000}")
+	private long replayMaxBackoffMs;
+
+	/**
+	 * Audit events waiting for the background flusher
+	 */
+	private BlockingQueue<AuditEvent> auditQueue;
+
+	private ScheduledExecutorService auditFlusher;
+
+	private final Object journalLock = new Object();
+
+	/**
+	 * Earliest time of the next journal replay, only read and written by the
+	 * flusher
+	 */
+	private long nextReplayNanos = System.nanoTime();
+
+	private int replayFailures;
+
+	private Counter spilledCounter;
+
+	private Counter droppedCounter;
+
 	/**
 	 * To Set the Host Ip & Host Name
 	 */
@@ -82,6 +153,45 @@ public class AuditLogUtil {
 		hostName = getServerName();
 	}
 
+	/**
+	 * Starts the background flusher of the audit queue.
+	 */
+	@PostConstruct
+	public void startAuditFlusher() {
+		auditQueue = new LinkedBlockingQueue<>(queueCapacity);
+		if (meterRegistry != null) {
+			Gauge.builder("preregistration.audit.queue.size", auditQueue, BlockingQueue::size)
+					.description("Audit events waiting to be sent to the audit manager").register(meterRegistry);
+			spilledCounter = Counter.builder("preregistration.audit.spilled")
+					.description("Audit events written to the local journal").register(meterRegistry);
+			droppedCounter = Counter.builder("preregistration.audit.dropped")
+					.description("Audit events lost because the journal could not be written").register(meterRegistry);
+		}
+		if (asyncEnabled) {
+			auditFlusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "audit-flusher");
+				thread.setDaemon(true);
+				return thread;
+			});
+			auditFlusher.scheduleWithFixedDelay(this::flushAuditQueue, flushIntervalMs, flushIntervalMs,
+					TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Stops the flusher and keeps the events still queued in the journal, to be
+	 * sent after the next start.
+	 */
+	@PreDestroy
+	public void stopAuditFlusher() {
+		if (auditFlusher != null) {
+			auditFlusher.shutdownNow();
+		}
+		List<AuditEvent> pending = new ArrayList<>();
+		auditQueue.drainTo(pending);
+		pending.forEach(this::spillToJournal);
+	}
+
 	/**
 	 * This method return ServerIp.
 	 *
@@ -130,7 +240,7 @@ public class AuditLogUtil {
 			auditRequestDto.setSessionUserName(AuditLogVariables.SYSTEM.toString());
 		}
 		auditRequestDto.setIdType(AuditLogVariables.PRE_REGISTRATION_ID.toString());
-		callAuditManager(auditRequestDto);
+		dispatch(new AuditEvent(auditRequestDto, null));
 	}
 
 	public boolean callAuditManager(AuditRequestDto auditRequestDto) {
@@ -225,7 +335,164 @@ public class AuditLogUtil {
 			auditRequestDto.setSessionUserName(AuditLogVariables.SYSTEM.toString());
 		}
 		auditRequestDto.setIdType(AuditLogVariables.PRE_REGISTRATION_ID.toString());
-		callAuditManager(auditRequestDto, header);
+		dispatch(new AuditEvent(auditRequestDto, header));
+	}
+
+	/**
+	 * Hands the audit event to the flusher, or sends it on the calling thread
+	 * when the async pipeline is disabled. When the queue is full the event goes
+	 * to the journal instead of blocking the request.
+	 */
+	private void dispatch(AuditEvent auditEvent) {
+		if (!asyncEnabled) {
+			send(auditEvent);
+		} else if (!auditQueue.offer(auditEvent)) {
+			spillToJournal(auditEvent);
+		}
+	}
+
+	private boolean send(AuditEvent auditEvent) {
+		return auditEvent.headers == null ? callAuditManager(auditEvent.auditRequestDto)
+				: callAuditManager(auditEvent.auditRequestDto, auditEvent.headers);
+	}
+
+	/**
+	 * Sends one batch from the queue. Once an event still fails after its
+	 * retries the audit manager is taken as down, and the rest of the batch goes
+	 * to the journal. The journal is replayed only after a batch that went
+	 * through, and after a failed replay not before a backoff that doubles with
+	 * every failure.
+	 */
+	private void flushAuditQueue() {
+		try {
+			List<AuditEvent> batch = new ArrayList<>(batchSize);
+			auditQueue.drainTo(batch, batchSize);
+			if (batch.isEmpty()) {
+				return;
+			}
+			boolean auditManagerUp = true;
+			for (AuditEvent auditEvent : batch) {
+				if (auditManagerUp && sendWithRetry(auditEvent)) {
+					continue;
+				}
+				auditManagerUp = false;
+				spillToJournal(auditEvent);
+			}
+			if (auditManagerUp && System.nanoTime() - nextReplayNanos >= 0) {
+				if (replayJournal()) {
+					replayFailures = 0;
+				} else {
+					long backoff = Math.min(replayBackoffMs << Math.min(replayFailures, 20), replayMaxBackoffMs);
+					replayFailures++;
+					nextReplayNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoff);
+				}
+			}
+		} catch (RuntimeException ex) {
+			log.error("sessionId", "idType", "id",
+					"In flushAuditQueue method of AugitLogUtil service - " + ExceptionUtils.getStackTrace(ex));
+		}
+	}
+
+	private boolean sendWithRetry(AuditEvent auditEvent) {
+		long backoff = retryBackoffMs;
+		for (int attempt = 1; attempt <= retryMaxAttempts; attempt++) {
+			try {
+				if (send(auditEvent)) {
+					return true;
+				}
+			} catch (RuntimeException ex) {
+				log.error("sessionId", "idType", "id", "In sendWithRetry method of AugitLogUtil service attempt "
+						+ attempt + " failed - " + ex.getMessage());
+			}
+			if (attempt < retryMaxAttempts) {
+				try {
+					Thread.sleep(backoff);
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					return false;
+				}
+				backoff *= 2;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Appends the audit event to the local journal. Request headers are not
+	 * written, replayed events are sent with the service's own token.
+	 */
+	private void spillToJournal(AuditEvent auditEvent) {
+		synchronized (journalLock) {
+			try (BufferedWriter writer = Files.newBufferedWriter(Paths.get(journalPath), StandardCharsets.UTF_8,
+					StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+				writer.write(objectMapper.writeValueAsString(auditEvent.auditRequestDto));
+				writer.newLine();
+				if (spilledCounter != null) {
+					spilledCounter.increment();
+				}
+			} catch (IOException ex) {
+				log.error("sessionId", "idType", "id", "In spillToJournal method of AugitLogUtil service, audit event "
+						+ auditEvent.auditRequestDto.getEventId() + " dropped - " + ex.getMessage());
+				if (droppedCounter != null) {
+					droppedCounter.increment();
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return true when the journal is empty or all of it was sent
+	 */
+	private boolean replayJournal() {
+		Path journal = Paths.get(journalPath);
+		List<String> lines;
+		synchronized (journalLock) {
+			if (!Files.exists(journal)) {
+				return true;
+			}
+			try {
+				lines = Files.readAllLines(journal, StandardCharsets.UTF_8);
+				Files.delete(journal);
+			} catch (IOException ex) {
+				log.error("sessionId", "idType", "id",
+						"In replayJournal method of AugitLogUtil service - " + ex.getMessage());
+				return false;
+			}
+		}
+		log.info("sessionId", "idType", "id",
+				"In replayJournal method of AugitLogUtil service replaying " + lines.size() + " audits");
+		boolean auditManagerUp = true;
+		for (String line : lines) {
+			AuditEvent auditEvent;
+			try {
+				auditEvent = new AuditEvent(objectMapper.readValue(line, AuditRequestDto.class), null);
+			} catch (IOException ex) {
+				log.error("sessionId", "idType", "id",
+						"In replayJournal method of AugitLogUtil service, skipping unreadable audit - " + line);
+				continue;
+			}
+			if (auditManagerUp && sendWithRetry(auditEvent)) {
+				continue;
+			}
+			auditManagerUp = false;
+			spillToJournal(auditEvent);
+		}
+		return auditManagerUp;
+	}
+
+	/**
+	 * An audit request with the headers of the request that raised it, if any.
+	 */
+	private static final class AuditEvent {
+
+		private final AuditRequestDto auditRequestDto;
+
+		private final HttpHeaders headers;
+
+		private AuditEvent(AuditRequestDto auditRequestDto, HttpHeaders headers) {
+			this.auditRequestDto = auditRequestDto;
+			this.headers = headers;
+		}
 	}
 
 
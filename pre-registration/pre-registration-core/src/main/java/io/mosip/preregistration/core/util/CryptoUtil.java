@@ -1,9 +1,23 @@
 package io.mosip.preregistration.core.util;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 
-import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -14,15 +28,24 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.RequestCallback;
 import org.springframework.web.client.RestTemplate;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.mosip.kernel.core.exception.ServiceError;
 import io.mosip.kernel.core.logger.spi.Logger;
 import io.mosip.preregistration.core.common.dto.CryptoManagerRequestDTO;
 import io.mosip.preregistration.core.common.dto.CryptoManagerResponseDTO;
 import io.mosip.preregistration.core.common.dto.RequestWrapper;
 import io.mosip.preregistration.core.common.dto.ResponseWrapper;
 import io.mosip.preregistration.core.config.LoggerConfiguration;
+import io.mosip.preregistration.core.errorcodes.ErrorCodes;
+import io.mosip.preregistration.core.errorcodes.ErrorMessages;
 import io.mosip.preregistration.core.exception.EncryptionFailedException;
 
 /**
@@ -35,6 +58,15 @@ public class CryptoUtil {
 
 	private Logger log = LoggerConfiguration.logConfig(CryptoUtil.class);
 
+	/**
+	 * Stands in for the data of an encrypt request while serialising it, so the
+	 * data itself can be streamed in its place
+	 */
+	private static final String STREAMED_DATA_MARKER = "STREAMED_DATA_" + UUID.randomUUID().toString().replace("-", "");
+
+	private static final ParameterizedTypeReference<ResponseWrapper<CryptoManagerResponseDTO>> CRYPTO_RESPONSE_TYPE = new ParameterizedTypeReference<ResponseWrapper<CryptoManagerResponseDTO>>() {
+	};
+
 	/**
 	 * Autowired reference for {@link #restTemplateBuilder}
 	 */
@@ -54,36 +86,95 @@ public class CryptoUtil {
 	@Value("${preregistration.crypto.PrependThumbprint}")
 	public boolean cryptoPrependThumbprint;
 
+	/**
+	 * Maximum number of concurrent decrypt calls issued by {@link #decryptAll}
+	 */
+	@Value("${preregistration.crypto.decrypt.pool-size:10}")
+	private int decryptPoolSize;
+
+	private ExecutorService decryptExecutor;
+
+	private final ObjectMapper fallbackObjectMapper = new ObjectMapper().findAndRegisterModules();
+
+	@PostConstruct
+	public void init() {
+		decryptExecutor = Executors.newFixedThreadPool(decryptPoolSize, runnable -> {
+			Thread thread = new Thread(runnable, "crypto-decrypt");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	@PreDestroy
+	public void destroy() {
+		decryptExecutor.shutdownNow();
+	}
 
 	public byte[] encrypt(byte[] originalInput, LocalDateTime localDateTime) {
 		log.info("sessionId", "idType", "id", "In encrypt method of CryptoUtil service ");
+		String encodedBytes = io.mosip.kernel.core.util.CryptoUtil.encodeToURLSafeBase64(originalInput);
+		return callEncrypt(encodedBytes, localDateTime).getBytes();
+	}
 
+	/**
+	 * Encrypts the content of a stream. The stream is Base64 encoded straight into
+	 * the body of the keymanager request, so neither the raw content nor its
+	 * Base64 form is built up as a String. Whether the body is still buffered
+	 * before it is sent depends on the request factory of the rest template.
+	 * 
+	 * @param originalInput stream to encrypt, read till the end but not closed
+	 * @param localDateTime timestamp sent to the keymanager
+	 * @return encrypted data as returned by the keymanager
+	 * @throws IOException on failure to read the stream
+	 */
+	public String encryptStream(InputStream originalInput, LocalDateTime localDateTime) throws IOException {
+		log.info("sessionId", "idType", "id", "In encrypt stream method of CryptoUtil service ");
+		String requestJson = getObjectMapper().writeValueAsString(prepareEncryptRequest(STREAMED_DATA_MARKER, localDateTime));
+		int markerIndex = requestJson.indexOf(STREAMED_DATA_MARKER);
+		byte[] prefix = requestJson.substring(0, markerIndex).getBytes(StandardCharsets.UTF_8);
+		byte[] suffix = requestJson.substring(markerIndex + STREAMED_DATA_MARKER.length())
+				.getBytes(StandardCharsets.UTF_8);
+		RequestCallback requestCallback = request -> {
+			request.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+			request.getHeaders().setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
+			OutputStream body = request.getBody();
+			body.write(prefix);
+			// URL safe Base64 needs no escaping inside the json string
+			try (OutputStream encoder = Base64.getUrlEncoder().wrap(StreamUtils.nonClosing(body))) {
+				StreamUtils.copy(originalInput, encoder);
+			}
+			body.write(suffix);
+		};
+		try {
+			log.info("sessionId", "idType", "id",
+					"In encrypt stream method of CryptoUtil service cryptoResourceUrl: " + cryptoResourceUrl + "/encrypt");
+			ResponseEntity<ResponseWrapper<CryptoManagerResponseDTO>> response = restTemplate.execute(
+					cryptoResourceUrl + "/encrypt", HttpMethod.POST, requestCallback,
+					restTemplate.<ResponseWrapper<CryptoManagerResponseDTO>>responseEntityExtractor(
+							CRYPTO_RESPONSE_TYPE.getType()));
+			return getEncryptedData(response);
+		} catch (Exception ex) {
+			log.debug("sessionId", "idType", "id", ExceptionUtils.getStackTrace(ex));
+			log.error("sessionId", "idType", "id",
+					"In encrypt stream method of CryptoUtil Util for Exception- " + ex.getMessage());
+			throw ex;
+		}
+	}
+
+	private String callEncrypt(String encodedBytes, LocalDateTime localDateTime) {
 		ResponseEntity<ResponseWrapper<CryptoManagerResponseDTO>> response = null;
-		byte[] encryptedBytes = null;
+		String encryptedData = null;
 		try {
-			String encodedBytes = io.mosip.kernel.core.util.CryptoUtil.encodeToURLSafeBase64(originalInput);
-			CryptoManagerRequestDTO dto = new CryptoManagerRequestDTO();
-			dto.setApplicationId(cryptoApplcationId);
-			dto.setData(encodedBytes);
-			dto.setReferenceId(cryptoReferenceId);
-			dto.setTimeStamp(localDateTime);
-			dto.setPrependThumbprint(cryptoPrependThumbprint);
-			RequestWrapper<CryptoManagerRequestDTO> requestKernel = new RequestWrapper<>();
-			requestKernel.setRequest(dto);
 			HttpHeaders headers = new HttpHeaders();
 			headers.setContentType(MediaType.APPLICATION_JSON);
-			HttpEntity<RequestWrapper<CryptoManagerRequestDTO>> request = new HttpEntity<>(requestKernel, headers);
+			HttpEntity<RequestWrapper<CryptoManagerRequestDTO>> request = new HttpEntity<>(
+					prepareEncryptRequest(encodedBytes, localDateTime), headers);
 			log.info("sessionId", "idType", "id",
 					"In encrypt method of CryptoUtil service cryptoResourceUrl: " + cryptoResourceUrl + "/encrypt");
 			response = restTemplate.exchange(cryptoResourceUrl + "/encrypt", HttpMethod.POST, request,
-					new ParameterizedTypeReference<ResponseWrapper<CryptoManagerResponseDTO>>() {
-					});
+					CRYPTO_RESPONSE_TYPE);
 			log.info("sessionId", "idType", "id", "encrypt response of " + response);
-
-			if (!(response.getBody().getErrors() == null || response.getBody().getErrors().isEmpty())) {
-				throw new EncryptionFailedException(response.getBody().getErrors(), null);
-			}
-			encryptedBytes = response.getBody().getResponse().getData().getBytes();
+			encryptedData = getEncryptedData(response);
 
 		} catch (Exception ex) {
 			log.debug("sessionId", "idType", "id", ExceptionUtils.getStackTrace(ex));
@@ -91,8 +182,41 @@ public class CryptoUtil {
 					"In encrypt method of CryptoUtil Util for Exception- " + ex.getMessage());
 			throw ex;
 		}
-		return encryptedBytes;
+		return encryptedData;
+
+	}
+
+	private RequestWrapper<CryptoManagerRequestDTO> prepareEncryptRequest(String encodedBytes,
+			LocalDateTime localDateTime) {
+		CryptoManagerRequestDTO dto = new CryptoManagerRequestDTO();
+		dto.setApplicationId(cryptoApplcationId);
+		dto.setData(encodedBytes);
+		dto.setReferenceId(cryptoReferenceId);
+		dto.setTimeStamp(localDateTime);
+		dto.setPrependThumbprint(cryptoPrependThumbprint);
+		RequestWrapper<CryptoManagerRequestDTO> requestKernel = new RequestWrapper<>();
+		requestKernel.setRequest(dto);
+		return requestKernel;
+	}
+
+	private String getEncryptedData(ResponseEntity<ResponseWrapper<CryptoManagerResponseDTO>> response) {
+		if (!(response.getBody().getErrors() == null || response.getBody().getErrors().isEmpty())) {
+			throw new EncryptionFailedException(response.getBody().getErrors(), null);
+		}
+		return response.getBody().getResponse().getData();
+	}
 
+	/**
+	 * @return the mapper the rest template writes json with, so a streamed request
+	 *         is serialised the same way as an exchanged one
+	 */
+	private ObjectMapper getObjectMapper() {
+		for (HttpMessageConverter<?> converter : restTemplate.getMessageConverters()) {
+			if (converter instanceof MappingJackson2HttpMessageConverter) {
+				return ((MappingJackson2HttpMessageConverter) converter).getObjectMapper();
+			}
+		}
+		return fallbackObjectMapper;
 	}
 
 	public byte[] decrypt(byte[] originalInput, LocalDateTime localDateTime) {
@@ -122,7 +246,7 @@ public class CryptoUtil {
 			if (!(response.getBody().getErrors() == null || response.getBody().getErrors().isEmpty())) {
 				throw new EncryptionFailedException(response.getBody().getErrors(), null);
 			}
-			decodedBytes = Base64.decodeBase64(response.getBody().getResponse().getData().getBytes());
+			decodedBytes = org.apache.commons.codec.binary.Base64.decodeBase64(response.getBody().getResponse().getData().getBytes());
 
 		} catch (Exception ex) {
 			log.debug("sessionId", "idType", "id", ExceptionUtils.getStackTrace(ex));
@@ -134,4 +258,56 @@ public class CryptoUtil {
 
 	}
 
+	/**
+	 * Decrypts a list of records concurrently on a bounded pool. The result keeps
+	 * the order of the input; if any record fails, an
+	 * {@link EncryptionFailedException} is thrown carrying one error per failed
+	 * record with its index.
+	 * 
+	 * @param originalInputs encrypted records
+	 * @param localDateTime  timestamp sent to the keymanager
+	 * @return decrypted records in input order
+	 */
+	public List<byte[]> decryptAll(List<byte[]> originalInputs, LocalDateTime localDateTime) {
+		log.info("sessionId", "idType", "id",
+				"In decryptAll method of CryptoUtil service for " + originalInputs.size() + " records");
+		if (originalInputs.size() == 1) {
+			List<byte[]> decrypted = new ArrayList<>(1);
+			decrypted.add(decrypt(originalInputs.get(0), localDateTime));
+			return decrypted;
+		}
+		List<Future<byte[]>> futures = new ArrayList<>(originalInputs.size());
+		for (byte[] originalInput : originalInputs) {
+			futures.add(decryptExecutor.submit(() -> decrypt(originalInput, localDateTime)));
+		}
+		List<byte[]> decrypted = new ArrayList<>(originalInputs.size());
+		List<ServiceError> errors = new ArrayList<>();
+		for (int i = 0; i < futures.size(); i++) {
+			try {
+				decrypted.add(futures.get(i).get());
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				futures.forEach(future -> future.cancel(true));
+				throw new EncryptionFailedException(ErrorCodes.PRG_CORE_REQ_012.getCode(),
+						ErrorMessages.FAILED_TO_DECRYPT.getMessage(), ex);
+			} catch (ExecutionException ex) {
+				Throwable cause = ex.getCause();
+				log.error("sessionId", "idType", "id",
+						"In decryptAll method of CryptoUtil Util for record " + i + " Exception- " + cause.getMessage());
+				decrypted.add(null);
+				if (cause instanceof EncryptionFailedException
+						&& ((EncryptionFailedException) cause).getValidationErrorList() != null) {
+					errors.addAll(((EncryptionFailedException) cause).getValidationErrorList());
+				} else {
+					errors.add(new ServiceError(ErrorCodes.PRG_CORE_REQ_012.getCode(),
+							ErrorMessages.FAILED_TO_DECRYPT.getMessage() + " for record " + i));
+				}
+			}
+		}
+		if (!errors.isEmpty()) {
+			throw new EncryptionFailedException(errors, null);
+		}
+		return decrypted;
+	}
+
 }
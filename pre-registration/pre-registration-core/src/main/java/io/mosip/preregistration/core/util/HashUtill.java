@@ -1,7 +1,13 @@
 package io.mosip.preregistration.core.util;
 
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
 import io.mosip.kernel.core.util.HMACUtils;
 import io.mosip.kernel.core.util.HashUtils;
+import io.mosip.preregistration.core.errorcodes.ErrorCodes;
+import io.mosip.preregistration.core.errorcodes.ErrorMessages;
+import io.mosip.preregistration.core.exception.HashingException;
 
 
 /**
@@ -10,6 +16,11 @@ import io.mosip.kernel.core.util.HashUtils;
  */
 public class HashUtill {
 	
+	/**
+	 * Algorithm used by {@link HMACUtils#generateHash(byte[])}
+	 */
+	private static final String HASH_ALGORITHM_NAME = "SHA-256";
+
 	private HashUtill() {
 	}
 
@@ -20,4 +31,24 @@ public class HashUtill {
 	public static boolean isHashEqual(byte[] source, byte[] target) {
 		return new HashUtils().isDigestEqual(source, target);
 	}
+
+	/**
+	 * Creates a new digest for incremental hashing. Once all the data is fed in,
+	 * {@link #digestAsPlainText(MessageDigest)} gives the same value as
+	 * {@link #hashUtill(byte[])} over the whole data.
+	 * 
+	 * @return a fresh, non shared message digest
+	 */
+	public static MessageDigest newMessageDigest() {
+		try {
+			return MessageDigest.getInstance(HASH_ALGORITHM_NAME);
+		} catch (NoSuchAlgorithmException ex) {
+			throw new HashingException(ErrorCodes.PRG_CORE_REQ_010.getCode(),
+					ErrorMessages.HASHING_FAILED.getMessage());
+		}
+	}
+
+	public static String digestAsPlainText(MessageDigest messageDigest) {
+		return HMACUtils.digestAsPlainText(messageDigest.digest());
+	}
 }
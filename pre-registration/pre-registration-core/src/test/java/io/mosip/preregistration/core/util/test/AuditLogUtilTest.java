@@ -1,8 +1,14 @@
 package io.mosip.preregistration.core.util.test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.concurrent.LinkedBlockingQueue;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -15,8 +21,11 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.client.RestTemplate;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import io.mosip.preregistration.core.code.AuditLogVariables;
 import io.mosip.preregistration.core.common.dto.AuditRequestDto;
 import io.mosip.preregistration.core.common.dto.AuditResponseDto;
@@ -86,4 +95,76 @@ public class AuditLogUtilTest {
 		auditLogUtilSpy.saveAuditDetails(auditRequestDto);
 		assertEquals(respEntity.getBody().getResponse().isStatus(), true);
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void saveAuditDetailsQueueFullTest() throws Exception {
+		File journal = File.createTempFile("audit-journal", ".log");
+		journal.delete();
+		LinkedBlockingQueue<Object> fullQueue = new LinkedBlockingQueue<>(1);
+		fullQueue.add(new Object());
+		ReflectionTestUtils.setField(auditLogUtilSpy, "auditQueue", fullQueue);
+		ReflectionTestUtils.setField(auditLogUtilSpy, "journalPath", journal.getPath());
+
+		auditLogUtilSpy.saveAuditDetails(auditRequestDto);
+		Mockito.verify(auditLogUtilSpy, Mockito.never()).callAuditManager(Mockito.any());
+		assertEquals(1, Files.readAllLines(journal.toPath(), StandardCharsets.UTF_8).size());
+		journal.delete();
+	}
+
+	@Test
+	public void flushEmptyQueueJournalNotReplayedTest() throws Exception {
+		File journal = writeJournal();
+		ReflectionTestUtils.setField(auditLogUtilSpy, "auditQueue", new LinkedBlockingQueue<>());
+		ReflectionTestUtils.setField(auditLogUtilSpy, "journalPath", journal.getPath());
+
+		ReflectionTestUtils.invokeMethod(auditLogUtilSpy, "flushAuditQueue");
+		Mockito.verify(auditLogUtilSpy, Mockito.never()).callAuditManager(Mockito.any());
+		assertEquals(1, Files.readAllLines(journal.toPath(), StandardCharsets.UTF_8).size());
+		journal.delete();
+	}
+
+	@Test
+	public void flushJournalReplayedAfterSentBatchTest() throws Exception {
+		File journal = writeJournal();
+		ReflectionTestUtils.setField(auditLogUtilSpy, "auditQueue", new LinkedBlockingQueue<>());
+		ReflectionTestUtils.setField(auditLogUtilSpy, "journalPath", journal.getPath());
+		Mockito.doReturn(true).when(auditLogUtilSpy).callAuditManager(Mockito.any());
+
+		auditLogUtilSpy.saveAuditDetails(auditRequestDto);
+		ReflectionTestUtils.invokeMethod(auditLogUtilSpy, "flushAuditQueue");
+		Mockito.verify(auditLogUtilSpy, Mockito.times(2)).callAuditManager(Mockito.any());
+		assertFalse(journal.exists());
+	}
+
+	@Test
+	public void flushJournalReplayBackoffTest() throws Exception {
+		File journal = writeJournal();
+		ReflectionTestUtils.setField(auditLogUtilSpy, "auditQueue", new LinkedBlockingQueue<>());
+		ReflectionTestUtils.setField(auditLogUtilSpy, "journalPath", journal.getPath());
+		ReflectionTestUtils.setField(auditLogUtilSpy, "retryMaxAttempts", 1);
+		ReflectionTestUtils.setField(auditLogUtilSpy, "replayBackoffMs", 60000L);
+		// the queued audit goes through, the replayed one does not
+		Mockito.doReturn(true, false).when(auditLogUtilSpy).callAuditManager(Mockito.any());
+
+		auditLogUtilSpy.saveAuditDetails(auditRequestDto);
+		ReflectionTestUtils.invokeMethod(auditLogUtilSpy, "flushAuditQueue");
+		Mockito.verify(auditLogUtilSpy, Mockito.times(2)).callAuditManager(Mockito.any());
+		assertEquals(1, Files.readAllLines(journal.toPath(), StandardCharsets.UTF_8).size());
+
+		Mockito.doReturn(true).when(auditLogUtilSpy).callAuditManager(Mockito.any());
+		auditLogUtilSpy.saveAuditDetails(auditRequestDto);
+		ReflectionTestUtils.invokeMethod(auditLogUtilSpy, "flushAuditQueue");
+		Mockito.verify(auditLogUtilSpy, Mockito.times(3)).callAuditManager(Mockito.any());
+		assertEquals(1, Files.readAllLines(journal.toPath(), StandardCharsets.UTF_8).size());
+		journal.delete();
+	}
+
+	private File writeJournal() throws Exception {
+		File journal = File.createTempFile("audit-journal", ".log");
+		Files.write(journal.toPath(),
+				Collections.singletonList(((ObjectMapper) ReflectionTestUtils.getField(auditUtil, "objectMapper"))
+						.writeValueAsString(auditRequestDto)),
+				StandardCharsets.UTF_8);
+		return journal;
+	}
+}
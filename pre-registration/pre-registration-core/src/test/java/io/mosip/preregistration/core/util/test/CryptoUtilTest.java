@@ -1,8 +1,15 @@
 package io.mosip.preregistration.core.util.test;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -15,13 +22,21 @@ import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.client.MockClientHttpRequest;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.mosip.kernel.core.exception.ServiceError;
 import io.mosip.preregistration.core.common.dto.CryptoManagerResponseDTO;
 import io.mosip.preregistration.core.common.dto.ResponseWrapper;
 import io.mosip.preregistration.core.util.CryptoUtil;
+import io.mosip.preregistration.core.exception.EncryptionFailedException;
 import io.mosip.preregistration.core.util.RequestValidator;
 
 /**
@@ -62,6 +77,36 @@ public class CryptoUtilTest {
 	}
 	
 
+	@Test
+	public void encryptStreamSuccessTest() throws IOException {
+		CryptoManagerResponseDTO cryptoRes = new CryptoManagerResponseDTO();
+		cryptoRes.setData("fuyftwfd");
+		ResponseWrapper<CryptoManagerResponseDTO> resEntity=new ResponseWrapper<>();
+		resEntity.setResponse(cryptoRes);
+		ResponseEntity<ResponseWrapper<CryptoManagerResponseDTO>> res = new ResponseEntity<>(resEntity, HttpStatus.OK);
+		MockClientHttpRequest request = new MockClientHttpRequest();
+		Mockito.when(restTemplate.execute(Mockito.anyString(), Mockito.eq(HttpMethod.POST),
+				Mockito.any(RequestCallback.class), Mockito.<ResponseExtractor<Object>>any())).thenAnswer(invocation -> {
+					invocation.<RequestCallback>getArgument(2).doWithRequest(request);
+					return res;
+				});
+		assertEquals("fuyftwfd",
+				crypto.encryptStream(new ByteArrayInputStream("hello".getBytes()), LocalDateTime.now()));
+		JsonNode body = new ObjectMapper().readTree(request.getBodyAsBytes());
+		assertEquals(Base64.getUrlEncoder().encodeToString("hello".getBytes()),
+				body.get("request").get("data").asText());
+	}
+
+	@Test(expected = EncryptionFailedException.class)
+	public void encryptStreamFailedExceptionTest() throws IOException {
+		ResponseWrapper<CryptoManagerResponseDTO> resEntity = new ResponseWrapper<>();
+		resEntity.setErrors(Arrays.asList(new ServiceError("KER-CRY-001", "encryption failed")));
+		ResponseEntity<ResponseWrapper<CryptoManagerResponseDTO>> res = new ResponseEntity<>(resEntity, HttpStatus.OK);
+		Mockito.when(restTemplate.execute(Mockito.anyString(), Mockito.eq(HttpMethod.POST),
+				Mockito.any(RequestCallback.class), Mockito.<ResponseExtractor<Object>>any())).thenReturn(res);
+		crypto.encryptStream(new ByteArrayInputStream("hello".getBytes()), LocalDateTime.now());
+	}
+
 	@Test(expected=HttpClientErrorException.class)
 	public void encryptFailedExceptionTest() {
 		HttpClientErrorException ex = new HttpClientErrorException(HttpStatus.OK);
@@ -72,6 +117,31 @@ public class CryptoUtilTest {
 
 	}
 	
+	@Test
+	public void decryptAllSuccessTest() {
+		CryptoManagerResponseDTO cryptoRes = new CryptoManagerResponseDTO();
+		cryptoRes.setData("aGVsbG8");
+		ResponseWrapper<CryptoManagerResponseDTO> resEntity = new ResponseWrapper<>();
+		resEntity.setResponse(cryptoRes);
+		ResponseEntity<ResponseWrapper<CryptoManagerResponseDTO>> res = new ResponseEntity<>(resEntity, HttpStatus.OK);
+		Mockito.when(restTemplate.exchange(Mockito.anyString(), Mockito.eq(HttpMethod.POST), Mockito.any(),
+				Mockito.eq(new ParameterizedTypeReference<ResponseWrapper<CryptoManagerResponseDTO>>() {
+				}))).thenReturn(res);
+		List<byte[]> decrypted = crypto.decryptAll(Arrays.asList("a".getBytes(), "b".getBytes(), "c".getBytes()),
+				LocalDateTime.now());
+		assertEquals(3, decrypted.size());
+		decrypted.forEach(bytes -> assertArrayEquals("hello".getBytes(), bytes));
+	}
+
+	@Test(expected = EncryptionFailedException.class)
+	public void decryptAllFailedExceptionTest() {
+		HttpClientErrorException ex = new HttpClientErrorException(HttpStatus.OK);
+		Mockito.when(restTemplate.exchange(Mockito.anyString(), Mockito.eq(HttpMethod.POST), Mockito.any(),
+				Mockito.eq(new ParameterizedTypeReference<ResponseWrapper<CryptoManagerResponseDTO>>() {
+				}))).thenThrow(ex);
+		crypto.decryptAll(Arrays.asList("a".getBytes(), "b".getBytes()), LocalDateTime.now());
+	}
+
 	/*
 	 * @Test public void decryptSuccessTest() { CryptoManagerResponseDTO cryptoRes1
 	 * = new CryptoManagerResponseDTO(); cryptoRes1.setData(
@@ -1,8 +1,14 @@
 package io.mosip.preregistration.datasync.controller;
 
+import java.io.IOException;
+import java.util.List;
+
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.constraints.NotNull;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -19,12 +25,14 @@ import io.mosip.preregistration.core.common.dto.MainRequestDTO;
 import io.mosip.preregistration.core.common.dto.MainResponseDTO;
 import io.mosip.preregistration.core.config.LoggerConfiguration;
 import io.mosip.preregistration.core.util.ResponseFilter;
+import io.mosip.preregistration.datasync.dto.BulkPrefetchRequestDTO;
 import io.mosip.preregistration.datasync.dto.DataSyncRequestDTO;
 import io.mosip.preregistration.datasync.dto.PreRegArchiveDTO;
 import io.mosip.preregistration.datasync.dto.PreRegistrationIdsDTO;
 import io.mosip.preregistration.datasync.dto.ReverseDataSyncRequestDTO;
 import io.mosip.preregistration.datasync.dto.ReverseDatasyncReponseDTO;
 import io.mosip.preregistration.datasync.service.DataSyncService;
+import io.mosip.preregistration.datasync.service.util.PacketStreamWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -117,6 +125,76 @@ public class DataSyncController {
 				.body(dataSyncService.fetchPreRegistrationData(preRegistrationId, machineId));
 	}
 
+	/**
+	 * This Get api returns the encrypted packet of an PreRegistrationId as is,
+	 * with the appointment details in the response headers, instead of
+	 * embedding the packet in a json response.
+	 *
+	 * @param preRegistrationId
+	 * @param machineId
+	 * @return encrypted packet
+	 */
+	@PreAuthorize("hasAnyRole(@authorizedRoles.getGetsyncpreregistrationidmachineid())")
+	@GetMapping(path = "/sync/{preRegistrationId}/{machineId}/packet", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+	@Operation(summary = "Retrieve Pre-Registration packet", description = "Retrieve Pre-Registration packet", tags = "Data-Sync")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Data Sync packet fetched"),
+			@ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(schema = @Schema(hidden = true))),
+			@ApiResponse(responseCode = "403", description = "Forbidden", content = @Content(schema = @Schema(hidden = true))),
+			@ApiResponse(responseCode = "404", description = "Not Found", content = @Content(schema = @Schema(hidden = true))) })
+	public ResponseEntity<byte[]> retrievePreRegistrationPacket(
+			@PathVariable(required = true, value = "preRegistrationId") String preRegistrationId,
+			@PathVariable(required = true, value = "machineId") String machineId) {
+		log.info("sessionId", "idType", "id",
+				"In Datasync controller for retreiving pre-registration packet with preRegId and machineId "
+						+ preRegistrationId + " " + machineId);
+		PreRegArchiveDTO preRegArchiveDTO = dataSyncService.fetchPreRegistrationPacket(preRegistrationId, machineId);
+		HttpHeaders headers = new HttpHeaders();
+		headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+		headers.setContentDisposition(
+				ContentDisposition.builder("attachment").filename(preRegArchiveDTO.getFileName() + ".zip").build());
+		headers.set("pre-registration-id", preRegArchiveDTO.getPreRegistrationId());
+		setHeaderIfPresent(headers, "registration-client-id", preRegArchiveDTO.getRegistrationCenterId());
+		setHeaderIfPresent(headers, "appointment-date", preRegArchiveDTO.getAppointmentDate());
+		setHeaderIfPresent(headers, "from-time-slot", preRegArchiveDTO.getTimeSlotFrom());
+		setHeaderIfPresent(headers, "to-time-slot", preRegArchiveDTO.getTimeSlotTo());
+		return new ResponseEntity<>(preRegArchiveDTO.getZipBytes(), headers, HttpStatus.OK);
+	}
+
+	/**
+	 * This POST api returns the encrypted packets of many PreRegistrationIds in
+	 * one length prefixed stream, see {@link PacketStreamWriter}. The ids are
+	 * either given or those booked in the registration center for the dates.
+	 *
+	 * @param bulkPrefetchRequest
+	 * @param response
+	 * @throws IOException
+	 */
+	@PreAuthorize("hasAnyRole(@authorizedRoles.getGetsyncpreregistrationidmachineid())")
+	@PostMapping(path = "/sync/packets", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+	@Operation(summary = "Retrieve Pre-Registration packets in bulk", description = "Retrieve Pre-Registration packets in bulk", tags = "Data-Sync")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Data Sync packets fetched"),
+			@ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(schema = @Schema(hidden = true))),
+			@ApiResponse(responseCode = "403", description = "Forbidden", content = @Content(schema = @Schema(hidden = true))),
+			@ApiResponse(responseCode = "404", description = "Not Found", content = @Content(schema = @Schema(hidden = true))) })
+	public void retrievePreRegistrationPackets(
+			@RequestBody(required = true) MainRequestDTO<BulkPrefetchRequestDTO> bulkPrefetchRequest,
+			HttpServletResponse response) throws IOException {
+		log.info("sessionId", "idType", "id",
+				"In Datasync controller for retreiving pre-registration packets for " + bulkPrefetchRequest);
+		// validated before the response is started, so errors still go out as json
+		List<String> preRegistrationIds = dataSyncService.resolveBulkPrefetchIds(bulkPrefetchRequest);
+		response.setStatus(HttpStatus.OK.value());
+		response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+		dataSyncService.writePreRegistrationPackets(preRegistrationIds,
+				bulkPrefetchRequest.getRequest().getMachineId(), response.getOutputStream());
+	}
+
+	private static void setHeaderIfPresent(HttpHeaders headers, String name, String value) {
+		if (value != null) {
+			headers.set(name, value);
+		}
+	}
+
 	/**
 	 * This POST api is used to retrieve all processed pre-registration ids and
 	 * store in pre-registration database
@@ -0,0 +1,48 @@
+package io.mosip.preregistration.datasync.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Request of the bulk prefetch. The packets are fetched for the given
+ * pre-registration ids, or when none are given for the applications booked in
+ * the registration center between the given dates.
+ *
+ * @since 1.2.0
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString
+public class BulkPrefetchRequestDTO implements Serializable {
+
+	private static final long serialVersionUID = -2186237427816092345L;
+
+	@JsonProperty("machineId")
+	@ApiModelProperty(value = "Machine id", position = 1)
+	private String machineId;
+
+	@JsonProperty("preRegistrationIds")
+	@ApiModelProperty(value = "Pre-Registration Ids", position = 2)
+	private List<String> preRegistrationIds;
+
+	@JsonProperty("registrationCenterId")
+	@ApiModelProperty(value = "Registration center id", position = 3)
+	private String registrationCenterId;
+
+	@JsonProperty("fromDate")
+	@ApiModelProperty(value = "From date", position = 4)
+	private String fromDate;
+
+	@JsonProperty("toDate")
+	@ApiModelProperty(value = "To date", position = 5)
+	private String toDate;
+}
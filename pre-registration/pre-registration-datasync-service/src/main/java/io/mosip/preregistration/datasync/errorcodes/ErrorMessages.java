@@ -64,7 +64,17 @@ public enum ErrorMessages {
 	/**
 	 * ErrorMessage for PRG_DATA_SYNC_022
 	 */
-	PRID_CONSUMED("Preregistration-Id has been consumed");
+	PRID_CONSUMED("Preregistration-Id has been consumed"),
+
+	/**
+	 * ErrorMessage for PRG_DATA_SYNC_023
+	 */
+	INVALID_MACHINE_ID("Invalid machine id"),
+
+	/**
+	 * ErrorMessage for PRG_DATA_SYNC_024
+	 */
+	PRE_REGISTRATION_IDS_LIMIT_EXCEEDED("Number of pre-registration ids exceeds the limit");
 
 	private ErrorMessages(String message) {
 		this.message = message;
@@ -1,24 +1,42 @@
 package io.mosip.preregistration.datasync.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutor;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import io.mosip.analytics.event.anonymous.exception.AnonymousProfileException;
 import io.mosip.analytics.event.anonymous.util.AnonymousProfileUtil;
 import io.mosip.kernel.core.authmanager.authadapter.model.AuthUserDetails;
+import io.mosip.kernel.core.exception.BaseUncheckedException;
 import io.mosip.kernel.core.logger.spi.Logger;
 import io.mosip.preregistration.core.code.AuditLogVariables;
 import io.mosip.preregistration.core.code.EventId;
@@ -34,16 +52,22 @@ import io.mosip.preregistration.core.common.dto.MainRequestDTO;
 import io.mosip.preregistration.core.common.dto.MainResponseDTO;
 import io.mosip.preregistration.core.common.dto.SlotTimeDto;
 import io.mosip.preregistration.core.config.LoggerConfiguration;
+import io.mosip.preregistration.core.exception.InvalidRequestParameterException;
 import io.mosip.preregistration.core.util.AuditLogUtil;
 import io.mosip.preregistration.core.util.ValidationUtil;
 import io.mosip.preregistration.datasync.dto.ApplicationInfoMetadataDTO;
+import io.mosip.preregistration.datasync.dto.BulkPrefetchRequestDTO;
 import io.mosip.preregistration.datasync.dto.DataSyncRequestDTO;
 import io.mosip.preregistration.datasync.dto.PreRegArchiveDTO;
 import io.mosip.preregistration.datasync.dto.PreRegistrationIdsDTO;
 import io.mosip.preregistration.datasync.dto.ReverseDataSyncRequestDTO;
 import io.mosip.preregistration.datasync.dto.ReverseDatasyncReponseDTO;
+import io.mosip.preregistration.datasync.errorcodes.ErrorCodes;
+import io.mosip.preregistration.datasync.errorcodes.ErrorMessages;
 import io.mosip.preregistration.datasync.exception.util.DataSyncExceptionCatcher;
 import io.mosip.preregistration.datasync.service.util.DataSyncServiceUtil;
+import io.mosip.preregistration.datasync.service.util.PacketStreamWriter;
+import io.mosip.preregistration.datasync.service.util.SyncPacketCacheUtil;
 
 /**
  * This class provides different service to perform operation for datasync
@@ -80,6 +104,9 @@ public class DataSyncService {
 	 */
 	@Autowired
 	AnonymousProfileUtil anonymousProfileUtil;
+
+	@Autowired
+	private SyncPacketCacheUtil syncPacketCacheUtil;
 	
 	/**
 	 * This method acts as a post constructor to initialize the required request
@@ -88,6 +115,17 @@ public class DataSyncService {
 	@PostConstruct
 	public void setup() {
 		requiredRequestMap.put("version", version);
+		AtomicInteger threadNo = new AtomicInteger();
+		bulkPrefetchExecutor = Executors.newFixedThreadPool(bulkPoolSize, runnable -> {
+			Thread thread = new Thread(runnable, "datasync-bulk-prefetch-" + threadNo.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	@PreDestroy
+	public void destroy() {
+		bulkPrefetchExecutor.shutdownNow();
 	}
 
 	/**
@@ -109,6 +147,31 @@ public class DataSyncService {
 	@Value("${mosip.id.preregistration.datasync.fetch}")
 	private String fetchId;
 
+	@Value("${mosip.id.preregistration.datasync.fetch.bulk:mosip.pre-registration.datasync.fetch.bulk}")
+	private String fetchBulkId;
+
+	/**
+	 * Number of packets of a bulk prefetch prepared at the same time, across all
+	 * requests
+	 */
+	@Value("${preregistration.datasync.bulk.pool-size:8}")
+	private int bulkPoolSize;
+
+	/**
+	 * Number of packets of one bulk prefetch prepared or waiting to be written
+	 * at any time, which bounds the memory a request holds
+	 */
+	@Value("${preregistration.datasync.bulk.window-size:16}")
+	private int bulkWindowSize;
+
+	@Value("${preregistration.datasync.bulk.max-ids:500}")
+	private int bulkMaxIds;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private ExecutorService bulkPrefetchExecutor;
+
 	/**
 	 * Reference for ${ver} from property file
 	 */
@@ -259,60 +322,204 @@ public class DataSyncService {
 	 * @param preId
 	 * @return PreRegArchiveDTO contain all Zipped File
 	 */
-	@SuppressWarnings("unlikely-arg-type")
 	public MainResponseDTO<PreRegArchiveDTO> fetchPreRegistrationData(String preId, String machineId) {
 		MainResponseDTO<PreRegArchiveDTO> responseDto = new MainResponseDTO<>();
-		PreRegArchiveDTO preRegArchiveDTO = null;
 		log.info("sessionId", "idType", "id", "In fetchPreRegistrationData method of datasync service ");
 		boolean isRetrieveSuccess = false;
 		responseDto.setId(fetchId);
 		responseDto.setVersion(version);
 		try {
-			ApplicationInfoMetadataDTO preRegInfo = serviceUtil.getPreRegistrationInfo(preId.trim());
-			DemographicResponseDTO preRegistrationDTO = preRegInfo.getDemographicResponse();
-			DocumentsMetaData documentsMetaData = preRegInfo.getDocumentsMetaData();
-			BookingRegistrationDTO bookingRegistrationDTO = null;
-			if (preRegistrationDTO.getStatusCode().equals(StatusCodes.BOOKED.getCode())
-					|| preRegistrationDTO.getStatusCode().equals(StatusCodes.EXPIRED.getCode())) {
-				bookingRegistrationDTO = serviceUtil.getAppointmentDetails(preId.trim());
-			}
-			preRegArchiveDTO = serviceUtil.archivingFiles(preRegistrationDTO, bookingRegistrationDTO, documentsMetaData,
-					machineId);
+			PreRegArchiveDTO preRegArchiveDTO = prefetchPreRegistration(preId, machineId);
 			responseDto.setResponsetime(serviceUtil.getCurrentResponseTime());
 			responseDto.setResponse(preRegArchiveDTO);
 			isRetrieveSuccess = true;
-			// insert the anonymous profile only if the appointment is being prefetched for the first time
-			if (!preRegistrationDTO.getStatusCode().equals(StatusCodes.BOOKED.getCode())
-					&& !preRegistrationDTO.getStatusCode().equals(StatusCodes.PREFETCHED.getCode())
-					&& !preRegistrationDTO.getStatusCode().equals(StatusCodes.EXPIRED.getCode())
-					&& !preRegistrationDTO.getStatusCode().equals(StatusCodes.CANCELLED.getCode())) {
-				preRegistrationDTO.setStatusCode(StatusCodes.PREFETCHED.getCode());
-				anonymousProfileUtil.saveAnonymousProfile(preRegistrationDTO, documentsMetaData, bookingRegistrationDTO,
-						null);
-				// update status to prefetched
-				serviceUtil.updateApplicationStatusToPreFectched(preId);
-			}
-		} catch (AnonymousProfileException apex) {
-			log.debug("sessionId", "idType", "id" + ExceptionUtils.getStackTrace(apex));
-			log.error("Unable to save AnonymousProfile in getPreRegistrationData method of datasync service -" + apex.getMessage());
 		} catch (Exception ex) {
 			log.debug("sessionId", "idType", "id" + ExceptionUtils.getStackTrace(ex));
 			log.error("In getPreRegistrationData method of datasync service -" + ex.getMessage());
 			new DataSyncExceptionCatcher().handle(ex, responseDto);
 		} finally {
-			if (isRetrieveSuccess) {
-				setAuditValues(EventId.PRE_406.toString(), EventName.SYNC.toString(), EventType.BUSINESS.toString(),
-						"Retrieval of the Preregistration data is successful", AuditLogVariables.MULTIPLE_ID.toString(),
-						authUserDetails().getUserId(), authUserDetails().getUsername(), null);
-			} else {
-				setAuditValues(EventId.PRE_405.toString(), EventName.EXCEPTION.toString(), EventType.SYSTEM.toString(),
-						"Retrieval of the Preregistration data is unsuccessful", AuditLogVariables.NO_ID.toString(),
-						authUserDetails().getUserId(), authUserDetails().getUsername(), null);
-			}
+			auditPrefetch(isRetrieveSuccess);
 		}
 		return responseDto;
 	}
 
+	/**
+	 * This method is the same as {@link #fetchPreRegistrationData(String, String)}
+	 * for callers that write the packet out as is. Failures are thrown to the
+	 * exception handler instead of being set on a response.
+	 * 
+	 * @param preId
+	 * @param machineId
+	 * @return PreRegArchiveDTO contain the encrypted packet
+	 */
+	public PreRegArchiveDTO fetchPreRegistrationPacket(String preId, String machineId) {
+		log.info("sessionId", "idType", "id", "In fetchPreRegistrationPacket method of datasync service ");
+		boolean isRetrieveSuccess = false;
+		try {
+			PreRegArchiveDTO preRegArchiveDTO = prefetchPreRegistration(preId, machineId);
+			isRetrieveSuccess = true;
+			return preRegArchiveDTO;
+		} finally {
+			auditPrefetch(isRetrieveSuccess);
+		}
+	}
+
+	/**
+	 * This method validates the bulk prefetch request and returns the
+	 * pre-registration ids to prefetch, either those given or those booked in
+	 * the registration center for the given dates.
+	 * 
+	 * @param bulkPrefetchRequest
+	 * @return pre-registration ids
+	 */
+	public List<String> resolveBulkPrefetchIds(MainRequestDTO<BulkPrefetchRequestDTO> bulkPrefetchRequest) {
+		log.info("sessionId", "idType", "id", "In resolveBulkPrefetchIds method of datasync service ");
+		validationUtil.requestValidator(bulkPrefetchRequest);
+		Map<String, String> requiredBulkRequestMap = new HashMap<>();
+		requiredBulkRequestMap.put("id", fetchBulkId);
+		requiredBulkRequestMap.put("version", version);
+		validationUtil.requestValidator(serviceUtil.prepareRequestMap(bulkPrefetchRequest), requiredBulkRequestMap);
+		BulkPrefetchRequestDTO request = bulkPrefetchRequest.getRequest();
+		if (serviceUtil.isNull(request.getMachineId())) {
+			throw new InvalidRequestParameterException(ErrorCodes.PRG_DATA_SYNC_023.getCode(),
+					ErrorMessages.INVALID_MACHINE_ID.getMessage(), null);
+		}
+		List<String> preRegistrationIds;
+		if (!serviceUtil.isNull(request.getPreRegistrationIds())) {
+			preRegistrationIds = new ArrayList<>(new LinkedHashSet<>(request.getPreRegistrationIds()));
+		} else {
+			DataSyncRequestDTO dataSyncRequestDTO = new DataSyncRequestDTO();
+			dataSyncRequestDTO.setRegistrationCenterId(request.getRegistrationCenterId());
+			dataSyncRequestDTO.setFromDate(request.getFromDate());
+			dataSyncRequestDTO.setToDate(request.getToDate());
+			serviceUtil.validateDataSyncRequest(dataSyncRequestDTO, null);
+			if (serviceUtil.isNull(dataSyncRequestDTO.getToDate())) {
+				dataSyncRequestDTO.setToDate(dataSyncRequestDTO.getFromDate());
+			}
+			BookingDataByRegIdDto preRegIdsDTO = serviceUtil.getBookedPreIdsByDateAndRegCenterIdRestService(
+					dataSyncRequestDTO.getFromDate(), dataSyncRequestDTO.getToDate(),
+					dataSyncRequestDTO.getRegistrationCenterId());
+			preRegistrationIds = new ArrayList<>(preRegIdsDTO.getIdsWithAppointmentDate().keySet());
+		}
+		if (preRegistrationIds.size() > bulkMaxIds) {
+			throw new InvalidRequestParameterException(ErrorCodes.PRG_DATA_SYNC_024.getCode(),
+					ErrorMessages.PRE_REGISTRATION_IDS_LIMIT_EXCEEDED.getMessage(), null);
+		}
+		return preRegistrationIds;
+	}
+
+	/**
+	 * This method prepares the packets of the pre-registration ids concurrently
+	 * and writes each one to the stream as soon as it is ready. A failure of one
+	 * pre-registration id is written as an error item and does not stop the
+	 * others.
+	 * 
+	 * @param preRegistrationIds
+	 * @param machineId
+	 * @param outputStream
+	 * @throws IOException on failure to write to the stream
+	 */
+	public void writePreRegistrationPackets(List<String> preRegistrationIds, String machineId,
+			OutputStream outputStream) throws IOException {
+		log.info("sessionId", "idType", "id", "In writePreRegistrationPackets method of datasync service for "
+				+ preRegistrationIds.size() + " pre-registration ids");
+		PacketStreamWriter packetWriter = new PacketStreamWriter(outputStream, objectMapper);
+		// audits of the packets need the caller on the pool threads
+		CompletionService<BulkPrefetchResult> completionService = new ExecutorCompletionService<>(
+				new DelegatingSecurityContextExecutor(bulkPrefetchExecutor, SecurityContextHolder.getContext()));
+		List<Future<BulkPrefetchResult>> futures = new ArrayList<>();
+		Iterator<String> pendingIds = preRegistrationIds.iterator();
+		int inFlight = 0;
+		try {
+			while (inFlight < bulkWindowSize && pendingIds.hasNext()) {
+				futures.add(submitPrefetch(completionService, pendingIds.next(), machineId));
+				inFlight++;
+			}
+			while (inFlight > 0) {
+				BulkPrefetchResult result = completionService.take().get();
+				inFlight--;
+				if (pendingIds.hasNext()) {
+					futures.add(submitPrefetch(completionService, pendingIds.next(), machineId));
+					inFlight++;
+				}
+				if (result.packet != null) {
+					packetWriter.writePacket(result.packet);
+				} else {
+					packetWriter.writeError(result.preRegistrationId, result.errorCode, result.message);
+				}
+			}
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Bulk prefetch interrupted", ex);
+		} catch (ExecutionException ex) {
+			throw new IllegalStateException(ex.getCause());
+		} finally {
+			futures.forEach(future -> future.cancel(true));
+		}
+	}
+
+	private Future<BulkPrefetchResult> submitPrefetch(CompletionService<BulkPrefetchResult> completionService,
+			String preId, String machineId) {
+		return completionService.submit(() -> {
+			try {
+				return new BulkPrefetchResult(preId, fetchPreRegistrationPacket(preId, machineId), null, null);
+			} catch (BaseUncheckedException ex) {
+				return new BulkPrefetchResult(preId, null, ex.getErrorCode(), ex.getErrorText());
+			} catch (Exception ex) {
+				log.error("sessionId", "idType", "id",
+						"In writePreRegistrationPackets method of datasync service - " + ex.getMessage());
+				return new BulkPrefetchResult(preId, null, ErrorCodes.PRG_DATA_SYNC_005.getCode(),
+						ErrorMessages.FAILED_TO_CREATE_A_ZIP_FILE.getMessage());
+			}
+		});
+	}
+
+	@SuppressWarnings("unlikely-arg-type")
+	private PreRegArchiveDTO prefetchPreRegistration(String preId, String machineId) {
+		// read ahead of the application data, see SyncPacketCacheUtil
+		String packetFingerprint = syncPacketCacheUtil.isEnabled() ? syncPacketCacheUtil.getFingerprint(preId.trim())
+				: null;
+		ApplicationInfoMetadataDTO preRegInfo = serviceUtil.getPreRegistrationInfo(preId.trim());
+		DemographicResponseDTO preRegistrationDTO = preRegInfo.getDemographicResponse();
+		DocumentsMetaData documentsMetaData = preRegInfo.getDocumentsMetaData();
+		BookingRegistrationDTO bookingRegistrationDTO = null;
+		if (preRegistrationDTO.getStatusCode().equals(StatusCodes.BOOKED.getCode())
+				|| preRegistrationDTO.getStatusCode().equals(StatusCodes.EXPIRED.getCode())) {
+			bookingRegistrationDTO = serviceUtil.getAppointmentDetails(preId.trim());
+		}
+		PreRegArchiveDTO preRegArchiveDTO = serviceUtil.archivingFiles(preRegistrationDTO, bookingRegistrationDTO,
+				documentsMetaData, machineId, packetFingerprint);
+		// insert the anonymous profile only if the appointment is being prefetched for the first time
+		if (!preRegistrationDTO.getStatusCode().equals(StatusCodes.BOOKED.getCode())
+				&& !preRegistrationDTO.getStatusCode().equals(StatusCodes.PREFETCHED.getCode())
+				&& !preRegistrationDTO.getStatusCode().equals(StatusCodes.EXPIRED.getCode())
+				&& !preRegistrationDTO.getStatusCode().equals(StatusCodes.CANCELLED.getCode())) {
+			try {
+				preRegistrationDTO.setStatusCode(StatusCodes.PREFETCHED.getCode());
+				anonymousProfileUtil.saveAnonymousProfile(preRegistrationDTO, documentsMetaData, bookingRegistrationDTO,
+						null);
+				// update status to prefetched
+				serviceUtil.updateApplicationStatusToPreFectched(preId);
+			} catch (AnonymousProfileException apex) {
+				log.debug("sessionId", "idType", "id" + ExceptionUtils.getStackTrace(apex));
+				log.error("Unable to save AnonymousProfile in getPreRegistrationData method of datasync service -" + apex.getMessage());
+			}
+		}
+		return preRegArchiveDTO;
+	}
+
+	private void auditPrefetch(boolean isRetrieveSuccess) {
+		if (isRetrieveSuccess) {
+			setAuditValues(EventId.PRE_406.toString(), EventName.SYNC.toString(), EventType.BUSINESS.toString(),
+					"Retrieval of the Preregistration data is successful", AuditLogVariables.MULTIPLE_ID.toString(),
+					authUserDetails().getUserId(), authUserDetails().getUsername(), null);
+		} else {
+			setAuditValues(EventId.PRE_405.toString(), EventName.EXCEPTION.toString(), EventType.SYSTEM.toString(),
+					"Retrieval of the Preregistration data is unsuccessful", AuditLogVariables.NO_ID.toString(),
+					authUserDetails().getUserId(), authUserDetails().getUsername(), null);
+		}
+	}
+
 	/**
 	 * This method is use to store all the consumed preRegistrationId and store it
 	 * in the database
@@ -394,4 +601,22 @@ public class DataSyncService {
 		auditLogUtil.saveAuditDetails(auditRequestDto);
 	}
 
+	private static final class BulkPrefetchResult {
+
+		private final String preRegistrationId;
+
+		private final PreRegArchiveDTO packet;
+
+		private final String errorCode;
+
+		private final String message;
+
+		private BulkPrefetchResult(String preRegistrationId, PreRegArchiveDTO packet, String errorCode,
+				String message) {
+			this.preRegistrationId = preRegistrationId;
+			this.packet = packet;
+			this.errorCode = errorCode;
+			this.message = message;
+		}
+	}
 }
@@ -1,7 +1,6 @@
 
 package io.mosip.preregistration.datasync.service.util;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
@@ -14,8 +13,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipOutputStream;
 
 import javax.annotation.PostConstruct;
 
@@ -93,7 +90,6 @@ import io.mosip.preregistration.datasync.exception.DemographicGetDetailsExceptio
 import io.mosip.preregistration.datasync.exception.DocumentGetDetailsException;
 import io.mosip.preregistration.datasync.exception.RecordNotFoundForDateRange;
 import io.mosip.preregistration.datasync.exception.ZipFileCreationException;
-import io.mosip.preregistration.datasync.exception.system.SystemFileIOException;
 import io.mosip.preregistration.datasync.repository.DemographicConsumedRepository;
 import io.mosip.preregistration.datasync.repository.InterfaceDataSyncRepo;
 import io.mosip.preregistration.datasync.repository.ProcessedDataSyncRepo;
@@ -134,6 +130,27 @@ public class DataSyncServiceUtil {
 	@Lazy
 	private ClientCryptoManagerService clientCryptoManagerService;
 
+	@Autowired
+	private DocumentStoreUtil documentStoreUtil;
+
+	@Autowired
+	private MachineKeyCacheUtil machineKeyCacheUtil;
+
+	@Autowired
+	private SyncPacketCacheUtil syncPacketCacheUtil;
+
+	/**
+	 * Reads the documents from the object store instead of the document API
+	 */
+	@Value("${preregistration.datasync.document.local-fetch.enabled:true}")
+	private boolean localDocumentFetch;
+
+	/**
+	 * Expected size of a sync packet, used to size the buffer it is built in
+	 */
+	@Value("${preregistration.datasync.packet.initial-size:262144}")
+	private int packetInitialSize;
+
 	/**
 	 * Reference for ${demographic.resource.url} from property file
 	 */
@@ -567,23 +584,48 @@ public class DataSyncServiceUtil {
 	 */
 	public PreRegArchiveDTO archivingFiles(DemographicResponseDTO preRegistrationDTO,
 			BookingRegistrationDTO bookingRegistrationDTO, DocumentsMetaData documentEntityList, String machineId) {
+		return archivingFiles(preRegistrationDTO, bookingRegistrationDTO, documentEntityList, machineId, null);
+	}
+
+	/**
+	 * This method is used to form the final PreRegArchiveDTO. When a packet
+	 * fingerprint is given the unencrypted packet is taken from the packet cache,
+	 * or built and cached, and only encrypted here.
+	 *
+	 * @param preRegistrationDTO
+	 * @param bookingRegistrationDTO
+	 * @param documentEntityList
+	 * @param machineId
+	 * @param packetFingerprint      fingerprint read before the application data,
+	 *                               null to build the packet without the cache
+	 * @return preRegArchiveDTO
+	 */
+	public PreRegArchiveDTO archivingFiles(DemographicResponseDTO preRegistrationDTO,
+			BookingRegistrationDTO bookingRegistrationDTO, DocumentsMetaData documentEntityList, String machineId,
+			String packetFingerprint) {
 		log.info("sessionId", "idType", "id", "In archivingFiles method of datasync service util");
 		PreRegArchiveDTO preRegArchiveDTO = null;
 		try {
 			preRegArchiveDTO = preparePreRegArchiveDTO(preRegistrationDTO, bookingRegistrationDTO);
-			Map<String, byte[]> inputFile = new HashMap<>();
-			JSONObject identityJson = getIdJSONValue(
-					JsonUtils.javaObjectToJsonString(preRegistrationDTO.getDemographicDetails()));
-			Map<String, Object> identityMap = JsonUtils
-					.jsonStringToJavaMap(JsonUtils.javaObjectToJsonString(identityJson));
-			Map<String, Object> finalMap = prepareIdentityMap(documentEntityList, inputFile, identityMap,
-					preRegistrationDTO.getPreRegistrationId());
-			log.info("sessionId", "idType", "id",
-					"In archivingFiles method of datasync service util, Json file content - "
-							+ new JSONObject(finalMap).toJSONString());
 			String encryptionPublickey = getEncryptionKey(machineId);
-			inputFile.put("ID.json", mapper.writeValueAsBytes(finalMap));
-			preRegArchiveDTO.setZipBytes(encryptFile(getCompressed(inputFile), encryptionPublickey));
+			if (packetFingerprint == null) {
+				SyncPacketBuilder packet = new SyncPacketBuilder(encryptionPublickey != null, packetInitialSize);
+				addPacketEntries(packet, preRegistrationDTO, documentEntityList);
+				preRegArchiveDTO.setZipBytes(encryptionPublickey != null
+						? encryptPacket(packet.finishEncoded(), encryptionPublickey, machineId)
+						: packet.finish());
+			} else {
+				String preId = preRegistrationDTO.getPreRegistrationId();
+				byte[] zipBytes = syncPacketCacheUtil.get(preId, packetFingerprint);
+				if (zipBytes == null) {
+					zipBytes = buildPacket(preRegistrationDTO, documentEntityList);
+					syncPacketCacheUtil.put(preId, packetFingerprint, zipBytes);
+				}
+				preRegArchiveDTO.setZipBytes(encryptionPublickey != null
+						? encryptPacket(Base64.getUrlEncoder().withoutPadding().encodeToString(zipBytes),
+								encryptionPublickey, machineId)
+						: zipBytes);
+			}
 			preRegArchiveDTO.setFileName(preRegistrationDTO.getPreRegistrationId());
 
 		} catch (Exception ex) {
@@ -596,20 +638,71 @@ public class DataSyncServiceUtil {
 		return preRegArchiveDTO;
 	}
 
+	/**
+	 * This method builds the unencrypted packet of an application, to be cached
+	 * ahead of its fetch
+	 *
+	 * @param preRegistrationDTO
+	 * @param documentsMetaData
+	 * @return zip bytes
+	 */
+	public byte[] buildPacket(DemographicResponseDTO preRegistrationDTO, DocumentsMetaData documentsMetaData) {
+		try {
+			SyncPacketBuilder packet = new SyncPacketBuilder(false, packetInitialSize);
+			addPacketEntries(packet, preRegistrationDTO, documentsMetaData);
+			return packet.finish();
+		} catch (Exception ex) {
+			log.error("sessionId", "idType", "id", ExceptionUtils.getStackTrace(ex));
+			log.error("sessionId", "idType", "id",
+					"In buildPacket method of datasync service util - " + ex.getMessage());
+			throw new ZipFileCreationException(ErrorCodes.PRG_DATA_SYNC_005.getCode(),
+					ErrorMessages.FAILED_TO_CREATE_A_ZIP_FILE.getMessage(), null);
+		}
+	}
+
+	private void addPacketEntries(SyncPacketBuilder packet, DemographicResponseDTO preRegistrationDTO,
+			DocumentsMetaData documentsMetaData) throws Exception {
+		JSONObject identityJson = getIdJSONValue(
+				JsonUtils.javaObjectToJsonString(preRegistrationDTO.getDemographicDetails()));
+		Map<String, Object> identityMap = JsonUtils.jsonStringToJavaMap(JsonUtils.javaObjectToJsonString(identityJson));
+		Map<String, Object> finalMap = prepareIdentityMap(documentsMetaData, packet, identityMap,
+				preRegistrationDTO.getPreRegistrationId());
+		log.info("sessionId", "idType", "id",
+				"In archivingFiles method of datasync service util, Json file content - "
+						+ new JSONObject(finalMap).toJSONString());
+		packet.addEntry("ID.json", mapper.writeValueAsBytes(finalMap));
+	}
+
+	private byte[] encryptPacket(String encodedData, String encryptionPublickey, String machineId) {
+		try {
+			return encryptFile(encodedData, encryptionPublickey);
+		} catch (RuntimeException ex) {
+			// the cached key may be unusable; a key replaced on re-registration is
+			// still usable and is only looked up again once its time to live passes
+			machineKeyCacheUtil.invalidate(machineId);
+			throw ex;
+		}
+	}
+
 	/**
 	 * This method is used to prepare the final Identity Map
 	 * 
 	 * @param documentsMetaData
-	 * @param inputFile
+	 * @param packet
 	 * @param jsonObject
 	 * @param preId
 	 * @return identiyMap
+	 * @throws IOException
 	 */
-	private Map<String, Object> prepareIdentityMap(DocumentsMetaData documentsMetaData, Map<String, byte[]> inputFile,
-			Map<String, Object> jsonObject, String preId) {
+	private Map<String, Object> prepareIdentityMap(DocumentsMetaData documentsMetaData, SyncPacketBuilder packet,
+			Map<String, Object> jsonObject, String preId) throws IOException {
 		Map<String, Object> identiyMap = new HashMap<>();
 		if (!isNull(documentsMetaData) && !isNull(documentsMetaData.getDocumentsMetaData())) {
-			for (DocumentMultipartResponseDTO documentMultipartResponseDTO : documentsMetaData.getDocumentsMetaData()) {
+			Map<String, byte[]> documentBytes = localDocumentFetch
+					? documentStoreUtil.getDocuments(preId, documentsMetaData.getDocumentsMetaData())
+					: null;
+			List<DocumentMultipartResponseDTO> documents = documentsMetaData.getDocumentsMetaData();
+			for (DocumentMultipartResponseDTO documentMultipartResponseDTO : documents) {
 				if (documentMultipartResponseDTO.getDocCatCode().equals(RequestCodes.POA.getCode())) {
 					jsonObject.put(poaUrl, prepareDocumentMetaData(documentMultipartResponseDTO));
 				} else if (documentMultipartResponseDTO.getDocCatCode().equals(RequestCodes.POI.getCode())) {
@@ -620,10 +713,25 @@ public class DataSyncServiceUtil {
 						|| documentMultipartResponseDTO.getDocCatCode().equals(RequestCodes.POB.getCode())) {
 					jsonObject.put(podUrl, prepareDocumentMetaData(documentMultipartResponseDTO));
 				}
-				DocumentDTO documentDTO = getDocBytesDetails(documentMultipartResponseDTO.getDocumentId(), preId);
-				if (documentDTO != null && documentDTO.getDocument() != null) {
-					inputFile.put(documentMultipartResponseDTO.getDocCatCode().concat("_")
-							.concat(documentMultipartResponseDTO.getDocName()), documentDTO.getDocument());
+			}
+			// zipped last first, so of the documents sharing a file name the last one
+			// is kept and the earlier ones are skipped
+			for (int i = documents.size() - 1; i >= 0; i--) {
+				DocumentMultipartResponseDTO documentMultipartResponseDTO = documents.get(i);
+				String fileName = documentMultipartResponseDTO.getDocCatCode().concat("_")
+						.concat(documentMultipartResponseDTO.getDocName());
+				byte[] document = null;
+				if (documentBytes != null) {
+					// released as soon as it is zipped
+					document = documentBytes.remove(documentMultipartResponseDTO.getDocumentId());
+				} else if (!packet.hasEntry(fileName)) {
+					DocumentDTO documentDTO = getDocBytesDetails(documentMultipartResponseDTO.getDocumentId(), preId);
+					if (documentDTO != null) {
+						document = documentDTO.getDocument();
+					}
+				}
+				if (document != null) {
+					packet.addEntry(fileName, document);
 				}
 			}
 		}
@@ -682,57 +790,6 @@ public class DataSyncServiceUtil {
 		return fileNameWithoutFormat;
 	}
 
-	/**
-	 * This method is used to zip the input files and convert into byteArray
-	 * 
-	 * @param inputFIle
-	 * @return byteArray
-	 */
-	private static byte[] getCompressed(Map<String, byte[]> inputFIle) {
-		log.info("sessionId", "idType", "id", "In getCompressed method of datasync service util");
-		byte[] byteArray = null;
-		try {
-			ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-			ZipOutputStream zipOutputStream = new ZipOutputStream(byteArrayOutputStream);
-
-			for (Map.Entry<String, byte[]> entry : inputFIle.entrySet()) {
-				zipping(entry.getKey(), entry.getValue(), zipOutputStream);
-			}
-			zipOutputStream.close();
-			byteArray = byteArrayOutputStream.toByteArray();
-		} catch (IOException ex) {
-			log.debug("sessionId", "idType", "id", ExceptionUtils.getStackTrace(ex));
-			log.error("sessionId", "idType", "id",
-					"In getCompressed method of datasync service util for FileNotFoundException - " + ex.getMessage());
-			throw new SystemFileIOException(ErrorCodes.PRG_DATA_SYNC_014.getCode(),
-					ErrorMessages.FILE_IO_EXCEPTION.getMessage(), null);
-		}
-		return byteArray;
-	}
-
-	/**
-	 * This method is used to form the zip output stream by adding the files into it
-	 * 
-	 * @param fileName
-	 * @param fileToZip
-	 * @param zipOutputStream
-	 */
-	private static void zipping(String fileName, byte[] fileToZip, ZipOutputStream zipOutputStream) {
-		log.info("sessionId", "idType", "id", "In zipping method of datasync service util");
-		try {
-			ZipEntry entry = new ZipEntry(fileName);
-			zipOutputStream.putNextEntry(entry);
-			zipOutputStream.write(fileToZip);
-			zipOutputStream.flush();
-		} catch (IOException ex) {
-			log.debug("sessionId", "idType", "id", ExceptionUtils.getStackTrace(ex));
-			log.error("sessionId", "idType", "id",
-					"In zipping method of datasync service util for IOException - " + ex.getMessage());
-			throw new SystemFileIOException(ErrorCodes.PRG_DATA_SYNC_014.getCode(),
-					ErrorMessages.FILE_IO_EXCEPTION.getMessage(), null);
-		}
-	}
-
 	/**
 	 * This method is used as Null checker for different input keys.
 	 *
@@ -906,35 +963,46 @@ public class DataSyncServiceUtil {
 		return extension;
 	}
 
+	/**
+	 * This method returns the encryption public key of the machine, from the
+	 * cache when it was looked up recently
+	 *
+	 * @param machineId
+	 * @return encryption public key
+	 */
 	public String getEncryptionKey(String machineId) {
+		if (machineId == null) {
+			return null;
+		}
+		return machineKeyCacheUtil.getKey(machineId, this::callGetMachinePublickey);
+	}
+
+	private String callGetMachinePublickey(String machineId) {
 		log.info("sessionId", "idType", "id", "In callGetMachinePublickey  method of datasync service util");
 		String encryptionPublickey = null;
 		try {
-			if (machineId != null) {
-				UriComponentsBuilder builder = UriComponentsBuilder
-						.fromHttpUrl(syncdataResourceUrl + "/tpm/publickey/" + machineId);
-				HttpHeaders headers = new HttpHeaders();
-				headers.setContentType(MediaType.APPLICATION_JSON_UTF8);
-				HttpEntity<MainResponseDTO<ClientPublickeyDTO>> httpEntity = new HttpEntity<>(headers);
-				String uriBuilder = builder.build().encode().toUriString();
-				log.info("sessionId", "idType", "id", "In callGetMachinePublickey method URL-{} " + uriBuilder);
-				ResponseEntity<MainResponseDTO<ClientPublickeyDTO>> respEntity = selfTokenRestTemplate.exchange(uriBuilder,
-						HttpMethod.GET, httpEntity,
-						new ParameterizedTypeReference<MainResponseDTO<ClientPublickeyDTO>>() {
-						});
-				MainResponseDTO<ClientPublickeyDTO> body = respEntity.getBody();
-				if (body != null) {
-					if (body.getErrors() != null) {
-						log.info("sessionId", "idType", "id",
-								"In callGetMachinePublickey method of datasync service util - unable to get envryption publickey for the machineID");
-					} else {
-						if (body.getResponse() != null) {
-							encryptionPublickey = body.getResponse().getEncryptionPublicKey();	
-						}
+			UriComponentsBuilder builder = UriComponentsBuilder
+					.fromHttpUrl(syncdataResourceUrl + "/tpm/publickey/" + machineId);
+			HttpHeaders headers = new HttpHeaders();
+			headers.setContentType(MediaType.APPLICATION_JSON_UTF8);
+			HttpEntity<MainResponseDTO<ClientPublickeyDTO>> httpEntity = new HttpEntity<>(headers);
+			String uriBuilder = builder.build().encode().toUriString();
+			log.info("sessionId", "idType", "id", "In callGetMachinePublickey method URL-{} " + uriBuilder);
+			ResponseEntity<MainResponseDTO<ClientPublickeyDTO>> respEntity = selfTokenRestTemplate.exchange(uriBuilder,
+					HttpMethod.GET, httpEntity,
+					new ParameterizedTypeReference<MainResponseDTO<ClientPublickeyDTO>>() {
+					});
+			MainResponseDTO<ClientPublickeyDTO> body = respEntity.getBody();
+			if (body != null) {
+				if (body.getErrors() != null) {
+					log.info("sessionId", "idType", "id",
+							"In callGetMachinePublickey method of datasync service util - unable to get envryption publickey for the machineID");
+				} else {
+					if (body.getResponse() != null) {
+						encryptionPublickey = body.getResponse().getEncryptionPublicKey();	
 					}
-				}	
-			}
-
+				}
+			}	
 		} catch (RestClientException ex) {
 			log.debug("{}", ExceptionUtils.getStackTrace(ex));
 			log.error("sessionId", "idType", "id",
@@ -947,17 +1015,20 @@ public class DataSyncServiceUtil {
 
 	}
 
-	public byte[] encryptFile(byte[] data, String encryptionPublickey) {
-
-		if (encryptionPublickey != null) {
-			TpmCryptoRequestDto tpmCryptoRequestDto = new TpmCryptoRequestDto();
-			tpmCryptoRequestDto.setValue(CryptoUtil.encodeToURLSafeBase64(data));
-			tpmCryptoRequestDto.setPublicKey(encryptionPublickey);
-			tpmCryptoRequestDto.setTpm(false);
-			TpmCryptoResponseDto tpmCryptoResponseDto = clientCryptoManagerService.csEncrypt(tpmCryptoRequestDto);
-			return CryptoUtil.decodeURLSafeBase64(tpmCryptoResponseDto.getValue());
-		} else
-			return data;
+	/**
+	 * This method encrypts the packet with the machine public key
+	 *
+	 * @param encodedData         URL safe Base64 form of the packet
+	 * @param encryptionPublickey
+	 * @return encrypted packet
+	 */
+	public byte[] encryptFile(String encodedData, String encryptionPublickey) {
+		TpmCryptoRequestDto tpmCryptoRequestDto = new TpmCryptoRequestDto();
+		tpmCryptoRequestDto.setValue(encodedData);
+		tpmCryptoRequestDto.setPublicKey(encryptionPublickey);
+		tpmCryptoRequestDto.setTpm(false);
+		TpmCryptoResponseDto tpmCryptoResponseDto = clientCryptoManagerService.csEncrypt(tpmCryptoRequestDto);
+		return CryptoUtil.decodeURLSafeBase64(tpmCryptoResponseDto.getValue());
 	}
 
 	public ApplicationInfoMetadataDTO getPreRegistrationInfo(String prid) {
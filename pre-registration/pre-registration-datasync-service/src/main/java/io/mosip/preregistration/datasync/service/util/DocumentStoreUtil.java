@@ -0,0 +1,195 @@
+package io.mosip.preregistration.datasync.service.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import io.mosip.commons.khazana.spi.ObjectStoreAdapter;
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.preregistration.core.common.dto.DocumentMultipartResponseDTO;
+import io.mosip.preregistration.core.config.LoggerConfiguration;
+import io.mosip.preregistration.core.util.CryptoUtil;
+import io.mosip.preregistration.core.util.HashUtill;
+import io.mosip.preregistration.datasync.errorcodes.ErrorCodes;
+import io.mosip.preregistration.datasync.errorcodes.ErrorMessages;
+import io.mosip.preregistration.datasync.exception.DocumentGetDetailsException;
+
+/**
+ * This class reads the documents of an application straight from the object
+ * store and decrypts them, instead of going through the document API of the
+ * application service. All the documents of an application are fetched
+ * concurrently.
+ *
+ * @since 1.2.0
+ */
+@Component
+public class DocumentStoreUtil {
+
+	private static final String DOCUMENT_RECORDS_QUERY = "SELECT id, doc_cat_code, doc_hash, encrypted_dtimes "
+			+ "FROM prereg.applicant_document WHERE prereg_id = :preRegId";
+
+	private static Logger log = LoggerConfiguration.logConfig(DocumentStoreUtil.class);
+
+	@Autowired
+	private NamedParameterJdbcTemplate jdbcTemplate;
+
+	@Qualifier("S3Adapter")
+	@Autowired
+	private ObjectStoreAdapter objectStore;
+
+	@Autowired
+	private CryptoUtil cryptoUtil;
+
+	@Value("${mosip.kernel.objectstore.account-name}")
+	private String objectStoreAccountName;
+
+	/**
+	 * Maximum number of documents fetched at the same time across all requests
+	 */
+	@Value("${preregistration.datasync.document.fetch.pool-size:10}")
+	private int fetchPoolSize;
+
+	@Value("${preregistration.datasync.document.fetch.timeout-seconds:60}")
+	private long fetchTimeoutSeconds;
+
+	private ExecutorService fetchExecutor;
+
+	@PostConstruct
+	public void init() {
+		fetchExecutor = Executors.newFixedThreadPool(fetchPoolSize, runnable -> {
+			Thread thread = new Thread(runnable, "datasync-document-fetch");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	@PreDestroy
+	public void destroy() {
+		fetchExecutor.shutdownNow();
+	}
+
+	/**
+	 * This method fetches the decrypted content of the given documents of the
+	 * application. A document that is missing or whose hash does not match is
+	 * left out, as the document API reports those as errors.
+	 *
+	 * @param preId
+	 * @param documents
+	 * @return decrypted content by document id
+	 */
+	public Map<String, byte[]> getDocuments(String preId, List<DocumentMultipartResponseDTO> documents) {
+		log.info("sessionId", "idType", "id", "In getDocuments method of document store util for " + preId);
+		if (documents == null || documents.isEmpty()) {
+			return Collections.emptyMap();
+		}
+		Map<String, DocumentRecord> records = new HashMap<>();
+		jdbcTemplate.query(DOCUMENT_RECORDS_QUERY, Collections.singletonMap("preRegId", preId),
+				rs -> {
+					records.put(rs.getString("id"), new DocumentRecord(rs.getString("id"),
+							rs.getString("doc_cat_code"), rs.getString("doc_hash"),
+							rs.getObject("encrypted_dtimes", LocalDateTime.class)));
+				});
+
+		List<String> documentIds = new ArrayList<>();
+		List<Future<byte[]>> futures = new ArrayList<>();
+		for (DocumentMultipartResponseDTO document : documents) {
+			DocumentRecord record = records.get(document.getDocumentId());
+			if (record == null) {
+				log.info("sessionId", "idType", "id",
+						"In getDocuments method of document store util - Document not found for the documentId "
+								+ document.getDocumentId());
+				continue;
+			}
+			documentIds.add(record.documentId);
+			futures.add(fetchExecutor.submit(() -> fetch(preId, record)));
+		}
+
+		Map<String, byte[]> documentBytes = new HashMap<>();
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(fetchTimeoutSeconds);
+		try {
+			for (int i = 0; i < futures.size(); i++) {
+				byte[] content = futures.get(i).get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+				if (content != null) {
+					documentBytes.put(documentIds.get(i), content);
+				}
+			}
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw failedToFetch(ex);
+		} catch (ExecutionException ex) {
+			throw failedToFetch(ex.getCause());
+		} catch (TimeoutException ex) {
+			throw failedToFetch(ex);
+		} finally {
+			futures.forEach(future -> future.cancel(true));
+		}
+		return documentBytes;
+	}
+
+	private byte[] fetch(String preId, DocumentRecord record) throws IOException {
+		String key = record.docCatCode + "_" + record.documentId;
+		byte[] cephBytes;
+		try (InputStream sourcefile = objectStore.getObject(objectStoreAccountName, preId, null, null, key)) {
+			if (sourcefile == null) {
+				log.info("sessionId", "idType", "id",
+						"In fetch method of document store util - Document not found in object store " + key);
+				return null;
+			}
+			cephBytes = IOUtils.toByteArray(sourcefile);
+		}
+		if (!record.docHash.equals(HashUtill.hashUtill(cephBytes))) {
+			log.error("sessionId", "idType", "id",
+					"In fetch method of document store util - Hash mismatch for the documentId " + record.documentId);
+			return null;
+		}
+		return cryptoUtil.decrypt(cephBytes, record.encryptedDateTime);
+	}
+
+	private DocumentGetDetailsException failedToFetch(Throwable ex) {
+		log.debug("sessionId", "idType", "id", ExceptionUtils.getStackTrace(ex));
+		log.error("sessionId", "idType", "id", "In getDocuments method of document store util - " + ex.getMessage());
+		return new DocumentGetDetailsException(ErrorCodes.PRG_DATA_SYNC_006.getCode(),
+				ErrorMessages.FAILED_TO_FETCH_DOCUMENT.getMessage(), null);
+	}
+
+	private static final class DocumentRecord {
+
+		private final String documentId;
+
+		private final String docCatCode;
+
+		private final String docHash;
+
+		private final LocalDateTime encryptedDateTime;
+
+		private DocumentRecord(String documentId, String docCatCode, String docHash,
+				LocalDateTime encryptedDateTime) {
+			this.documentId = documentId;
+			this.docCatCode = docCatCode;
+			this.docHash = docHash;
+			this.encryptedDateTime = encryptedDateTime;
+		}
+	}
+}
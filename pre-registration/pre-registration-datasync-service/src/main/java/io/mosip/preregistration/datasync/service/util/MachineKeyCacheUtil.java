@@ -0,0 +1,108 @@
+package io.mosip.preregistration.datasync.service.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * This class caches the encryption public keys of the registration client
+ * machines, so the packets fetched by a machine do not each look up its key in
+ * syncdata. The cache holds the most recently used keys up to a bound, and a
+ * key is looked up again once its time to live has passed or it has been
+ * invalidated. A machine re-registered with a new key keeps getting packets
+ * for its old key until then, so the time to live is kept short.
+ *
+ * @since 1.2.0
+ */
+@Component
+public class MachineKeyCacheUtil {
+
+	@Autowired(required = false)
+	private MeterRegistry meterRegistry;
+
+	@Value("${preregistration.datasync.machine-key.cache.ttl-seconds:300}")
+	private long ttlSeconds;
+
+	@Value("${preregistration.datasync.machine-key.cache.max-size:1000}")
+	private int maxSize;
+
+	private Map<String, CachedKey> keys;
+
+	@PostConstruct
+	public void init() {
+		keys = new LinkedHashMap<String, CachedKey>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, CachedKey> eldest) {
+				return size() > maxSize;
+			}
+		};
+	}
+
+	/**
+	 * This method returns the cached key of the machine, or looks it up with the
+	 * given loader and caches it. A null key is not cached.
+	 *
+	 * @param machineId
+	 * @param loader
+	 * @return encryption public key
+	 */
+	public String getKey(String machineId, Function<String, String> loader) {
+		long now = System.nanoTime();
+		synchronized (keys) {
+			CachedKey cachedKey = keys.get(machineId);
+			if (cachedKey != null && now - cachedKey.expiresAt < 0) {
+				count("hit");
+				return cachedKey.key;
+			}
+		}
+		count("miss");
+		String key = loader.apply(machineId);
+		if (key != null) {
+			synchronized (keys) {
+				keys.put(machineId, new CachedKey(key, now + TimeUnit.SECONDS.toNanos(ttlSeconds)));
+			}
+		}
+		return key;
+	}
+
+	/**
+	 * This method removes the cached key of the machine
+	 *
+	 * @param machineId
+	 */
+	public void invalidate(String machineId) {
+		synchronized (keys) {
+			keys.remove(machineId);
+		}
+	}
+
+	private void count(String result) {
+		if (meterRegistry != null) {
+			meterRegistry.counter("preregistration.datasync.machine.key.cache", "result", result).increment();
+		}
+	}
+
+	private static final class CachedKey {
+
+		private final String key;
+
+		private final long expiresAt;
+
+		private CachedKey(String key, long expiresAt) {
+			this.key = key;
+			this.expiresAt = expiresAt;
+		}
+	}
+}
@@ -0,0 +1,74 @@
+package io.mosip.preregistration.datasync.service.util;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.mosip.preregistration.datasync.dto.PreRegArchiveDTO;
+
+/**
+ * This class writes the packets of a bulk prefetch as a sequence of length
+ * prefixed items. Each item is a 4 byte length followed by a json header, then
+ * a 4 byte length followed by the encrypted packet. The header of a failed
+ * item carries the error and is followed by an empty packet.
+ *
+ * @since 1.2.0
+ */
+public class PacketStreamWriter {
+
+	private final DataOutputStream outputStream;
+
+	private final ObjectMapper mapper;
+
+	public PacketStreamWriter(OutputStream outputStream, ObjectMapper mapper) {
+		this.outputStream = new DataOutputStream(outputStream);
+		this.mapper = mapper;
+	}
+
+	/**
+	 * This method writes the packet of a pre-registration id
+	 *
+	 * @param preRegArchiveDTO
+	 * @throws IOException
+	 */
+	public void writePacket(PreRegArchiveDTO preRegArchiveDTO) throws IOException {
+		Map<String, String> header = new LinkedHashMap<>();
+		header.put("pre-registration-id", preRegArchiveDTO.getPreRegistrationId());
+		header.put("registration-client-id", preRegArchiveDTO.getRegistrationCenterId());
+		header.put("appointment-date", preRegArchiveDTO.getAppointmentDate());
+		header.put("from-time-slot", preRegArchiveDTO.getTimeSlotFrom());
+		header.put("to-time-slot", preRegArchiveDTO.getTimeSlotTo());
+		header.put("zip-filename", preRegArchiveDTO.getFileName());
+		write(header, preRegArchiveDTO.getZipBytes());
+	}
+
+	/**
+	 * This method writes the error of a pre-registration id whose packet could
+	 * not be prepared
+	 *
+	 * @param preRegistrationId
+	 * @param errorCode
+	 * @param message
+	 * @throws IOException
+	 */
+	public void writeError(String preRegistrationId, String errorCode, String message) throws IOException {
+		Map<String, String> header = new LinkedHashMap<>();
+		header.put("pre-registration-id", preRegistrationId);
+		header.put("errorCode", errorCode);
+		header.put("message", message);
+		write(header, new byte[0]);
+	}
+
+	private void write(Map<String, String> header, byte[] packet) throws IOException {
+		byte[] headerBytes = mapper.writeValueAsBytes(header);
+		outputStream.writeInt(headerBytes.length);
+		outputStream.write(headerBytes);
+		outputStream.writeInt(packet.length);
+		outputStream.write(packet);
+		outputStream.flush();
+	}
+}
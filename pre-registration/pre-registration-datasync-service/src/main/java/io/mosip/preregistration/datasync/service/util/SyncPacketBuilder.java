@@ -0,0 +1,97 @@
+package io.mosip.preregistration.datasync.service.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * This class builds the zip of a sync packet entry by entry, so the files of
+ * the packet never need to be collected before zipping. When the packet is to
+ * be encrypted the zip is written straight through a URL safe Base64 encoder,
+ * as the client crypto request takes the data in that form, and the raw zip is
+ * never held as a whole.
+ *
+ * @since 1.2.0
+ */
+public class SyncPacketBuilder {
+
+	private final ByteArrayOutputStream buffer;
+
+	private final ZipOutputStream zipOutputStream;
+
+	private final boolean encoded;
+
+	private final Set<String> entryNames = new HashSet<>();
+
+	/**
+	 * @param encoded     true to keep the zip only in its Base64 form
+	 * @param initialSize expected size of the zip, used to size the buffer
+	 */
+	public SyncPacketBuilder(boolean encoded, int initialSize) {
+		this.encoded = encoded;
+		this.buffer = new ByteArrayOutputStream(encoded ? (initialSize + 2) / 3 * 4 : initialSize);
+		OutputStream sink = encoded ? Base64.getUrlEncoder().withoutPadding().wrap(buffer) : buffer;
+		this.zipOutputStream = new ZipOutputStream(sink);
+	}
+
+	/**
+	 * This method adds a file to the zip. A zip cannot hold two entries of the
+	 * same name, so a file whose name was already added is skipped.
+	 *
+	 * @param fileName
+	 * @param content
+	 * @return false when the file was skipped
+	 * @throws IOException
+	 */
+	public boolean addEntry(String fileName, byte[] content) throws IOException {
+		if (!entryNames.add(fileName)) {
+			return false;
+		}
+		zipOutputStream.putNextEntry(new ZipEntry(fileName));
+		zipOutputStream.write(content);
+		zipOutputStream.closeEntry();
+		return true;
+	}
+
+	/**
+	 * @param fileName
+	 * @return true when a file of the name was already added
+	 */
+	public boolean hasEntry(String fileName) {
+		return entryNames.contains(fileName);
+	}
+
+	/**
+	 * This method completes the zip and returns it.
+	 *
+	 * @return zip bytes
+	 * @throws IOException
+	 */
+	public byte[] finish() throws IOException {
+		if (encoded) {
+			throw new IllegalStateException("Sync packet was built Base64 encoded");
+		}
+		zipOutputStream.close();
+		return buffer.toByteArray();
+	}
+
+	/**
+	 * This method completes the zip and returns its URL safe Base64 form.
+	 *
+	 * @return encoded zip
+	 * @throws IOException
+	 */
+	public String finishEncoded() throws IOException {
+		if (!encoded) {
+			throw new IllegalStateException("Sync packet was not built Base64 encoded");
+		}
+		zipOutputStream.close();
+		return buffer.toString(StandardCharsets.US_ASCII.name());
+	}
+}
@@ -0,0 +1,330 @@
+package io.mosip.preregistration.datasync.service.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import javax.annotation.PostConstruct;
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.preregistration.core.config.LoggerConfiguration;
+import io.mosip.preregistration.core.util.HashUtill;
+
+/**
+ * This class keeps the sync packets of applications in a size bounded cache on
+ * the local disk, so a packet fetched again, from the same or another machine,
+ * only needs to be encrypted for that machine. A packet is cached under a
+ * fingerprint of the demographic and document records of the application, and
+ * is only served while the fingerprint is unchanged.
+ * <p>
+ * The cache directory has to be configured, and is restricted to the owner.
+ * The packets are written AES-GCM encrypted with a key generated at startup
+ * and held in memory only, so the files are unreadable once the service stops.
+ * The cache is therefore cleared on startup, which also drops packets built
+ * with an older configuration.
+ *
+ * @since 1.2.0
+ */
+@Component
+public class SyncPacketCacheUtil {
+
+	private static final String FINGERPRINT_QUERY = "SELECT d.upd_dtimes, d.demog_detail_hash, "
+			+ "doc.id, doc.doc_name, doc.doc_cat_code, doc.doc_typ_code, doc.doc_ref_id, doc.doc_hash "
+			+ "FROM prereg.applicant_demographic d "
+			+ "LEFT JOIN prereg.applicant_document doc ON doc.prereg_id = d.prereg_id "
+			+ "WHERE d.prereg_id = :preRegId ORDER BY doc.id";
+
+	private static final String PACKET_FILE_SUFFIX = ".zip";
+
+	private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+	private static final String CIPHER_ALGORITHM = "AES/GCM/NoPadding";
+
+	private static final int KEY_SIZE_BITS = 256;
+
+	private static final int IV_LENGTH = 12;
+
+	private static final int TAG_LENGTH_BITS = 128;
+
+	private static final Set<PosixFilePermission> OWNER_ONLY = PosixFilePermissions.fromString("rwx------");
+
+	private static Logger log = LoggerConfiguration.logConfig(SyncPacketCacheUtil.class);
+
+	@Autowired
+	private NamedParameterJdbcTemplate jdbcTemplate;
+
+	@Autowired(required = false)
+	private MeterRegistry meterRegistry;
+
+	@Value("${preregistration.datasync.packet-cache.enabled:false}")
+	private boolean enabled;
+
+	/**
+	 * Directory of the cached packets, required when the cache is enabled. It
+	 * is cleared on startup, so it must not be shared with anything else.
+	 */
+	@Value("${preregistration.datasync.packet-cache.directory:}")
+	private String directory;
+
+	@Value("${preregistration.datasync.packet-cache.max-size-mb:1024}")
+	private long maxSizeMb;
+
+	private Path cacheDirectory;
+
+	private long maxSizeBytes;
+
+	private long sizeBytes;
+
+	private SecretKey packetKey;
+
+	private final SecureRandom secureRandom = new SecureRandom();
+
+	/**
+	 * Cached packets by pre-registration id, the least recently used first
+	 */
+	private final Map<String, CachedPacket> packets = new LinkedHashMap<>(16, 0.75f, true);
+
+	@PostConstruct
+	public void init() throws IOException, GeneralSecurityException {
+		if (!enabled) {
+			return;
+		}
+		if (StringUtils.isBlank(directory)) {
+			throw new IllegalStateException(
+					"preregistration.datasync.packet-cache.directory is required when the packet cache is enabled");
+		}
+		maxSizeBytes = maxSizeMb * 1024 * 1024;
+		cacheDirectory = Paths.get(directory);
+		if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+			Files.createDirectories(cacheDirectory, PosixFilePermissions.asFileAttribute(OWNER_ONLY));
+			Files.setPosixFilePermissions(cacheDirectory, OWNER_ONLY);
+		} else {
+			Files.createDirectories(cacheDirectory);
+		}
+		KeyGenerator keyGenerator = KeyGenerator.getInstance("AES");
+		keyGenerator.init(KEY_SIZE_BITS, secureRandom);
+		packetKey = keyGenerator.generateKey();
+		try (Stream<Path> files = Files.list(cacheDirectory)) {
+			files.filter(file -> file.getFileName().toString().endsWith(PACKET_FILE_SUFFIX)
+					|| file.getFileName().toString().endsWith(TEMP_FILE_SUFFIX)).forEach(this::delete);
+		}
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * This method returns true once the cache has reached its size bound
+	 *
+	 * @return true when full
+	 */
+	public boolean isFull() {
+		synchronized (packets) {
+			return sizeBytes >= maxSizeBytes;
+		}
+	}
+
+	/**
+	 * This method reads the fingerprint of the application. It is to be read
+	 * before the data of the application, so a packet built from that data is
+	 * never newer than its fingerprint.
+	 *
+	 * @param preId
+	 * @return fingerprint, or null when the application is not found
+	 */
+	public String getFingerprint(String preId) {
+		StringBuilder records = new StringBuilder();
+		jdbcTemplate.query(FINGERPRINT_QUERY, Collections.singletonMap("preRegId", preId), rs -> {
+			if (records.length() == 0) {
+				records.append(rs.getString("upd_dtimes")).append('|').append(rs.getString("demog_detail_hash"));
+			}
+			if (rs.getString("id") != null) {
+				records.append('|').append(rs.getString("id")).append(',').append(rs.getString("doc_name"))
+						.append(',').append(rs.getString("doc_cat_code")).append(',')
+						.append(rs.getString("doc_typ_code")).append(',').append(rs.getString("doc_ref_id"))
+						.append(',').append(rs.getString("doc_hash"));
+			}
+		});
+		if (records.length() == 0) {
+			return null;
+		}
+		return HashUtill.hashUtill(records.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * This method returns true when the packet of the application is cached for
+	 * the given fingerprint
+	 *
+	 * @param preId
+	 * @param fingerprint
+	 * @return true when cached
+	 */
+	public boolean contains(String preId, String fingerprint) {
+		synchronized (packets) {
+			CachedPacket packet = packets.get(preId);
+			return packet != null && packet.fingerprint.equals(fingerprint);
+		}
+	}
+
+	/**
+	 * This method returns the cached packet of the application when it was built
+	 * for the given fingerprint
+	 *
+	 * @param preId
+	 * @param fingerprint
+	 * @return zip bytes, or null when not cached
+	 */
+	public byte[] get(String preId, String fingerprint) {
+		Path file;
+		synchronized (packets) {
+			CachedPacket packet = packets.get(preId);
+			file = packet != null && packet.fingerprint.equals(fingerprint) ? packet.file : null;
+		}
+		if (file != null) {
+			try {
+				byte[] zipBytes = decrypt(preId, fingerprint, Files.readAllBytes(file));
+				count("hit");
+				return zipBytes;
+			} catch (IOException | GeneralSecurityException ex) {
+				// evicted or removed meanwhile, or not written by this instance
+				log.debug("sessionId", "idType", "id", ExceptionUtils.getStackTrace(ex));
+			}
+		}
+		count("miss");
+		return null;
+	}
+
+	/**
+	 * This method caches the packet of the application for the given
+	 * fingerprint, replacing the one cached for an older fingerprint. The least
+	 * recently used packets are evicted when the cache is over its size bound.
+	 *
+	 * @param preId
+	 * @param fingerprint
+	 * @param zipBytes
+	 */
+	public void put(String preId, String fingerprint, byte[] zipBytes) {
+		if (zipBytes.length > maxSizeBytes) {
+			return;
+		}
+		Path file = cacheDirectory.resolve(preId + "_" + fingerprint + PACKET_FILE_SUFFIX);
+		Path tempFile = null;
+		byte[] fileBytes;
+		try {
+			fileBytes = encrypt(preId, fingerprint, zipBytes);
+			// created readable by the owner only
+			tempFile = Files.createTempFile(cacheDirectory, preId, TEMP_FILE_SUFFIX);
+			Files.write(tempFile, fileBytes);
+			Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException | GeneralSecurityException ex) {
+			if (tempFile != null) {
+				delete(tempFile);
+			}
+			log.debug("sessionId", "idType", "id", ExceptionUtils.getStackTrace(ex));
+			log.error("sessionId", "idType", "id",
+					"In put method of sync packet cache util - Unable to cache the packet of " + preId);
+			return;
+		}
+		synchronized (packets) {
+			CachedPacket replaced = packets.put(preId, new CachedPacket(fingerprint, file, fileBytes.length));
+			if (replaced != null) {
+				sizeBytes -= replaced.size;
+				if (!replaced.file.equals(file)) {
+					delete(replaced.file);
+				}
+			}
+			sizeBytes += fileBytes.length;
+			Iterator<CachedPacket> eldest = packets.values().iterator();
+			while (sizeBytes > maxSizeBytes && eldest.hasNext()) {
+				CachedPacket evicted = eldest.next();
+				eldest.remove();
+				sizeBytes -= evicted.size;
+				delete(evicted.file);
+			}
+		}
+	}
+
+	/**
+	 * Encrypts the packet, bound to the application and fingerprint it is cached
+	 * under, and prefixes the random iv.
+	 */
+	private byte[] encrypt(String preId, String fingerprint, byte[] zipBytes) throws GeneralSecurityException {
+		byte[] iv = new byte[IV_LENGTH];
+		secureRandom.nextBytes(iv);
+		Cipher cipher = Cipher.getInstance(CIPHER_ALGORITHM);
+		cipher.init(Cipher.ENCRYPT_MODE, packetKey, new GCMParameterSpec(TAG_LENGTH_BITS, iv));
+		cipher.updateAAD(associatedData(preId, fingerprint));
+		ByteBuffer fileBytes = ByteBuffer.allocate(IV_LENGTH + cipher.getOutputSize(zipBytes.length));
+		fileBytes.put(iv);
+		cipher.doFinal(ByteBuffer.wrap(zipBytes), fileBytes);
+		return fileBytes.array();
+	}
+
+	private byte[] decrypt(String preId, String fingerprint, byte[] fileBytes) throws GeneralSecurityException {
+		Cipher cipher = Cipher.getInstance(CIPHER_ALGORITHM);
+		cipher.init(Cipher.DECRYPT_MODE, packetKey, new GCMParameterSpec(TAG_LENGTH_BITS, fileBytes, 0, IV_LENGTH));
+		cipher.updateAAD(associatedData(preId, fingerprint));
+		return cipher.doFinal(fileBytes, IV_LENGTH, fileBytes.length - IV_LENGTH);
+	}
+
+	private static byte[] associatedData(String preId, String fingerprint) {
+		return (preId + "_" + fingerprint).getBytes(StandardCharsets.UTF_8);
+	}
+
+	private void delete(Path file) {
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException ex) {
+			log.debug("sessionId", "idType", "id", ExceptionUtils.getStackTrace(ex));
+		}
+	}
+
+	private void count(String result) {
+		if (meterRegistry != null) {
+			meterRegistry.counter("preregistration.datasync.packet.cache", "result", result).increment();
+		}
+	}
+
+	private static final class CachedPacket {
+
+		private final String fingerprint;
+
+		private final Path file;
+
+		private final long size;
+
+		private CachedPacket(String fingerprint, Path file, long size) {
+			this.fingerprint = fingerprint;
+			this.file = file;
+			this.size = size;
+		}
+	}
+}
@@ -0,0 +1,204 @@
+package io.mosip.preregistration.datasync.service.util;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.preregistration.core.config.LoggerConfiguration;
+import io.mosip.preregistration.datasync.dto.ApplicationInfoMetadataDTO;
+
+/**
+ * This class builds the packets of the applications booked for the coming
+ * days into the packet cache ahead of their fetch, so the fetches on the day
+ * of the appointments only encrypt the packets. The earliest appointments are
+ * built first, and a run stops once the cache is full.
+ * <p>
+ * Each batch of a run is built holding a database advisory lock, so when the
+ * service is scaled out only one instance builds at a time and the others skip
+ * the run. The lock is taken on a pooled connection of its own, held only for
+ * the build of the batch, while the build borrows other connections of the
+ * pool. The packets are built into the cache of that instance only, the other
+ * instances build packets on their fetch.
+ *
+ * @since 1.2.0
+ */
+@Component
+public class SyncPacketPrebuilder {
+
+	private static final String BOOKED_PRE_IDS_QUERY = "SELECT prereg_id FROM prereg.reg_appointment "
+			+ "WHERE appointment_date BETWEEN :fromDate AND :toDate ORDER BY appointment_date, slot_from_time";
+
+	private static final String TRY_LOCK_QUERY = "SELECT pg_try_advisory_lock(?)";
+
+	private static final String UNLOCK_QUERY = "SELECT pg_advisory_unlock(?)";
+
+	/**
+	 * Key of the advisory lock held by a prebuild run, shared by all the
+	 * instances of the service
+	 */
+	private static final long PREBUILD_LOCK_KEY = 0x707265627569L;
+
+	private static Logger log = LoggerConfiguration.logConfig(SyncPacketPrebuilder.class);
+
+	@Autowired
+	private NamedParameterJdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private DataSyncServiceUtil serviceUtil;
+
+	@Autowired
+	private SyncPacketCacheUtil syncPacketCacheUtil;
+
+	/**
+	 * Number of days after today whose appointments are built, 0 to not build
+	 * ahead
+	 */
+	@Value("${preregistration.datasync.packet-cache.prebuild.days:1}")
+	private int prebuildDays;
+
+	@Value("${preregistration.datasync.packet-cache.prebuild.initial-delay-seconds:60}")
+	private long initialDelaySeconds;
+
+	@Value("${preregistration.datasync.packet-cache.prebuild.interval-minutes:60}")
+	private long intervalMinutes;
+
+	/**
+	 * Number of packets built per hold of the advisory lock
+	 */
+	@Value("${preregistration.datasync.packet-cache.prebuild.batch-size:50}")
+	private int batchSize;
+
+	private ScheduledExecutorService prebuildExecutor;
+
+	@PostConstruct
+	public void init() {
+		if (!syncPacketCacheUtil.isEnabled() || prebuildDays <= 0) {
+			return;
+		}
+		prebuildExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "datasync-packet-prebuild");
+			thread.setDaemon(true);
+			return thread;
+		});
+		prebuildExecutor.scheduleWithFixedDelay(this::prebuildLocked, initialDelaySeconds,
+				TimeUnit.MINUTES.toSeconds(intervalMinutes), TimeUnit.SECONDS);
+	}
+
+	@PreDestroy
+	public void destroy() {
+		if (prebuildExecutor != null) {
+			prebuildExecutor.shutdownNow();
+		}
+	}
+
+	private void prebuildLocked() {
+		try {
+			LocalDate today = LocalDate.now();
+			Map<String, Object> params = new HashMap<>();
+			params.put("fromDate", today);
+			params.put("toDate", today.plusDays(prebuildDays));
+			List<String> preIds = jdbcTemplate.queryForList(BOOKED_PRE_IDS_QUERY, params, String.class);
+			int built = 0;
+			for (int from = 0; from < preIds.size(); from += batchSize) {
+				if (Thread.currentThread().isInterrupted() || syncPacketCacheUtil.isFull()) {
+					break;
+				}
+				Integer batchBuilt = prebuildLocked(preIds.subList(from, Math.min(from + batchSize, preIds.size())));
+				if (batchBuilt == null) {
+					log.info("sessionId", "idType", "id",
+							"In prebuild method of sync packet prebuilder - Skipped, another instance is building");
+					break;
+				}
+				built += batchBuilt;
+			}
+			log.info("sessionId", "idType", "id", "In prebuild method of sync packet prebuilder - Built " + built
+					+ " of " + preIds.size() + " booked packets");
+		} catch (Exception ex) {
+			log.error("sessionId", "idType", "id",
+					"In prebuild method of sync packet prebuilder - " + ExceptionUtils.getStackTrace(ex));
+		}
+	}
+
+	/**
+	 * Builds the packets of the batch holding the advisory lock.
+	 * 
+	 * @return the number of packets built, null when another instance holds the
+	 *         lock
+	 */
+	private Integer prebuildLocked(List<String> batch) {
+		return jdbcTemplate.getJdbcOperations().execute((ConnectionCallback<Integer>) connection -> {
+			if (!callLockFunction(connection, TRY_LOCK_QUERY)) {
+				return null;
+			}
+			try {
+				return prebuild(batch);
+			} finally {
+				callLockFunction(connection, UNLOCK_QUERY);
+			}
+		});
+	}
+
+	/**
+	 * The session level lock is held on the given connection till it is
+	 * unlocked on it, or the connection is closed.
+	 */
+	private boolean callLockFunction(Connection connection, String query) throws SQLException {
+		try (PreparedStatement statement = connection.prepareStatement(query)) {
+			statement.setLong(1, PREBUILD_LOCK_KEY);
+			try (ResultSet resultSet = statement.executeQuery()) {
+				return resultSet.next() && resultSet.getBoolean(1);
+			}
+		}
+	}
+
+	private int prebuild(List<String> batch) {
+		int built = 0;
+		for (String preId : batch) {
+			if (Thread.currentThread().isInterrupted() || syncPacketCacheUtil.isFull()) {
+				break;
+			}
+			if (prebuild(preId)) {
+				built++;
+			}
+		}
+		return built;
+	}
+
+	private boolean prebuild(String preId) {
+		try {
+			String fingerprint = syncPacketCacheUtil.getFingerprint(preId);
+			if (fingerprint == null || syncPacketCacheUtil.contains(preId, fingerprint)) {
+				return false;
+			}
+			ApplicationInfoMetadataDTO preRegInfo = serviceUtil.getPreRegistrationInfo(preId);
+			syncPacketCacheUtil.put(preId, fingerprint, serviceUtil.buildPacket(preRegInfo.getDemographicResponse(),
+					preRegInfo.getDocumentsMetaData()));
+			return true;
+		} catch (Exception ex) {
+			// built again on its fetch
+			log.error("sessionId", "idType", "id",
+					"In prebuild method of sync packet prebuilder - Unable to build the packet of " + preId + ", "
+							+ ex.getMessage());
+			return false;
+		}
+	}
+}
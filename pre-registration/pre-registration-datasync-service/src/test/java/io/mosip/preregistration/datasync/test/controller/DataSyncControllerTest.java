@@ -1,5 +1,7 @@
 package io.mosip.preregistration.datasync.test.controller;
 
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.io.File;
@@ -51,6 +53,9 @@ import io.mosip.preregistration.datasync.dto.ReverseDataSyncRequestDTO;
 import io.mosip.preregistration.datasync.dto.ReverseDatasyncReponseDTO;
 import io.mosip.preregistration.datasync.errorcodes.ErrorMessages;
 import io.mosip.preregistration.datasync.service.DataSyncService;
+import io.mosip.preregistration.datasync.service.util.DocumentStoreUtil;
+import io.mosip.preregistration.datasync.service.util.SyncPacketCacheUtil;
+import io.mosip.preregistration.datasync.service.util.SyncPacketPrebuilder;
 
 @SpringBootTest(classes = { DataSyncApplicationTest.class })
 @RunWith(SpringRunner.class)
@@ -68,6 +73,15 @@ public class DataSyncControllerTest {
 
 	@MockBean
 	private DataSyncService dataSyncService;
+
+	@MockBean
+	DocumentStoreUtil documentStoreUtil;
+
+	@MockBean
+	SyncPacketCacheUtil syncPacketCacheUtil;
+
+	@MockBean
+	SyncPacketPrebuilder syncPacketPrebuilder;
 	
 	@MockBean
 	ClientCryptoManagerService clientCryptoManagerService;
@@ -150,6 +164,42 @@ public class DataSyncControllerTest {
 
 	}
 
+	@WithUserDetails("reg-officer")
+	@Test
+	public void retrievePreRegistrationPacketTest() throws Exception {
+		preRegArchiveDTO.setAppointmentDate("2019-01-12");
+		preRegArchiveDTO.setFileName("97285429827016");
+		preRegArchiveDTO.setPreRegistrationId("97285429827016");
+		preRegArchiveDTO.setRegistrationCenterId("12");
+		preRegArchiveDTO.setTimeSlotFrom("09:23");
+		preRegArchiveDTO.setTimeSlotTo("09:46");
+		preRegArchiveDTO.setZipBytes(bytes);
+		Mockito.when(dataSyncService.fetchPreRegistrationPacket("97285429827016", "10001"))
+				.thenReturn(preRegArchiveDTO);
+		RequestBuilder requestBuilder = MockMvcRequestBuilders.get("/sync/{preRegistrationId}/{machineId}/packet",
+				"97285429827016", "10001").accept(MediaType.APPLICATION_OCTET_STREAM);
+		mockMvc.perform(requestBuilder).andExpect(status().isOk())
+				.andExpect(header().string("appointment-date", "2019-01-12"))
+				.andExpect(content().bytes(bytes));
+	}
+
+	@WithUserDetails("reg-officer")
+	@Test
+	public void retrievePreRegistrationPacketsTest() throws Exception {
+		List<String> preRegistrationIds = new ArrayList<>();
+		preRegistrationIds.add("97285429827016");
+		Mockito.when(dataSyncService.resolveBulkPrefetchIds(Mockito.any())).thenReturn(preRegistrationIds);
+		RequestBuilder requestBuilder = MockMvcRequestBuilders.post("/sync/packets")
+				.contentType(MediaType.APPLICATION_JSON_VALUE).characterEncoding("UTF-8")
+				.accept(MediaType.APPLICATION_OCTET_STREAM)
+				.content("{\"id\":\"mosip.pre-registration.datasync.fetch.bulk\",\"version\":\"1.0\","
+						+ "\"requesttime\":\"2019-01-12T10:00:00.000Z\","
+						+ "\"request\":{\"machineId\":\"10001\",\"preRegistrationIds\":[\"97285429827016\"]}}");
+		mockMvc.perform(requestBuilder).andExpect(status().isOk());
+		Mockito.verify(dataSyncService).writePreRegistrationPackets(Mockito.eq(preRegistrationIds),
+				Mockito.eq("10001"), Mockito.any());
+	}
+
 	@WithUserDetails("reg-officer")
 	@Test
 	public void retrieveAllpregIdSuccessTest() throws Exception {
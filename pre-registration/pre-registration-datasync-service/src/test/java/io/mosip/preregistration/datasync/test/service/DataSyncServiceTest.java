@@ -63,6 +63,9 @@ import io.mosip.preregistration.datasync.repository.InterfaceDataSyncRepo;
 import io.mosip.preregistration.datasync.repository.ProcessedDataSyncRepo;
 import io.mosip.preregistration.datasync.service.DataSyncService;
 import io.mosip.preregistration.datasync.service.util.DataSyncServiceUtil;
+import io.mosip.preregistration.datasync.service.util.DocumentStoreUtil;
+import io.mosip.preregistration.datasync.service.util.SyncPacketCacheUtil;
+import io.mosip.preregistration.datasync.service.util.SyncPacketPrebuilder;
 
 @RunWith(SpringRunner.class)
 @SpringBootTest(classes = { DataSyncApplicationTest.class })
@@ -87,6 +90,15 @@ public class DataSyncServiceTest {
 	@MockBean
 	AnonymousProfileUtil profileUtil;
 
+	@MockBean
+	DocumentStoreUtil documentStoreUtil;
+
+	@MockBean
+	SyncPacketCacheUtil syncPacketCacheUtil;
+
+	@MockBean
+	SyncPacketPrebuilder syncPacketPrebuilder;
+
 	/**
 	 * Autowired reference for $link{DataSyncServiceUtil}
 	 */
@@ -337,7 +349,7 @@ public class DataSyncServiceTest {
 		preRegInfo.setDocumentsMetaData(documentsMetaData);
 		Mockito.when(serviceUtil.getPreRegistrationInfo(Mockito.any())).thenReturn(preRegInfo);
 		Mockito.when(serviceUtil.getAppointmentDetails(Mockito.any())).thenReturn(bookingRegistrationDTO);
-		Mockito.when(serviceUtil.archivingFiles(demography, bookingRegistrationDTO, documentsMetaData, machineId))
+		Mockito.when(serviceUtil.archivingFiles(demography, bookingRegistrationDTO, documentsMetaData, machineId, null))
 				.thenReturn(archiveDTO);
 		MainResponseDTO<PreRegArchiveDTO> response = dataSyncService.fetchPreRegistrationData(preid, machineId);
 		assertEquals(mainResponseDTO.getId().length(), response.getId().length());
@@ -357,7 +369,7 @@ public class DataSyncServiceTest {
 		preRegInfo.setDemographicResponse(demography);
 		Mockito.when(serviceUtil.getPreRegistrationInfo(Mockito.any())).thenReturn(preRegInfo);
 		Mockito.when(serviceUtil.getAppointmentDetails(Mockito.any())).thenReturn(bookingRegistrationDTO);
-		Mockito.when(serviceUtil.archivingFiles(demography, bookingRegistrationDTO, documentsMetaData, machineId))
+		Mockito.when(serviceUtil.archivingFiles(demography, bookingRegistrationDTO, documentsMetaData, machineId, null))
 				.thenReturn(archiveDTO);
 		MainResponseDTO<PreRegArchiveDTO> response = dataSyncService.fetchPreRegistrationData(preregId, machineId);
 		assertEquals(mainResponseDTO.getId().length(), response.getId().length());
@@ -1,7 +1,9 @@
 package io.mosip.preregistration.datasync.test.service.util;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
@@ -18,6 +20,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 import org.json.simple.JSONObject;
 import org.json.simple.parser.JSONParser;
@@ -69,6 +73,9 @@ import io.mosip.preregistration.datasync.exception.RecordNotFoundForDateRange;
 import io.mosip.preregistration.datasync.repository.InterfaceDataSyncRepo;
 import io.mosip.preregistration.datasync.repository.ProcessedDataSyncRepo;
 import io.mosip.preregistration.datasync.service.util.DataSyncServiceUtil;
+import io.mosip.preregistration.datasync.service.util.DocumentStoreUtil;
+import io.mosip.preregistration.datasync.service.util.SyncPacketCacheUtil;
+import io.mosip.preregistration.datasync.service.util.SyncPacketPrebuilder;
 
 @RunWith(SpringRunner.class)
 @SpringBootTest(classes = { DataSyncApplicationTest.class })
@@ -108,6 +115,15 @@ public class DataSyncServiceUtilTest {
 	@MockBean
 	AnonymousProfileUtil profileUtil;
 
+	@MockBean
+	DocumentStoreUtil documentStoreUtil;
+
+	@MockBean
+	SyncPacketCacheUtil syncPacketCacheUtil;
+
+	@MockBean
+	SyncPacketPrebuilder syncPacketPrebuilder;
+
 	/**
 	 * Reference for ${mosip.id.preregistration.datasync.fetch.ids} from property
 	 * file
@@ -571,10 +587,65 @@ public class DataSyncServiceUtilTest {
 		Mockito.when(restTemplate.exchange(Mockito.anyString(), Mockito.eq(HttpMethod.GET), Mockito.any(),
 				Mockito.eq(new ParameterizedTypeReference<MainResponseDTO<DocumentDTO>>() {
 				}), Mockito.anyMap())).thenReturn(responseEntity);
+		Map<String, byte[]> documentBytes = new HashMap<>();
+		documentBytes.put("1234", file.toString().getBytes());
+		documentBytes.put("5324", file.toString().getBytes());
+		Mockito.when(documentStoreUtil.getDocuments(Mockito.eq(preId), Mockito.anyList())).thenReturn(documentBytes);
 		Map<String, String> documentTypeMap = new HashMap<>();
 		Mockito.when(validationUtil.getDocumentTypeNameByTypeCode(Mockito.anyString(), Mockito.anyString()))
 				.thenReturn(documentTypeMap);
 		serviceUtil.archivingFiles(demographicResponseDTO, bookingRegistrationDTO, documentsMetaData,null);
+		Mockito.verify(documentStoreUtil).getDocuments(Mockito.eq(preId), Mockito.anyList());
+		Mockito.verify(restTemplate, Mockito.never()).exchange(Mockito.anyString(), Mockito.eq(HttpMethod.GET),
+				Mockito.any(), Mockito.eq(new ParameterizedTypeReference<MainResponseDTO<DocumentDTO>>() {
+				}), Mockito.anyMap());
+	}
+
+	/**
+	 * Of two documents zipped under the same file name the last one is kept, as
+	 * a zip cannot hold two entries of the same name.
+	 */
+	@Test
+	public void buildPacketDuplicateFileNameTest() throws Exception {
+		parser = new JSONParser();
+		ClassLoader classLoader = getClass().getClassLoader();
+		File file = new File(classLoader.getResource("pre-registration-test.json").getFile());
+		jsonObject = (JSONObject) parser.parse(new FileReader(file));
+		demographicResponseDTO.setPreRegistrationId(preId);
+		demographicResponseDTO.setDemographicDetails(jsonObject);
+
+		multipartResponseDTOs.setDocName("RNC.pdf");
+		multipartResponseDTOs.setDocumentId("1234");
+		multipartResponseDTOs.setDocCatCode("POA");
+		multipartResponseDTOs.setLangCode("ENG");
+		multipartResponseDTOs.setDocTypCode("RNC");
+		responsestatusDto.add(multipartResponseDTOs);
+		multipartResponseDTOs = new DocumentMultipartResponseDTO();
+		multipartResponseDTOs.setDocName("RNC.pdf");
+		multipartResponseDTOs.setDocumentId("1236");
+		multipartResponseDTOs.setDocCatCode("POA");
+		multipartResponseDTOs.setLangCode("ENG");
+		multipartResponseDTOs.setDocTypCode("RNC");
+		responsestatusDto.add(multipartResponseDTOs);
+		documentsMetaData.setDocumentsMetaData(responsestatusDto);
+		Map<String, byte[]> documentBytes = new HashMap<>();
+		documentBytes.put("1234", "first".getBytes());
+		documentBytes.put("1236", "last".getBytes());
+		Mockito.when(documentStoreUtil.getDocuments(Mockito.eq(preId), Mockito.anyList())).thenReturn(documentBytes);
+		Mockito.when(validationUtil.getDocumentTypeNameByTypeCode(Mockito.anyString(), Mockito.anyString()))
+				.thenReturn(new HashMap<>());
+
+		byte[] zipBytes = serviceUtil.buildPacket(demographicResponseDTO, documentsMetaData);
+
+		Map<String, byte[]> entries = new HashMap<>();
+		try (ZipInputStream zipInputStream = new ZipInputStream(new ByteArrayInputStream(zipBytes))) {
+			ZipEntry entry;
+			while ((entry = zipInputStream.getNextEntry()) != null) {
+				entries.put(entry.getName(), zipInputStream.readAllBytes());
+			}
+		}
+		assertEquals(2, entries.size());
+		assertArrayEquals("last".getBytes(), entries.get("POA_RNC.pdf"));
 	}
 
 	@Test
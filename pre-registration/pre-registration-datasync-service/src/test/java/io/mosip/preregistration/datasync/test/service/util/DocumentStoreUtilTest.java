@@ -0,0 +1,173 @@
+package io.mosip.preregistration.datasync.test.service.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.commons.khazana.spi.ObjectStoreAdapter;
+import io.mosip.preregistration.core.common.dto.DocumentMultipartResponseDTO;
+import io.mosip.preregistration.core.util.CryptoUtil;
+import io.mosip.preregistration.core.util.HashUtill;
+import io.mosip.preregistration.datasync.exception.DocumentGetDetailsException;
+import io.mosip.preregistration.datasync.service.util.DocumentStoreUtil;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DocumentStoreUtilTest {
+
+	private static final String PRE_ID = "23587986034785";
+
+	private static final LocalDateTime ENCRYPTED_DATE_TIME = LocalDateTime.of(2026, 1, 5, 10, 0);
+
+	private static final byte[] ENCRYPTED = "encrypted document".getBytes(StandardCharsets.UTF_8);
+
+	private static final byte[] DECRYPTED = "document".getBytes(StandardCharsets.UTF_8);
+
+	@InjectMocks
+	private DocumentStoreUtil documentStoreUtil;
+
+	@Mock
+	private NamedParameterJdbcTemplate jdbcTemplate;
+
+	@Mock
+	private ObjectStoreAdapter objectStore;
+
+	@Mock
+	private CryptoUtil cryptoUtil;
+
+	@Before
+	public void setUp() {
+		ReflectionTestUtils.setField(documentStoreUtil, "objectStoreAccountName", "PREREG");
+		ReflectionTestUtils.setField(documentStoreUtil, "fetchPoolSize", 2);
+		ReflectionTestUtils.setField(documentStoreUtil, "fetchTimeoutSeconds", 5L);
+		documentStoreUtil.init();
+	}
+
+	@After
+	public void tearDown() {
+		documentStoreUtil.destroy();
+	}
+
+	@Test
+	public void getDocumentsTest() {
+		givenRecord("1234", HashUtill.hashUtill(ENCRYPTED));
+		Mockito.when(objectStore.getObject("PREREG", PRE_ID, null, null, "POA_1234"))
+				.thenReturn(new ByteArrayInputStream(ENCRYPTED));
+		Mockito.when(cryptoUtil.decrypt(ENCRYPTED, ENCRYPTED_DATE_TIME)).thenReturn(DECRYPTED);
+
+		Map<String, byte[]> documents = documentStoreUtil.getDocuments(PRE_ID, documents("1234"));
+
+		assertEquals(1, documents.size());
+		assertArrayEquals(DECRYPTED, documents.get("1234"));
+	}
+
+	@Test
+	public void getDocumentsHashMismatchTest() {
+		givenRecord("1234", HashUtill.hashUtill("another document".getBytes(StandardCharsets.UTF_8)));
+		Mockito.when(objectStore.getObject("PREREG", PRE_ID, null, null, "POA_1234"))
+				.thenReturn(new ByteArrayInputStream(ENCRYPTED));
+
+		Map<String, byte[]> documents = documentStoreUtil.getDocuments(PRE_ID, documents("1234"));
+
+		assertTrue(documents.isEmpty());
+		Mockito.verifyZeroInteractions(cryptoUtil);
+	}
+
+	@Test
+	public void getDocumentsMissingObjectTest() {
+		givenRecord("1234", HashUtill.hashUtill(ENCRYPTED));
+		Mockito.when(objectStore.getObject("PREREG", PRE_ID, null, null, "POA_1234")).thenReturn(null);
+
+		Map<String, byte[]> documents = documentStoreUtil.getDocuments(PRE_ID, documents("1234"));
+
+		assertTrue(documents.isEmpty());
+		Mockito.verifyZeroInteractions(cryptoUtil);
+	}
+
+	@Test
+	public void getDocumentsMissingRecordTest() {
+		givenRecord("1234", HashUtill.hashUtill(ENCRYPTED));
+
+		Map<String, byte[]> documents = documentStoreUtil.getDocuments(PRE_ID, documents("5324"));
+
+		assertTrue(documents.isEmpty());
+		Mockito.verifyZeroInteractions(objectStore);
+	}
+
+	@Test(expected = DocumentGetDetailsException.class)
+	public void getDocumentsTimeoutTest() {
+		ReflectionTestUtils.setField(documentStoreUtil, "fetchTimeoutSeconds", 0L);
+		givenRecord("1234", HashUtill.hashUtill(ENCRYPTED));
+		CountDownLatch neverReleased = new CountDownLatch(1);
+		Mockito.lenient().when(objectStore.getObject("PREREG", PRE_ID, null, null, "POA_1234"))
+				.thenAnswer(invocation -> {
+					// released by the cancellation of the fetch
+					neverReleased.await();
+					return null;
+				});
+
+		documentStoreUtil.getDocuments(PRE_ID, documents("1234"));
+	}
+
+	@Test(expected = DocumentGetDetailsException.class)
+	public void getDocumentsObjectStoreFailureTest() {
+		givenRecord("1234", HashUtill.hashUtill(ENCRYPTED));
+		Mockito.when(objectStore.getObject("PREREG", PRE_ID, null, null, "POA_1234"))
+				.thenThrow(new IllegalStateException("object store unavailable"));
+
+		documentStoreUtil.getDocuments(PRE_ID, documents("1234"));
+	}
+
+	@Test
+	public void getDocumentsEmptyTest() {
+		assertTrue(documentStoreUtil.getDocuments(PRE_ID, Collections.emptyList()).isEmpty());
+		Mockito.verifyZeroInteractions(jdbcTemplate, objectStore);
+	}
+
+	/**
+	 * Stores a POA document record of the application with the given hash.
+	 */
+	private void givenRecord(String documentId, String docHash) {
+		Mockito.doAnswer(invocation -> {
+			ResultSet rs = Mockito.mock(ResultSet.class);
+			Mockito.when(rs.getString("id")).thenReturn(documentId);
+			Mockito.when(rs.getString("doc_cat_code")).thenReturn("POA");
+			Mockito.when(rs.getString("doc_hash")).thenReturn(docHash);
+			Mockito.when(rs.getObject("encrypted_dtimes", LocalDateTime.class)).thenReturn(ENCRYPTED_DATE_TIME);
+			RowCallbackHandler rowCallbackHandler = invocation.getArgument(2);
+			rowCallbackHandler.processRow(rs);
+			return null;
+		}).when(jdbcTemplate).query(Mockito.anyString(), Mockito.anyMap(), Mockito.any(RowCallbackHandler.class));
+	}
+
+	private static List<DocumentMultipartResponseDTO> documents(String... documentIds) {
+		return Arrays.stream(documentIds).map(documentId -> {
+			DocumentMultipartResponseDTO document = new DocumentMultipartResponseDTO();
+			document.setDocumentId(documentId);
+			document.setDocCatCode("POA");
+			return document;
+		}).collect(Collectors.toList());
+	}
+}
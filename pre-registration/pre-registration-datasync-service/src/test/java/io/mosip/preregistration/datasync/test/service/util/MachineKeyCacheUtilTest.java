@@ -0,0 +1,86 @@
+package io.mosip.preregistration.datasync.test.service.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.preregistration.datasync.service.util.MachineKeyCacheUtil;
+
+@RunWith(JUnit4.class)
+public class MachineKeyCacheUtilTest {
+
+	private MachineKeyCacheUtil machineKeyCacheUtil;
+
+	private Map<String, Integer> lookups;
+
+	private Function<String, String> loader;
+
+	@Before
+	public void setUp() {
+		machineKeyCacheUtil = newCache(300L, 2);
+		lookups = new HashMap<>();
+		loader = machineId -> {
+			lookups.merge(machineId, 1, Integer::sum);
+			return "key-" + machineId;
+		};
+	}
+
+	@Test
+	public void getKeyCachedTest() {
+		assertEquals("key-10001", machineKeyCacheUtil.getKey("10001", loader));
+		assertEquals("key-10001", machineKeyCacheUtil.getKey("10001", loader));
+		assertEquals(Integer.valueOf(1), lookups.get("10001"));
+	}
+
+	@Test
+	public void getKeyExpiredTest() {
+		machineKeyCacheUtil = newCache(0L, 2);
+		machineKeyCacheUtil.getKey("10001", loader);
+		machineKeyCacheUtil.getKey("10001", loader);
+		assertEquals(Integer.valueOf(2), lookups.get("10001"));
+	}
+
+	@Test
+	public void getKeyEvictedTest() {
+		machineKeyCacheUtil.getKey("10001", loader);
+		machineKeyCacheUtil.getKey("10002", loader);
+		// 10001 is now the most recently used, so 10002 is evicted
+		machineKeyCacheUtil.getKey("10001", loader);
+		machineKeyCacheUtil.getKey("10003", loader);
+		machineKeyCacheUtil.getKey("10001", loader);
+		machineKeyCacheUtil.getKey("10002", loader);
+		assertEquals(Integer.valueOf(1), lookups.get("10001"));
+		assertEquals(Integer.valueOf(2), lookups.get("10002"));
+	}
+
+	@Test
+	public void invalidateTest() {
+		machineKeyCacheUtil.getKey("10001", loader);
+		machineKeyCacheUtil.invalidate("10001");
+		machineKeyCacheUtil.getKey("10001", loader);
+		assertEquals(Integer.valueOf(2), lookups.get("10001"));
+	}
+
+	@Test
+	public void nullKeyNotCachedTest() {
+		assertNull(machineKeyCacheUtil.getKey("10001", machineId -> null));
+		assertEquals("key-10001", machineKeyCacheUtil.getKey("10001", loader));
+	}
+
+	private static MachineKeyCacheUtil newCache(long ttlSeconds, int maxSize) {
+		MachineKeyCacheUtil cache = new MachineKeyCacheUtil();
+		ReflectionTestUtils.setField(cache, "ttlSeconds", ttlSeconds);
+		ReflectionTestUtils.setField(cache, "maxSize", maxSize);
+		cache.init();
+		return cache;
+	}
+}
@@ -0,0 +1,82 @@
+package io.mosip.preregistration.datasync.test.service.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import io.mosip.preregistration.datasync.service.util.SyncPacketBuilder;
+
+@RunWith(JUnit4.class)
+public class SyncPacketBuilderTest {
+
+	private static final byte[] ID_JSON = "{\"identity\":{}}".getBytes(StandardCharsets.UTF_8);
+
+	private static final byte[] DOCUMENT = "document".getBytes(StandardCharsets.UTF_8);
+
+	@Test
+	public void finishTest() throws IOException {
+		SyncPacketBuilder packet = new SyncPacketBuilder(false, 1024);
+		packet.addEntry("POA_RNC.pdf", DOCUMENT);
+		packet.addEntry("ID.json", ID_JSON);
+
+		Map<String, byte[]> entries = unzip(packet.finish());
+
+		assertEquals(2, entries.size());
+		assertArrayEquals(DOCUMENT, entries.get("POA_RNC.pdf"));
+		assertArrayEquals(ID_JSON, entries.get("ID.json"));
+	}
+
+	@Test
+	public void finishEncodedTest() throws IOException {
+		SyncPacketBuilder packet = new SyncPacketBuilder(true, 1024);
+		packet.addEntry("ID.json", ID_JSON);
+
+		Map<String, byte[]> entries = unzip(Base64.getUrlDecoder().decode(packet.finishEncoded()));
+
+		assertArrayEquals(ID_JSON, entries.get("ID.json"));
+	}
+
+	@Test
+	public void duplicateEntrySkippedTest() throws IOException {
+		SyncPacketBuilder packet = new SyncPacketBuilder(false, 1024);
+		assertFalse(packet.hasEntry("POA_RNC.pdf"));
+		assertTrue(packet.addEntry("POA_RNC.pdf", DOCUMENT));
+		assertTrue(packet.hasEntry("POA_RNC.pdf"));
+		assertFalse(packet.addEntry("POA_RNC.pdf", ID_JSON));
+
+		Map<String, byte[]> entries = unzip(packet.finish());
+
+		assertEquals(1, entries.size());
+		assertArrayEquals(DOCUMENT, entries.get("POA_RNC.pdf"));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void finishNotEncodedTest() throws IOException {
+		new SyncPacketBuilder(false, 1024).finishEncoded();
+	}
+
+	private static Map<String, byte[]> unzip(byte[] zipBytes) throws IOException {
+		Map<String, byte[]> entries = new LinkedHashMap<>();
+		try (ZipInputStream zipInputStream = new ZipInputStream(new ByteArrayInputStream(zipBytes))) {
+			ZipEntry entry;
+			while ((entry = zipInputStream.getNextEntry()) != null) {
+				entries.put(entry.getName(), zipInputStream.readAllBytes());
+			}
+		}
+		return entries;
+	}
+}
@@ -0,0 +1,102 @@
+package io.mosip.preregistration.datasync.test.service.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.stream.Stream;
+
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.preregistration.datasync.service.util.SyncPacketCacheUtil;
+
+@RunWith(JUnit4.class)
+public class SyncPacketCacheUtilTest {
+
+	private static final byte[] PACKET = "ID.json ... demographic data of the application"
+			.getBytes(StandardCharsets.UTF_8);
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private SyncPacketCacheUtil syncPacketCacheUtil;
+
+	private File cacheDirectory;
+
+	@Before
+	public void setUp() throws Exception {
+		cacheDirectory = new File(temporaryFolder.getRoot(), "packets");
+		syncPacketCacheUtil = newCache(cacheDirectory.getPath());
+		syncPacketCacheUtil.init();
+	}
+
+	@Test
+	public void putAndGetTest() {
+		syncPacketCacheUtil.put("12345678901234", "fingerprint", PACKET);
+		assertTrue(syncPacketCacheUtil.contains("12345678901234", "fingerprint"));
+		assertArrayEquals(PACKET, syncPacketCacheUtil.get("12345678901234", "fingerprint"));
+		assertNull(syncPacketCacheUtil.get("12345678901234", "newFingerprint"));
+	}
+
+	@Test
+	public void packetEncryptedOnDiskTest() throws Exception {
+		syncPacketCacheUtil.put("12345678901234", "fingerprint", PACKET);
+		try (Stream<Path> files = Files.list(cacheDirectory.toPath())) {
+			Path file = files.findFirst().get();
+			byte[] fileBytes = Files.readAllBytes(file);
+			assertFalse(new String(fileBytes, StandardCharsets.ISO_8859_1).contains("demographic data"));
+		}
+	}
+
+	@Test
+	public void packetOfAnotherInstanceNotServedTest() throws Exception {
+		syncPacketCacheUtil.put("12345678901234", "fingerprint", PACKET);
+		Path file;
+		try (Stream<Path> files = Files.list(cacheDirectory.toPath())) {
+			file = files.findFirst().get();
+		}
+		byte[] fileBytes = Files.readAllBytes(file);
+		SyncPacketCacheUtil otherCache = newCache(temporaryFolder.newFolder("other").getPath());
+		otherCache.init();
+		otherCache.put("12345678901234", "fingerprint", PACKET);
+		try (Stream<Path> files = Files.list(temporaryFolder.getRoot().toPath().resolve("other"))) {
+			Files.write(files.findFirst().get(), fileBytes);
+		}
+		assertNull(otherCache.get("12345678901234", "fingerprint"));
+	}
+
+	@Test
+	public void directoryOwnerOnlyTest() throws Exception {
+		Assume.assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("posix"));
+		assertEquals("rwx------",
+				PosixFilePermissions.toString(Files.getPosixFilePermissions(cacheDirectory.toPath())));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void directoryRequiredTest() throws Exception {
+		newCache("").init();
+	}
+
+	private static SyncPacketCacheUtil newCache(String directory) {
+		SyncPacketCacheUtil cache = new SyncPacketCacheUtil();
+		ReflectionTestUtils.setField(cache, "enabled", true);
+		ReflectionTestUtils.setField(cache, "directory", directory);
+		ReflectionTestUtils.setField(cache, "maxSizeMb", 1L);
+		return cache;
+	}
+}
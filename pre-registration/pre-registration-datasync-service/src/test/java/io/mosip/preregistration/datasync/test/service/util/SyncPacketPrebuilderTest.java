@@ -0,0 +1,116 @@
+package io.mosip.preregistration.datasync.test.service.util;
+
+import static org.junit.Assert.assertEquals;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.preregistration.datasync.dto.ApplicationInfoMetadataDTO;
+import io.mosip.preregistration.datasync.service.util.DataSyncServiceUtil;
+import io.mosip.preregistration.datasync.service.util.SyncPacketCacheUtil;
+import io.mosip.preregistration.datasync.service.util.SyncPacketPrebuilder;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SyncPacketPrebuilderTest {
+
+	private static final byte[] PACKET = new byte[] { 1, 2, 3 };
+
+	@InjectMocks
+	private SyncPacketPrebuilder syncPacketPrebuilder;
+
+	@Mock
+	private NamedParameterJdbcTemplate jdbcTemplate;
+
+	@Mock
+	private JdbcOperations jdbcOperations;
+
+	@Mock
+	private DataSyncServiceUtil serviceUtil;
+
+	@Mock
+	private SyncPacketCacheUtil syncPacketCacheUtil;
+
+	@Mock
+	private Connection connection;
+
+	/**
+	 * Number of holds of the advisory lock
+	 */
+	private final AtomicInteger locks = new AtomicInteger();
+
+	private final AtomicInteger unlocks = new AtomicInteger();
+
+	@Before
+	public void setUp() throws Exception {
+		ReflectionTestUtils.setField(syncPacketPrebuilder, "prebuildDays", 1);
+		ReflectionTestUtils.setField(syncPacketPrebuilder, "batchSize", 2);
+		Mockito.when(jdbcTemplate.queryForList(Mockito.anyString(), Mockito.anyMap(), Mockito.eq(String.class)))
+				.thenReturn(Arrays.asList("12345678901231", "12345678901232", "12345678901233"));
+		Mockito.when(jdbcTemplate.getJdbcOperations()).thenReturn(jdbcOperations);
+		Mockito.when(jdbcOperations.execute(Mockito.<ConnectionCallback<Integer>>any()))
+				.thenAnswer(invocation -> invocation.<ConnectionCallback<Integer>>getArgument(0)
+						.doInConnection(connection));
+		Mockito.lenient().when(syncPacketCacheUtil.getFingerprint(Mockito.anyString())).thenReturn("fingerprint");
+		Mockito.lenient().when(serviceUtil.getPreRegistrationInfo(Mockito.anyString()))
+				.thenReturn(new ApplicationInfoMetadataDTO());
+		Mockito.lenient().when(serviceUtil.buildPacket(Mockito.any(), Mockito.any())).thenReturn(PACKET);
+	}
+
+	@Test
+	public void prebuildLockedPerBatchTest() throws Exception {
+		givenLock(true);
+
+		ReflectionTestUtils.invokeMethod(syncPacketPrebuilder, "prebuildLocked");
+
+		Mockito.verify(jdbcOperations, Mockito.times(2)).execute(Mockito.<ConnectionCallback<Integer>>any());
+		assertEquals(2, locks.get());
+		assertEquals(2, unlocks.get());
+		Mockito.verify(syncPacketCacheUtil, Mockito.times(3)).put(Mockito.anyString(), Mockito.eq("fingerprint"),
+				Mockito.eq(PACKET));
+	}
+
+	@Test
+	public void prebuildLockedByAnotherInstanceTest() throws Exception {
+		givenLock(false);
+
+		ReflectionTestUtils.invokeMethod(syncPacketPrebuilder, "prebuildLocked");
+
+		Mockito.verify(jdbcOperations).execute(Mockito.<ConnectionCallback<Integer>>any());
+		assertEquals(0, unlocks.get());
+		Mockito.verifyZeroInteractions(serviceUtil);
+	}
+
+	private void givenLock(boolean acquired) throws Exception {
+		Mockito.when(connection.prepareStatement("SELECT pg_try_advisory_lock(?)"))
+				.thenAnswer(invocation -> lockStatement(acquired, locks));
+		Mockito.lenient().when(connection.prepareStatement("SELECT pg_advisory_unlock(?)"))
+				.thenAnswer(invocation -> lockStatement(true, unlocks));
+	}
+
+	private static PreparedStatement lockStatement(boolean result, AtomicInteger calls) throws Exception {
+		ResultSet resultSet = Mockito.mock(ResultSet.class);
+		Mockito.when(resultSet.next()).thenReturn(true);
+		Mockito.when(resultSet.getBoolean(1)).thenAnswer(invocation -> {
+			calls.incrementAndGet();
+			return result;
+		});
+		PreparedStatement statement = Mockito.mock(PreparedStatement.class);
+		Mockito.when(statement.executeQuery()).thenReturn(resultSet);
+		return statement;
+	}
+}